@@ -0,0 +1,33 @@
+package io.github.bluething.stayforge.supplyapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Serves application/x-jackson-smile and application/cbor alongside JSON, chosen by the
+ * Accept and Content-Type headers, for both response bodies and error bodies.
+ * <p>
+ * The converters are built from Boot's {@link Jackson2ObjectMapperBuilder} so they share
+ * the spring.jackson.* settings and modules of the JSON mapper. Declared as beans they
+ * replace the MVC defaults in place, so JSON stays first when the client accepts anything.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.bluething.stayforge.supplyapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches are declared in application.yaml (spring.cache.*) so that Boot binds their
+ * hit/miss statistics to the actuator metrics endpoint.
+ * <p>
+ * The caching advice runs before the transaction advice, so a cache hit never opens
+ * a transaction or borrows a connection, and evictions happen after commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String AREAS = "areas";
+}
@@ -0,0 +1,12 @@
+package io.github.bluething.stayforge.supplyapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs. With virtual threads enabled Boot runs them on virtual threads.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,46 @@
+package io.github.bluething.stayforge.supplyapi.domain;
+
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+/**
+ * How a paginated listing fills in its total item count.
+ */
+public enum CountMode {
+    /**
+     * Run an exact COUNT over the filtered set (first page only)
+     */
+    EXACT,
+
+    /**
+     * Do not compute a total, the total is returned as null
+     */
+    NONE,
+
+    /**
+     * Use a recently cached exact count, or the planner's row estimate
+     */
+    ESTIMATED;
+
+    /**
+     * Parse a request parameter value, defaulting to the given mode when absent
+     */
+    public static CountMode from(String value, CountMode defaultMode) {
+        if (value == null || value.isBlank()) {
+            return defaultMode;
+        }
+
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(
+                    ErrorCode.VALIDATION_ERROR,
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid count mode '" + value + "'. Supported values: exact, none, estimated"
+            );
+        }
+    }
+}
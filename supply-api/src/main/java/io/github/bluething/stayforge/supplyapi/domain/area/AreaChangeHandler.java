@@ -0,0 +1,38 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+import io.github.bluething.stayforge.supplyapi.config.CacheConfig;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangeHandler;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached areas and counts changed on any node
+ */
+@Component
+@RequiredArgsConstructor
+class AreaChangeHandler implements SupplyChangeHandler {
+    private final CacheManager cacheManager;
+    private final AreaCountCache countCache;
+
+    @Override
+    public void onChanges(SupplyChanges changes) {
+        if (!changes.affects(SupplyEntity.AREA)) {
+            return;
+        }
+
+        countCache.clear();
+        Cache areas = cacheManager.getCache(CacheConfig.AREAS);
+        if (areas == null) {
+            return;
+        }
+        if (changes.all(SupplyEntity.AREA)) {
+            areas.clear();
+        } else {
+            changes.ids(SupplyEntity.AREA).forEach(areas::evict);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of exact area counts keyed by the normalized name filter.
+ */
+@Component
+class AreaCountCache {
+    private static final int MAX_ENTRIES = 1024;
+
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    AreaCountCache(@Value("${supply.areas.count-cache-ttl:PT30S}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Normalize a filter so that "Kuta", " kuta " and "KUTA" share one entry
+     */
+    static String key(String filter) {
+        return filter == null ? "" : filter.trim().toLowerCase(Locale.ROOT);
+    }
+
+    OptionalLong get(String key) {
+        CachedCount cached = counts.get(key);
+        if (cached == null) {
+            return OptionalLong.empty();
+        }
+        if (System.nanoTime() - cached.storedAt() > ttlNanos) {
+            counts.remove(key, cached);
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(cached.total());
+    }
+
+    void put(String key, long total) {
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear(); // Filters are user input, keep the map bounded
+        }
+        counts.put(key, new CachedCount(total, System.nanoTime()));
+    }
+
+    void clear() {
+        counts.clear();
+    }
+
+    private record CachedCount(long total, long storedAt) {}
+}
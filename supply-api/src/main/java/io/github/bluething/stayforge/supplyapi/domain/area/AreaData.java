@@ -1,7 +1,10 @@
 package io.github.bluething.stayforge.supplyapi.domain.area;
 
+import java.time.OffsetDateTime;
+
 public record AreaData(
         Long id,
         String name,
-        String slug
+        String slug,
+        OffsetDateTime updatedAt
 ) {}
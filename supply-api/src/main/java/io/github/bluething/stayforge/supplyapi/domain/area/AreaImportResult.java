@@ -0,0 +1,22 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+/**
+ * Outcome of one item of a bulk import, the area is only set when it was created
+ */
+public record AreaImportResult(
+        AreaImportStatus status,
+        AreaData area,
+        String message
+) {
+    public static AreaImportResult created(AreaData area) {
+        return new AreaImportResult(AreaImportStatus.CREATED, area, null);
+    }
+
+    public static AreaImportResult duplicate(String slug) {
+        return new AreaImportResult(AreaImportStatus.DUPLICATE, null, "Area with slug '" + slug + "' already exists");
+    }
+
+    public static AreaImportResult invalid(String message) {
+        return new AreaImportResult(AreaImportStatus.INVALID, null, message);
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.records.AreaRecord;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep2;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bulk area creation. Each chunk costs one set-based slug lookup and one multi-row
+ * insert in its own transaction, so import time grows with the number of chunks
+ * rather than the number of rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class AreaImportService {
+    public static final int CHUNK_SIZE = 500;
+    public static final int MAX_ITEMS = 10_000;
+
+    private final DSLContext dsl;
+    private final TransactionTemplate transactionTemplate;
+    private final AreaCountCache countCache;
+    private final Validator validator;
+
+    /**
+     * Validate items as they are read and import the valid ones chunk by chunk, returning one
+     * result per item in the same order, so a stream is never held in memory as a whole.
+     * Reading stops at a malformed item, or after {@link #MAX_ITEMS} items with one INVALID
+     * result standing for the rest.
+     *
+     * @param groups validation groups the items are checked against
+     */
+    public <T> List<AreaImportResult> importAreas(Iterator<T> items,
+                                                  Function<T, CreateAreaCommand> toCommand,
+                                                  Class<?>... groups) {
+        List<AreaImportResult> results = new ArrayList<>();
+        List<CreateAreaCommand> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Integer> positions = new ArrayList<>(CHUNK_SIZE);
+
+        while (true) {
+            T item;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                if (results.size() == MAX_ITEMS) {
+                    results.add(AreaImportResult.invalid("Too many items, only the first " + MAX_ITEMS
+                            + " were processed"));
+                    break;
+                }
+                item = items.next();
+            } catch (RuntimeException e) {
+                // Malformed input cannot be resynchronized, report it and stop reading
+                results.add(AreaImportResult.invalid("Malformed item: " + e.getMessage()));
+                break;
+            }
+
+            String violation = firstViolation(item, groups);
+            if (violation != null) {
+                results.add(AreaImportResult.invalid(violation));
+                continue;
+            }
+
+            positions.add(results.size());
+            results.add(null);
+            chunk.add(toCommand.apply(item));
+            if (chunk.size() == CHUNK_SIZE) {
+                flushChunk(chunk, positions, results);
+            }
+        }
+        flushChunk(chunk, positions, results);
+
+        return results;
+    }
+
+    /**
+     * Import areas, returning one result per command in the same order
+     */
+    public List<AreaImportResult> importAreas(List<CreateAreaCommand> commands) {
+        List<AreaImportResult> results = new ArrayList<>(commands.size());
+        for (int from = 0; from < commands.size(); from += CHUNK_SIZE) {
+            List<CreateAreaCommand> chunk = commands.subList(from, Math.min(from + CHUNK_SIZE, commands.size()));
+            results.addAll(transactionTemplate.execute(status -> importChunk(chunk)));
+        }
+
+        if (!commands.isEmpty()) {
+            countCache.clear();
+        }
+        return results;
+    }
+
+    private void flushChunk(List<CreateAreaCommand> chunk, List<Integer> positions, List<AreaImportResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<AreaImportResult> imported = importAreas(chunk);
+        for (int i = 0; i < imported.size(); i++) {
+            results.set(positions.get(i), imported.get(i));
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    private <T> String firstViolation(T item, Class<?>... groups) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(item, groups);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        ConstraintViolation<T> violation = violations.iterator().next();
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private List<AreaImportResult> importChunk(List<CreateAreaCommand> chunk) {
+        // Check every slug of the chunk in one query
+        Set<String> slugs = new HashSet<>();
+        for (CreateAreaCommand command : chunk) {
+            slugs.add(command.slug());
+        }
+        Set<String> existing = new HashSet<>(dsl.select(Tables.AREA.SLUG)
+                .from(Tables.AREA)
+                .where(Tables.AREA.SLUG.eq(DSL.any(slugs.toArray(String[]::new))))
+                .and(Tables.AREA.DELETED_AT.isNull())
+                .fetch(Tables.AREA.SLUG));
+
+        // First occurrence of a new slug wins, later ones in the same chunk are duplicates
+        Set<String> accepted = new HashSet<>();
+        InsertValuesStep2<AreaRecord, String, String> insert = dsl.insertInto(Tables.AREA, Tables.AREA.NAME, Tables.AREA.SLUG);
+        for (CreateAreaCommand command : chunk) {
+            if (!existing.contains(command.slug()) && accepted.add(command.slug())) {
+                insert = insert.values(command.name(), command.slug());
+            }
+        }
+
+        Map<String, AreaData> inserted = new HashMap<>();
+        if (!accepted.isEmpty()) {
+            // A concurrent writer may still claim a slug, ON CONFLICT turns that into a skipped row
+            for (Record record : insert
+                    .onConflict(Tables.AREA.SLUG)
+                    .where(Tables.AREA.DELETED_AT.isNull())
+                    .doNothing()
+                    .returning(Tables.AREA.ID, Tables.AREA.NAME, Tables.AREA.SLUG, Tables.AREA.UPDATED_AT)
+                    .fetch()) {
+                inserted.put(record.get(Tables.AREA.SLUG), new AreaData(
+                        record.get(Tables.AREA.ID),
+                        record.get(Tables.AREA.NAME),
+                        record.get(Tables.AREA.SLUG),
+                        record.get(Tables.AREA.UPDATED_AT)
+                ));
+            }
+        }
+
+        List<AreaImportResult> results = new ArrayList<>(chunk.size());
+        for (CreateAreaCommand command : chunk) {
+            AreaData area = inserted.remove(command.slug());
+            results.add(area != null ? AreaImportResult.created(area) : AreaImportResult.duplicate(command.slug()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+public enum AreaImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
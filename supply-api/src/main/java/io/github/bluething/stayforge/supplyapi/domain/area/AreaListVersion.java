@@ -0,0 +1,15 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Cheap validator of a filtered area set: any insert, update or soft delete
+ * changes the latest update time or the count
+ *
+ * @param lastModified latest updated_at of the set, null when the set is empty
+ * @param count        exact number of areas in the set
+ */
+public record AreaListVersion(
+        OffsetDateTime lastModified,
+        long count
+) {}
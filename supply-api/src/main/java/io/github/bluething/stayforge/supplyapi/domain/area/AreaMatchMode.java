@@ -0,0 +1,43 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+/**
+ * How the area name filter is matched.
+ */
+public enum AreaMatchMode {
+    /**
+     * Case-insensitive substring match on name, ordered by ID
+     */
+    CONTAINS,
+
+    /**
+     * Trigram similarity on name and slug, ordered by similarity
+     */
+    FUZZY;
+
+    public static final double DEFAULT_MIN_SIMILARITY = 0.3;
+
+    /**
+     * Parse a request parameter value, defaulting to CONTAINS when absent
+     */
+    public static AreaMatchMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return CONTAINS;
+        }
+
+        try {
+            return AreaMatchMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(
+                    ErrorCode.VALIDATION_ERROR,
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid match mode '" + value + "'. Supported values: contains, fuzzy"
+            );
+        }
+    }
+}
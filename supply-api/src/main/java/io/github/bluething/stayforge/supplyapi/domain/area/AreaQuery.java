@@ -1,6 +1,11 @@
 package io.github.bluething.stayforge.supplyapi.domain.area;
 
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
+
 public record AreaQuery(String cursor,
                         Integer limit,
-                        String nameFilter) {
+                        String nameFilter,
+                        CountMode countMode,
+                        AreaMatchMode matchMode,
+                        Double minSimilarity) {
 }
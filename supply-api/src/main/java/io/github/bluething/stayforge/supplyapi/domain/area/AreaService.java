@@ -1,60 +1,83 @@
 package io.github.bluething.stayforge.supplyapi.domain.area;
 
+import io.github.bluething.stayforge.supplyapi.config.CacheConfig;
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
 import io.github.bluething.stayforge.supplyapi.domain.PagedResult;
+import io.github.bluething.stayforge.supplyapi.domain.autocomplete.AutocompleteService;
 import io.github.bluething.stayforge.supplyapi.error.BusinessException;
 import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
 import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
 import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.records.AreaRecord;
+import io.github.bluething.stayforge.supplyapi.util.CursorData;
 import io.github.bluething.stayforge.supplyapi.util.CursorPaginationUtils;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
+import org.jooq.Record2;
 import org.jooq.Result;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class AreaService {
+    private static final String SCORE = "score";
+
     private final DSLContext dsl;
     private final CursorPaginationUtils paginationUtils;
+    private final AreaCountCache countCache;
+    private final AutocompleteService autocomplete;
+    private final CacheManager cacheManager;
 
     /**
-     * Create a new area
+     * Create a new area in a single statement, the partial unique index on slug
+     * (idx_area_slug_unique) turns a duplicate into an empty RETURNING
      */
     public AreaData createArea(CreateAreaCommand command) {
-        // Check for duplicate slug
-        boolean slugExists = dsl.fetchExists(
-                dsl.selectFrom(Tables.AREA)
-                        .where(Tables.AREA.SLUG.eq(command.slug()))
-                        .and(Tables.AREA.DELETED_AT.isNull())
-        );
-
-        if (slugExists) {
-            throw new BusinessException(
-                    ErrorCode.DUPLICATE_SLUG,
-                    HttpStatus.CONFLICT,
-                    "Area with slug '" + command.slug() + "' already exists"
-            );
-        }
-
-        AreaRecord record = dsl.newRecord(Tables.AREA);
-        record.setName(command.name());
-        record.setSlug(command.slug());
-        record.store();
+        AreaData areaData = dsl.insertInto(Tables.AREA)
+                .set(Tables.AREA.NAME, command.name())
+                .set(Tables.AREA.SLUG, command.slug())
+                .onConflict(Tables.AREA.SLUG)
+                .where(Tables.AREA.DELETED_AT.isNull())
+                .doNothing()
+                .returning()
+                .fetchOptional()
+                .map(this::mapToAreaData)
+                .orElseThrow(() -> duplicateSlug(command.slug()));
+        countCache.clear();
+        autocomplete.putArea(areaData.id(), areaData.name(), areaData.slug());
 
-        return mapToAreaData(record);
+        return areaData;
     }
 
     /**
-     * Get area by ID
+     * Get area by ID, served from the in-process cache when present.
+     * Concurrent misses for the same ID share a single database load.
      */
+    @Cacheable(cacheNames = CacheConfig.AREAS, key = "#id", sync = true)
     @Transactional(readOnly = true)
     public AreaData getAreaById(Long id) {
         return dsl.select()
@@ -63,82 +86,105 @@ public class AreaService {
                 .and(Tables.AREA.DELETED_AT.isNull())
                 .fetchOptional()
                 .map(this::mapToAreaData)
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.AREA_NOT_FOUND,
-                        HttpStatus.NOT_FOUND,
-                        "Area with ID " + id + " not found"
-                ));
+                .orElseThrow(() -> areaNotFound(id));
     }
 
     /**
-     * Update an existing area
+     * Get the active areas among {@code ids}, keyed by ID in request order, missing and
+     * deleted IDs are left out. Cached areas are served from the in-process cache shared
+     * with {@link #getAreaById}, the others are loaded with a single query and cached.
+     * No transaction is opened, so a fully cached batch never borrows a connection.
      */
-    public AreaData updateArea(Long id, UpdateAreaCommand command) {
-        AreaRecord record = dsl.selectFrom(Tables.AREA)
-                .where(Tables.AREA.ID.eq(id))
-                .and(Tables.AREA.DELETED_AT.isNull())
-                .fetchOptional()
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.AREA_NOT_FOUND,
-                        HttpStatus.NOT_FOUND,
-                        "Area with ID " + id + " not found"
-                ));
-
-        // Check for duplicate slug (excluding current record)
-        boolean slugExists = dsl.fetchExists(
-                dsl.selectFrom(Tables.AREA)
-                        .where(Tables.AREA.SLUG.eq(command.slug()))
-                        .and(Tables.AREA.DELETED_AT.isNull())
-                        .and(Tables.AREA.ID.ne(id))
-        );
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<Long, AreaData> getAreasByIds(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.AREAS);
+        Map<Long, AreaData> found = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            AreaData cached = cache != null ? cache.get(id, AreaData.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (!found.containsKey(id)) {
+                // Reserve the position so the result keeps request order
+                found.put(id, null);
+                misses.add(id);
+            }
+        }
 
-        if (slugExists) {
-            throw new BusinessException(
-                    ErrorCode.DUPLICATE_SLUG,
-                    HttpStatus.CONFLICT,
-                    "Area with slug '" + command.slug() + "' already exists"
-            );
+        if (!misses.isEmpty()) {
+            dsl.selectFrom(Tables.AREA)
+                    .where(Tables.AREA.ID.eq(DSL.any(misses.toArray(Long[]::new))))
+                    .and(Tables.AREA.DELETED_AT.isNull())
+                    .forEach(record -> {
+                        AreaData areaData = mapToAreaData(record);
+                        found.put(areaData.id(), areaData);
+                        if (cache != null) {
+                            cache.put(areaData.id(), areaData);
+                        }
+                    });
         }
+        found.values().removeIf(Objects::isNull);
+
+        return found;
+    }
 
-        record.setName(command.name());
-        record.setSlug(command.slug());
-        record.store();
+    /**
+     * Update an existing area in a single UPDATE ... RETURNING statement
+     */
+    @CacheEvict(cacheNames = CacheConfig.AREAS, key = "#id")
+    public AreaData updateArea(Long id, UpdateAreaCommand command) {
+        AreaData areaData;
+        try {
+            areaData = dsl.update(Tables.AREA)
+                    .set(Tables.AREA.NAME, command.name())
+                    .set(Tables.AREA.SLUG, command.slug())
+                    .where(Tables.AREA.ID.eq(id))
+                    .and(Tables.AREA.DELETED_AT.isNull())
+                    .returning()
+                    .fetchOptional()
+                    .map(this::mapToAreaData)
+                    .orElseThrow(() -> areaNotFound(id));
+        } catch (DuplicateKeyException e) {
+            // Another active area already holds the slug (idx_area_slug_unique)
+            throw duplicateSlug(command.slug(), e);
+        }
+        // A rename moves the area in and out of name-filtered counts
+        countCache.clear();
+        autocomplete.putArea(areaData.id(), areaData.name(), areaData.slug());
 
-        return mapToAreaData(record);
+        return areaData;
     }
 
     /**
-     * Soft delete an area
+     * Soft delete an area in a single statement, guarded by the active hotel check
      */
+    @CacheEvict(cacheNames = CacheConfig.AREAS, key = "#id")
     public void deleteArea(Long id) {
-        // Check if area exists
-        AreaRecord record = dsl.selectFrom(Tables.AREA)
+        int deleted = dsl.update(Tables.AREA)
+                .set(Tables.AREA.DELETED_AT, DSL.currentOffsetDateTime())
                 .where(Tables.AREA.ID.eq(id))
                 .and(Tables.AREA.DELETED_AT.isNull())
-                .fetchOptional()
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.AREA_NOT_FOUND,
-                        HttpStatus.NOT_FOUND,
-                        "Area with ID " + id + " not found"
-                ));
-
-        // Check if area has active hotels
-        boolean hasActiveHotels = dsl.fetchExists(
-                dsl.selectFrom(Tables.HOTEL)
+                .andNotExists(dsl.selectOne()
+                        .from(Tables.HOTEL)
                         .where(Tables.HOTEL.AREA_ID.eq(id))
-                        .and(Tables.HOTEL.DELETED_AT.isNull())
-        );
+                        .and(Tables.HOTEL.DELETED_AT.isNull()))
+                .execute();
 
-        if (hasActiveHotels) {
+        if (deleted == 0) {
+            // Only the failure path pays a second query, to tell the two causes apart
+            boolean exists = dsl.fetchExists(Tables.AREA,
+                    Tables.AREA.ID.eq(id).and(Tables.AREA.DELETED_AT.isNull()));
+            if (!exists) {
+                throw areaNotFound(id);
+            }
             throw new BusinessException(
                     ErrorCode.AREA_HAS_ACTIVE_HOTELS,
                     HttpStatus.CONFLICT,
                     "Cannot delete area with active hotels"
             );
         }
-
-        record.setDeletedAt(OffsetDateTime.now());
-        record.store();
+        countCache.clear();
+        autocomplete.removeArea(id);
     }
 
     /**
@@ -146,38 +192,42 @@ public class AreaService {
      */
     @Transactional(readOnly = true)
     public PagedResult<AreaData> listAreas(AreaQuery query) {
-        var sqlQuery = dsl.select()
-                .from(Tables.AREA)
-                .where(Tables.AREA.DELETED_AT.isNull());
+        return listAreas(query, null);
+    }
 
-        // Apply name filter if provided
-        if (query.nameFilter() != null && !query.nameFilter().trim().isEmpty()) {
-            sqlQuery = sqlQuery.and(Tables.AREA.NAME.containsIgnoreCase(query.nameFilter().trim()));
+    /**
+     * List areas, reusing the exact count of a list version computed for the same query
+     */
+    @Transactional(readOnly = true)
+    public PagedResult<AreaData> listAreas(AreaQuery query, AreaListVersion version) {
+        String nameFilter = nameFilter(query);
+        if (isFuzzy(query, nameFilter)) {
+            applySimilarityThreshold(minSimilarity(query));
+            return searchAreas(query, nameFilter, version);
         }
 
-        // Apply cursor pagination
-        Optional<Long> cursorId = paginationUtils.decodeCursor(query.cursor());
-        if (cursorId.isPresent()) {
-            sqlQuery = sqlQuery.and(Tables.AREA.ID.gt(cursorId.get()));
-        }
+        Condition filter = containsFilter(nameFilter);
+
+        // Apply cursor pagination, cursor keys: id, total
+        String scope = "areas:id:" + nameFilter;
+        Optional<CursorData> cursorData = paginationUtils.decodeCursor(query.cursor(), scope);
+        Condition pageCondition = cursorData.isPresent()
+                ? filter.and(Tables.AREA.ID.gt(cursorData.get().getLong(0)))
+                : filter;
 
         // Get one extra record to determine if there's a next page
-        int limit = query.limit() != null ? Math.min(Math.max(query.limit(), 1), 100) : 20;
-        Result<Record> records = sqlQuery
+        int limit = resolveLimit(query);
+        Result<Record> records = dsl.select()
+                .from(Tables.AREA)
+                .where(pageCondition)
                 .orderBy(Tables.AREA.ID.asc())
                 .limit(limit + 1)
                 .fetch();
 
-        // Count total (for metadata)
-        var countQuery = dsl.selectCount()
-                .from(Tables.AREA)
-                .where(Tables.AREA.DELETED_AT.isNull());
-
-        if (query.nameFilter() != null && !query.nameFilter().trim().isEmpty()) {
-            countQuery = countQuery.and(Tables.AREA.NAME.containsIgnoreCase(query.nameFilter().trim()));
-        }
-
-        long total = countQuery.fetchOne(0, Long.class);
+        // Count total (for metadata) on the first page only, later pages carry it in the cursor
+        Long total = cursorData.isPresent()
+                ? cursorData.get().getLong(1)
+                : countAreas(filter, AreaCountCache.key(nameFilter), resolveCountMode(query), version);
 
         // Process results
         boolean hasNext = records.size() > limit;
@@ -188,7 +238,65 @@ public class AreaService {
 
         String nextCursor = null;
         if (hasNext && !areas.isEmpty()) {
-            nextCursor = paginationUtils.encodeCursor(areas.get(areas.size() - 1).id());
+            nextCursor = paginationUtils.encodeCursor(scope, areas.get(areas.size() - 1).id(), total);
+        }
+
+        return new PagedResult<>(
+                areas,
+                query.cursor(),
+                limit,
+                total,
+                hasNext,
+                nextCursor
+        );
+    }
+
+    /**
+     * Fuzzy search on name and slug ranked by trigram similarity, keyset paginated on (similarity, id).
+     * The similarity threshold must already be set in the current transaction.
+     */
+    private PagedResult<AreaData> searchAreas(AreaQuery query, String nameFilter, AreaListVersion version) {
+        double minSimilarity = minSimilarity(query);
+        Condition filter = fuzzyFilter(nameFilter);
+        Field<Float> score = DSL.greatest(
+                DSL.field("similarity({0}, {1})", SQLDataType.REAL, Tables.AREA.NAME, DSL.val(nameFilter)),
+                DSL.field("similarity({0}, {1})", SQLDataType.REAL, Tables.AREA.SLUG, DSL.val(nameFilter))
+        );
+
+        // Cursor keys: similarity, id, total
+        String scope = "areas:similarity:" + minSimilarity + ":" + nameFilter;
+        Optional<CursorData> cursorData = paginationUtils.decodeCursor(query.cursor(), scope);
+        Condition pageCondition = filter;
+        if (cursorData.isPresent()) {
+            Float lastScore = cursorData.get().getFloat(0);
+            pageCondition = filter.and(score.lt(lastScore)
+                    .or(score.eq(lastScore).and(Tables.AREA.ID.gt(cursorData.get().getLong(1)))));
+        }
+
+        int limit = resolveLimit(query);
+        Result<Record> records = dsl.select(Tables.AREA.fields())
+                .select(score.as(SCORE))
+                .from(Tables.AREA)
+                .where(pageCondition)
+                .orderBy(score.desc(), Tables.AREA.ID.asc())
+                .limit(limit + 1)
+                .fetch();
+
+        Long total = cursorData.isPresent()
+                ? cursorData.get().getLong(2)
+                : countAreas(filter, "~" + minSimilarity + ":" + AreaCountCache.key(nameFilter),
+                        resolveCountMode(query), version);
+
+        boolean hasNext = records.size() > limit;
+        List<Record> page = records.subList(0, Math.min(limit, records.size()));
+        List<AreaData> areas = page.stream()
+                .map(this::mapToAreaData)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext && !page.isEmpty()) {
+            Record last = page.get(page.size() - 1);
+            nextCursor = paginationUtils.encodeCursor(scope, last.get(SCORE, Float.class), last.get(Tables.AREA.ID), total);
         }
 
         return new PagedResult<>(
@@ -201,11 +309,129 @@ public class AreaService {
         );
     }
 
+    /**
+     * Compute the validator of the filtered set in one aggregate, used for list ETags
+     */
+    @Transactional(readOnly = true)
+    public AreaListVersion getListVersion(AreaQuery query) {
+        String nameFilter = nameFilter(query);
+        Condition filter;
+        if (isFuzzy(query, nameFilter)) {
+            applySimilarityThreshold(minSimilarity(query));
+            filter = fuzzyFilter(nameFilter);
+        } else {
+            filter = containsFilter(nameFilter);
+        }
+
+        Record2<OffsetDateTime, Integer> version = dsl.select(DSL.max(Tables.AREA.UPDATED_AT), DSL.count())
+                .from(Tables.AREA)
+                .where(filter)
+                .fetchOne();
+
+        return new AreaListVersion(version.value1(), version.value2());
+    }
+
+    private static String nameFilter(AreaQuery query) {
+        return query.nameFilter() != null ? query.nameFilter().trim() : "";
+    }
+
+    private static boolean isFuzzy(AreaQuery query, String nameFilter) {
+        return query.matchMode() == AreaMatchMode.FUZZY && !nameFilter.isEmpty();
+    }
+
+    private static double minSimilarity(AreaQuery query) {
+        return query.minSimilarity() != null ? query.minSimilarity() : AreaMatchMode.DEFAULT_MIN_SIMILARITY;
+    }
+
+    private static Condition containsFilter(String nameFilter) {
+        Condition filter = Tables.AREA.DELETED_AT.isNull();
+
+        // Apply name filter if provided, served by the name trigram index
+        if (!nameFilter.isEmpty()) {
+            filter = filter.and(Tables.AREA.NAME.containsIgnoreCase(nameFilter));
+        }
+        return filter;
+    }
+
+    /**
+     * Set the threshold the % operator compares against, for the rest of the current transaction.
+     * Filtering with % rather than similarity() is what lets the GIN trigram indexes serve it.
+     */
+    private void applySimilarityThreshold(double minSimilarity) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Scoped to the transaction, without one the setting would be gone before the query runs
+            throw new IllegalStateException("The similarity threshold needs a transaction");
+        }
+        dsl.select(DSL.field("set_config('pg_trgm.similarity_threshold', {0}, true)", String.class,
+                        DSL.val(String.valueOf(minSimilarity))))
+                .fetch();
+    }
+
+    private static Condition fuzzyFilter(String nameFilter) {
+        return Tables.AREA.DELETED_AT.isNull()
+                .and(DSL.condition("{0} % {1}", Tables.AREA.NAME, DSL.val(nameFilter))
+                        .or(DSL.condition("{0} % {1}", Tables.AREA.SLUG, DSL.val(nameFilter))));
+    }
+
+    private static int resolveLimit(AreaQuery query) {
+        return query.limit() != null ? Math.min(Math.max(query.limit(), 1), 100) : 20;
+    }
+
+    private static CountMode resolveCountMode(AreaQuery query) {
+        return query.countMode() != null ? query.countMode() : CountMode.EXACT;
+    }
+
+    private Long countAreas(Condition filter, String cacheKey, CountMode countMode, AreaListVersion version) {
+        return switch (countMode) {
+            case NONE -> null;
+            case EXACT -> {
+                long total = version != null ? version.count() : dsl.fetchCount(Tables.AREA, filter);
+                countCache.put(cacheKey, total);
+                yield total;
+            }
+            case ESTIMATED -> {
+                OptionalLong cached = countCache.get(cacheKey);
+                if (cached.isPresent()) {
+                    yield cached.getAsLong();
+                }
+                // Planner estimate, no rows are scanned
+                double estimate = dsl.explain(dsl.selectOne().from(Tables.AREA).where(filter)).rows();
+                yield Math.max(0L, Math.round(estimate));
+            }
+        };
+    }
+
+    private static BusinessException areaNotFound(Long id) {
+        return new BusinessException(
+                ErrorCode.AREA_NOT_FOUND,
+                HttpStatus.NOT_FOUND,
+                "Area with ID " + id + " not found"
+        );
+    }
+
+    private static BusinessException duplicateSlug(String slug) {
+        return new BusinessException(
+                ErrorCode.DUPLICATE_SLUG,
+                HttpStatus.CONFLICT,
+                "Area with slug '" + slug + "' already exists"
+        );
+    }
+
+    private static BusinessException duplicateSlug(String slug, Throwable cause) {
+        return new BusinessException(
+                ErrorCode.DUPLICATE_SLUG,
+                HttpStatus.CONFLICT,
+                "Area with slug '" + slug + "' already exists",
+                cause
+        );
+    }
+
     private AreaData mapToAreaData(Record record) {
         return new AreaData(
                 record.get(Tables.AREA.ID),
                 record.get(Tables.AREA.NAME),
-                record.get(Tables.AREA.SLUG)
+                record.get(Tables.AREA.SLUG),
+                record.get(Tables.AREA.UPDATED_AT)
         );
     }
 
@@ -213,7 +439,8 @@ public class AreaService {
         return new AreaData(
                 record.getId(),
                 record.getName(),
-                record.getSlug()
+                record.getSlug(),
+                record.getUpdatedAt()
         );
     }
 }
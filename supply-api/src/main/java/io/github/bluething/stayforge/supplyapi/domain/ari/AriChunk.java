@@ -0,0 +1,174 @@
+package io.github.bluething.stayforge.supplyapi.domain.ari;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A batch of validated ARI lines, already encoded as COPY CSV per target table.
+ * Encoding happens on the parsing thread so the writer only streams bytes to the database.
+ */
+final class AriChunk {
+    static final AriChunk END = new AriChunk();
+
+    static final String INVENTORY = "inventory";
+    static final String RATE = "rate";
+    static final String LOS = "los";
+    static final String RESTRICTION = "restriction";
+
+    private static final int MAX_LOS = 30;
+
+    final StringBuilder inventoryCsv = new StringBuilder();
+    final StringBuilder rateCsv = new StringBuilder();
+    final StringBuilder losCsv = new StringBuilder();
+    final StringBuilder restrictionCsv = new StringBuilder();
+
+    final SortedSet<YearMonth> inventoryMonths = new TreeSet<>();
+    final SortedSet<YearMonth> rateMonths = new TreeSet<>();
+    final SortedSet<YearMonth> losMonths = new TreeSet<>();
+    final SortedSet<YearMonth> restrictionMonths = new TreeSet<>();
+
+    final List<InventoryRow> inventoryRows = new ArrayList<>();
+    final List<Long> lines = new ArrayList<>();
+
+    int size() {
+        return lines.size();
+    }
+
+    /**
+     * Validate and encode a line
+     *
+     * @return the reason the line is rejected, or null when it was added
+     */
+    String add(long line, AriLine ari) {
+        // A literal null line parses without error but carries nothing
+        if (ari == null) {
+            return "Line must be a JSON object";
+        }
+        if (ari.type() == null) {
+            return "Missing type";
+        }
+
+        String error = switch (ari.type().toLowerCase(Locale.ROOT)) {
+            case INVENTORY -> addInventory(line, ari);
+            case RATE -> addRate(line, ari);
+            case LOS -> addLos(line, ari);
+            case RESTRICTION -> addRestriction(line, ari);
+            default -> "Unknown type '" + ari.type() + "'. Supported types: inventory, rate, los, restriction";
+        };
+        if (error == null) {
+            lines.add(line);
+        }
+        return error;
+    }
+
+    private String addInventory(long line, AriLine ari) {
+        if (ari.roomTypeId() == null || ari.date() == null || ari.allotment() == null) {
+            return "Inventory needs roomTypeId, date and allotment";
+        }
+        if (ari.allotment() < 0) {
+            return "Allotment cannot be negative";
+        }
+
+        boolean stopSell = Boolean.TRUE.equals(ari.stopSell());
+        row(inventoryCsv, line, ari.roomTypeId(), ari.date(), ari.allotment(), stopSell);
+        inventoryMonths.add(YearMonth.from(ari.date()));
+        inventoryRows.add(new InventoryRow(line, ari.roomTypeId(), ari.date(), ari.allotment(), stopSell));
+        return null;
+    }
+
+    private String addRate(long line, AriLine ari) {
+        if (ari.planId() == null || ari.date() == null || ari.amountMinor() == null) {
+            return "Rate needs planId, date and amountMinor";
+        }
+        String error = checkAmount(ari);
+        if (error != null) {
+            return error;
+        }
+
+        row(rateCsv, line, ari.planId(), ari.date(), occupancyFrom(ari), ari.amountMinor());
+        rateMonths.add(YearMonth.from(ari.date()));
+        return null;
+    }
+
+    private String addLos(long line, AriLine ari) {
+        if (ari.planId() == null || ari.checkIn() == null || ari.los() == null || ari.amountMinor() == null) {
+            return "LOS rate needs planId, checkIn, los and amountMinor";
+        }
+        if (ari.los() < 1 || ari.los() > MAX_LOS) {
+            return "LOS must be between 1 and " + MAX_LOS;
+        }
+        String error = checkAmount(ari);
+        if (error != null) {
+            return error;
+        }
+
+        row(losCsv, line, ari.planId(), ari.checkIn(), ari.los(), occupancyFrom(ari), ari.amountMinor());
+        losMonths.add(YearMonth.from(ari.checkIn()));
+        return null;
+    }
+
+    private String addRestriction(long line, AriLine ari) {
+        if (ari.planId() == null || ari.date() == null) {
+            return "Restriction needs planId and date";
+        }
+        if ((ari.minLos() != null && ari.minLos() < 1) || (ari.maxLos() != null && ari.maxLos() < 1)) {
+            return "Length of stay limits must be at least 1";
+        }
+        if (ari.minLos() != null && ari.maxLos() != null && ari.minLos() > ari.maxLos()) {
+            return "minLos cannot exceed maxLos";
+        }
+        if ((ari.minAdvanceDays() != null && ari.minAdvanceDays() < 0)
+                || (ari.maxAdvanceDays() != null && ari.maxAdvanceDays() < 0)) {
+            return "Advance days cannot be negative";
+        }
+        if ((ari.minAdvanceHours() != null && ari.minAdvanceHours() < 0)
+                || (ari.maxAdvanceHours() != null && ari.maxAdvanceHours() < 0)) {
+            return "Advance hours cannot be negative";
+        }
+
+        row(restrictionCsv, line, ari.planId(), ari.date(),
+                Boolean.TRUE.equals(ari.cta()), Boolean.TRUE.equals(ari.ctd()),
+                ari.minLos(), ari.maxLos(), ari.minAdvanceDays(), ari.maxAdvanceDays(),
+                ari.minAdvanceHours(), ari.maxAdvanceHours(), ari.bookingCutoffTime(),
+                Boolean.TRUE.equals(ari.closed()));
+        restrictionMonths.add(YearMonth.from(ari.date()));
+        return null;
+    }
+
+    private static String checkAmount(AriLine ari) {
+        if (ari.amountMinor() < 0) {
+            return "Amount cannot be negative";
+        }
+        if (ari.occupancyFrom() != null && ari.occupancyFrom() < 1) {
+            return "occupancyFrom must be at least 1";
+        }
+        return null;
+    }
+
+    private static int occupancyFrom(AriLine ari) {
+        return ari.occupancyFrom() != null ? ari.occupancyFrom() : 1;
+    }
+
+    /**
+     * Values are numbers, booleans, ISO dates and times, none needs quoting; null is an empty field
+     */
+    private static void row(StringBuilder csv, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            if (values[i] != null) {
+                csv.append(values[i]);
+            }
+        }
+        csv.append('\n');
+    }
+
+    record InventoryRow(long line, long roomTypeId, LocalDate date, int allotment, boolean stopSell) {
+    }
+}
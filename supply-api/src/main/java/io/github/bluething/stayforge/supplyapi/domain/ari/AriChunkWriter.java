@@ -0,0 +1,169 @@
+package io.github.bluething.stayforge.supplyapi.domain.ari;
+
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangePublisher;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import org.jooq.DSLContext;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Writes one chunk in one transaction: COPY into session-local stage tables, report lines
+ * whose room type or plan does not exist, then merge into the target tables with
+ * INSERT ... ON CONFLICT DO UPDATE, one statement per target month so each statement routes
+ * to a single partition. When a key repeats within a chunk the last line wins. The room
+ * types and plans touched are announced to other nodes when the chunk commits.
+ */
+@Component
+class AriChunkWriter {
+    private static final String CREATE_STAGE_TABLES = """
+            CREATE TEMP TABLE IF NOT EXISTS ari_stage_inventory (
+              line_no BIGINT, room_type_id BIGINT, dt DATE, allotment INT, stop_sell BOOLEAN
+            ) ON COMMIT DELETE ROWS;
+            CREATE TEMP TABLE IF NOT EXISTS ari_stage_rate (
+              line_no BIGINT, plan_id BIGINT, dt DATE, occupancy_from INT, amount_minor BIGINT
+            ) ON COMMIT DELETE ROWS;
+            CREATE TEMP TABLE IF NOT EXISTS ari_stage_los (
+              line_no BIGINT, plan_id BIGINT, checkin_dt DATE, los INT, occupancy_from INT, amount_minor BIGINT
+            ) ON COMMIT DELETE ROWS;
+            CREATE TEMP TABLE IF NOT EXISTS ari_stage_restriction (
+              line_no BIGINT, plan_id BIGINT, dt DATE, cta BOOLEAN, ctd BOOLEAN, min_los INT, max_los INT,
+              min_advance_days INT, max_advance_days INT, min_advance_hours INT, max_advance_hours INT,
+              booking_cutoff_time TIME, closed BOOLEAN
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String MERGE_INVENTORY = """
+            INSERT INTO room_type_inventory (room_type_id, dt, allotment, stop_sell)
+            SELECT DISTINCT ON (s.room_type_id, s.dt) s.room_type_id, s.dt, s.allotment, s.stop_sell
+            FROM ari_stage_inventory s
+            JOIN room_type r ON r.id = s.room_type_id
+            WHERE s.dt >= ? AND s.dt < ?
+            ORDER BY s.room_type_id, s.dt, s.line_no DESC
+            ON CONFLICT (room_type_id, dt) DO UPDATE
+            SET allotment = EXCLUDED.allotment, stop_sell = EXCLUDED.stop_sell, updated_at = now()
+            """;
+
+    private static final String MERGE_RATE = """
+            INSERT INTO rate_nightly (plan_id, dt, occupancy_from, amount_minor)
+            SELECT DISTINCT ON (s.plan_id, s.dt, s.occupancy_from) s.plan_id, s.dt, s.occupancy_from, s.amount_minor
+            FROM ari_stage_rate s
+            JOIN plan p ON p.id = s.plan_id
+            WHERE s.dt >= ? AND s.dt < ?
+            ORDER BY s.plan_id, s.dt, s.occupancy_from, s.line_no DESC
+            ON CONFLICT (plan_id, dt, occupancy_from) DO UPDATE
+            SET amount_minor = EXCLUDED.amount_minor, updated_at = now()
+            """;
+
+    private static final String MERGE_LOS = """
+            INSERT INTO rate_los (plan_id, checkin_dt, los, occupancy_from, amount_minor)
+            SELECT DISTINCT ON (s.plan_id, s.checkin_dt, s.los, s.occupancy_from)
+                   s.plan_id, s.checkin_dt, s.los, s.occupancy_from, s.amount_minor
+            FROM ari_stage_los s
+            JOIN plan p ON p.id = s.plan_id
+            WHERE s.checkin_dt >= ? AND s.checkin_dt < ?
+            ORDER BY s.plan_id, s.checkin_dt, s.los, s.occupancy_from, s.line_no DESC
+            ON CONFLICT (plan_id, checkin_dt, los, occupancy_from) DO UPDATE
+            SET amount_minor = EXCLUDED.amount_minor, updated_at = now()
+            """;
+
+    private static final String MERGE_RESTRICTION = """
+            INSERT INTO plan_restriction (plan_id, dt, cta, ctd, min_los, max_los, min_advance_days, max_advance_days,
+                                          min_advance_hours, max_advance_hours, booking_cutoff_time, closed)
+            SELECT DISTINCT ON (s.plan_id, s.dt) s.plan_id, s.dt, s.cta, s.ctd, s.min_los, s.max_los,
+                   s.min_advance_days, s.max_advance_days, s.min_advance_hours, s.max_advance_hours,
+                   s.booking_cutoff_time, s.closed
+            FROM ari_stage_restriction s
+            JOIN plan p ON p.id = s.plan_id
+            WHERE s.dt >= ? AND s.dt < ?
+            ORDER BY s.plan_id, s.dt, s.line_no DESC
+            ON CONFLICT (plan_id, dt) DO UPDATE
+            SET cta = EXCLUDED.cta, ctd = EXCLUDED.ctd, min_los = EXCLUDED.min_los, max_los = EXCLUDED.max_los,
+                min_advance_days = EXCLUDED.min_advance_days, max_advance_days = EXCLUDED.max_advance_days,
+                min_advance_hours = EXCLUDED.min_advance_hours, max_advance_hours = EXCLUDED.max_advance_hours,
+                booking_cutoff_time = EXCLUDED.booking_cutoff_time, closed = EXCLUDED.closed, updated_at = now()
+            """;
+
+    private final DSLContext dsl;
+    private final SupplyChangePublisher changePublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    AriChunkWriter(DSLContext dsl, SupplyChangePublisher changePublisher, PlatformTransactionManager transactionManager) {
+        this.dsl = dsl;
+        this.changePublisher = changePublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    AriChunkOutcome write(AriChunk chunk) {
+        return transactionTemplate.execute(status -> {
+            dsl.execute(CREATE_STAGE_TABLES);
+
+            List<AriReject> rejects = new ArrayList<>();
+            if (!chunk.inventoryCsv.isEmpty()) {
+                copy("ari_stage_inventory (line_no, room_type_id, dt, allotment, stop_sell)", chunk.inventoryCsv);
+                rejects.addAll(orphans("ari_stage_inventory", "room_type_id", "room_type", "Unknown room type"));
+                merge(MERGE_INVENTORY, chunk.inventoryMonths);
+                publish(SupplyEntity.INVENTORY, "ari_stage_inventory", "room_type_id");
+            }
+            if (!chunk.rateCsv.isEmpty()) {
+                copy("ari_stage_rate (line_no, plan_id, dt, occupancy_from, amount_minor)", chunk.rateCsv);
+                rejects.addAll(orphans("ari_stage_rate", "plan_id", "plan", "Unknown plan"));
+                merge(MERGE_RATE, chunk.rateMonths);
+                publish(SupplyEntity.RATE, "ari_stage_rate", "plan_id");
+            }
+            if (!chunk.losCsv.isEmpty()) {
+                copy("ari_stage_los (line_no, plan_id, checkin_dt, los, occupancy_from, amount_minor)", chunk.losCsv);
+                rejects.addAll(orphans("ari_stage_los", "plan_id", "plan", "Unknown plan"));
+                merge(MERGE_LOS, chunk.losMonths);
+                publish(SupplyEntity.RATE, "ari_stage_los", "plan_id");
+            }
+            if (!chunk.restrictionCsv.isEmpty()) {
+                copy("ari_stage_restriction (line_no, plan_id, dt, cta, ctd, min_los, max_los, "
+                        + "min_advance_days, max_advance_days, min_advance_hours, max_advance_hours, "
+                        + "booking_cutoff_time, closed)", chunk.restrictionCsv);
+                rejects.addAll(orphans("ari_stage_restriction", "plan_id", "plan", "Unknown plan"));
+                merge(MERGE_RESTRICTION, chunk.restrictionMonths);
+                publish(SupplyEntity.RESTRICTION, "ari_stage_restriction", "plan_id");
+            }
+
+            Set<Long> rejectedLines = new HashSet<>();
+            rejects.forEach(reject -> rejectedLines.add(reject.line()));
+            return new AriChunkOutcome(chunk.size() - rejects.size(), rejects, rejectedLines);
+        });
+    }
+
+    private void copy(String target, CharSequence csv) {
+        dsl.connection(connection -> connection.unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn("COPY " + target + " FROM STDIN (FORMAT csv)", new StringReader(csv.toString())));
+    }
+
+    private List<AriReject> orphans(String stage, String column, String parent, String message) {
+        return dsl.fetch("SELECT s.line_no FROM " + stage + " s WHERE NOT EXISTS "
+                        + "(SELECT 1 FROM " + parent + " p WHERE p.id = s." + column + ")")
+                .map(record -> new AriReject(record.get(0, Long.class), message));
+    }
+
+    private void merge(String sql, SortedSet<YearMonth> months) {
+        for (YearMonth month : months) {
+            dsl.execute(sql, month.atDay(1), month.plusMonths(1).atDay(1));
+        }
+    }
+
+    private void publish(SupplyEntity entity, String stage, String column) {
+        changePublisher.publish(entity, dsl.fetch("SELECT DISTINCT " + column + " FROM " + stage)
+                .getValues(0, Long.class));
+    }
+
+    record AriChunkOutcome(long applied, List<AriReject> rejects, Set<Long> rejectedLines) {
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.bluething.stayforge.supplyapi.domain.ari;
+
+import java.util.List;
+
+/**
+ * Outcome of an ARI push. Only the first rejects are listed, rejected counts them all.
+ */
+public record AriIngestResult(long received,
+                              long applied,
+                              long rejected,
+                              List<AriReject> rejects) {
+}
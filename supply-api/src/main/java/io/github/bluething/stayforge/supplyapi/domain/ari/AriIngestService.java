@@ -0,0 +1,175 @@
+package io.github.bluething.stayforge.supplyapi.domain.ari;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.bluething.stayforge.supplyapi.domain.inventory.InventoryGridService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bulk ARI ingestion from NDJSON.
+ * <p>
+ * The request thread parses, validates and encodes lines into chunks of {@link #CHUNK_ROWS}
+ * while a writer virtual thread loads the previous chunks through COPY and merges them, so
+ * parsing overlaps database writes. The queue between them is bounded, which caps memory at
+ * a few chunks whatever the payload size. Each chunk commits on its own; a chunk that fails
+ * as a whole, for instance because a date has no partition, rejects all its lines.
+ */
+@Service
+@Slf4j
+public class AriIngestService {
+    static final int CHUNK_ROWS = 10_000;
+    private static final int PIPELINE_DEPTH = 2;
+    private static final int MAX_REPORTED_REJECTS = 1_000;
+
+    private final ObjectReader lineReader;
+    private final AriChunkWriter chunkWriter;
+    private final InventoryGridService inventoryGrid;
+
+    public AriIngestService(ObjectMapper objectMapper, AriChunkWriter chunkWriter, InventoryGridService inventoryGrid) {
+        this.lineReader = objectMapper.readerFor(AriLine.class);
+        this.chunkWriter = chunkWriter;
+        this.inventoryGrid = inventoryGrid;
+    }
+
+    public AriIngestResult ingest(InputStream ndjson) throws IOException {
+        long started = System.nanoTime();
+        Progress progress = new Progress();
+        BlockingQueue<AriChunk> queue = new ArrayBlockingQueue<>(PIPELINE_DEPTH);
+        Thread writer = Thread.ofVirtual()
+                .name("ari-writer")
+                .start(() -> drain(queue, progress));
+
+        long received = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            AriChunk chunk = new AriChunk();
+            long lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                received++;
+
+                String error;
+                try {
+                    error = chunk.add(lineNo, lineReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    error = "Malformed line: " + e.getOriginalMessage();
+                }
+                if (error != null) {
+                    progress.reject(new AriReject(lineNo, error));
+                }
+
+                if (chunk.size() >= CHUNK_ROWS) {
+                    put(queue, chunk);
+                    chunk = new AriChunk();
+                }
+            }
+            if (chunk.size() > 0) {
+                put(queue, chunk);
+            }
+        } finally {
+            put(queue, AriChunk.END);
+            join(writer);
+        }
+
+        AriIngestResult result = progress.result(received);
+        log.info("Ingested {} ARI lines ({} applied, {} rejected) in {} ms", result.received(), result.applied(),
+                result.rejected(), (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    private void drain(BlockingQueue<AriChunk> queue, Progress progress) {
+        while (true) {
+            AriChunk chunk;
+            try {
+                chunk = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (chunk == AriChunk.END) {
+                return;
+            }
+
+            try {
+                AriChunkWriter.AriChunkOutcome outcome = chunkWriter.write(chunk);
+                progress.applied(outcome.applied());
+                outcome.rejects().forEach(progress::reject);
+
+                // Committed, the grid can follow
+                for (AriChunk.InventoryRow row : chunk.inventoryRows) {
+                    if (!outcome.rejectedLines().contains(row.line())) {
+                        inventoryGrid.update(row.roomTypeId(), row.date(), row.allotment(), row.stopSell());
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Keep draining, the parser blocks on a full queue if the writer stops
+                String cause = e instanceof DataAccessException dataAccess
+                        ? dataAccess.getMostSpecificCause().getMessage()
+                        : e.getMessage();
+                String message = "Chunk rejected: " + cause;
+                log.warn("ARI chunk of {} lines failed", chunk.size(), e);
+                chunk.lines.forEach(line -> progress.reject(new AriReject(line, message)));
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<AriChunk> queue, AriChunk chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing ARI chunk", e);
+        }
+    }
+
+    private static void join(Thread writer) {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ARI writer", e);
+        }
+    }
+
+    /**
+     * Counters shared by the parsing and writing threads
+     */
+    private static final class Progress {
+        private final List<AriReject> rejects = new ArrayList<>();
+        private long rejected;
+        private long applied;
+
+        synchronized void reject(AriReject reject) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(reject);
+            }
+        }
+
+        synchronized void applied(long rows) {
+            applied += rows;
+        }
+
+        synchronized AriIngestResult result(long received) {
+            List<AriReject> sorted = new ArrayList<>(rejects);
+            sorted.sort((a, b) -> Long.compare(a.line(), b.line()));
+            return new AriIngestResult(received, applied, rejected, sorted);
+        }
+    }
+}
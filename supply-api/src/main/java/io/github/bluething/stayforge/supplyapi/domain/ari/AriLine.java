@@ -0,0 +1,36 @@
+package io.github.bluething.stayforge.supplyapi.domain.ari;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One line of an ARI push. The type selects the target table and the fields that apply:
+ * <ul>
+ *     <li>inventory: roomTypeId, date, allotment, stopSell</li>
+ *     <li>rate: planId, date, occupancyFrom, amountMinor (rate_nightly)</li>
+ *     <li>los: planId, checkIn, los, occupancyFrom, amountMinor (rate_los)</li>
+ *     <li>restriction: planId, date, cta, ctd, minLos, maxLos, minAdvanceDays, maxAdvanceDays,
+ *     minAdvanceHours, maxAdvanceHours, bookingCutoffTime, closed</li>
+ * </ul>
+ */
+public record AriLine(String type,
+                      Long roomTypeId,
+                      Long planId,
+                      LocalDate date,
+                      LocalDate checkIn,
+                      Integer los,
+                      Integer occupancyFrom,
+                      Long amountMinor,
+                      Integer allotment,
+                      Boolean stopSell,
+                      Boolean cta,
+                      Boolean ctd,
+                      Integer minLos,
+                      Integer maxLos,
+                      Integer minAdvanceDays,
+                      Integer maxAdvanceDays,
+                      Integer minAdvanceHours,
+                      Integer maxAdvanceHours,
+                      LocalTime bookingCutoffTime,
+                      Boolean closed) {
+}
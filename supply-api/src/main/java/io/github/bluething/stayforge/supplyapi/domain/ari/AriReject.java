@@ -0,0 +1,7 @@
+package io.github.bluething.stayforge.supplyapi.domain.ari;
+
+/**
+ * A line that was not applied, numbered from 1
+ */
+public record AriReject(long line, String message) {
+}
@@ -0,0 +1,317 @@
+package io.github.bluething.stayforge.supplyapi.domain.autocomplete;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable prefix index over normalized area and hotel names and slugs.
+ * <p>
+ * Every word start of an entry's search text is a term, stored as one long
+ * ({@code entry << 16 | offset}) and sorted by the text that follows it. A prefix
+ * then matches one contiguous run of terms, found with two binary searches. A max
+ * segment tree over the entry rank of each term returns the best ranked terms of that
+ * run in O(limit log n), however many entries share a short prefix.
+ * <p>
+ * Entries are stored column-wise and sorted by {@link #key}, which also breaks rank ties.
+ */
+final class AutocompleteIndex {
+    private static final int RANK_SCALE = 5;
+    private static final char SLUG_SEPARATOR = '\0';
+    private static final int OFFSET_BITS = 16;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    static final AutocompleteIndex EMPTY = build(List.of());
+
+    private final long[] keys;
+    private final String[] names;
+    private final String[] slugs;
+    private final long[] areaIds;
+    private final int[] ranks;
+    private final String[] texts;
+    private final long[] terms;
+    private final int[] tree;
+    private final int leaves;
+
+    private AutocompleteIndex(long[] keys, String[] names, String[] slugs, long[] areaIds, int[] ranks,
+                              String[] texts, long[] terms) {
+        this.keys = keys;
+        this.names = names;
+        this.slugs = slugs;
+        this.areaIds = areaIds;
+        this.ranks = ranks;
+        this.texts = texts;
+        this.terms = terms;
+
+        int size = 1;
+        while (size < terms.length) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < terms.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    static AutocompleteIndex build(List<AutocompleteSuggestion> suggestions) {
+        AutocompleteSuggestion[] sorted = suggestions.toArray(AutocompleteSuggestion[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong(suggestion -> key(suggestion)));
+
+        int size = sorted.length;
+        long[] keys = new long[size];
+        String[] names = new String[size];
+        String[] slugs = new String[size];
+        long[] areaIds = new long[size];
+        int[] ranks = new int[size];
+        String[] texts = new String[size];
+        List<Long> terms = new ArrayList<>(size * 3);
+
+        for (int entry = 0; entry < size; entry++) {
+            AutocompleteSuggestion suggestion = sorted[entry];
+            keys[entry] = key(suggestion);
+            names[entry] = suggestion.name();
+            slugs[entry] = suggestion.slug();
+            areaIds[entry] = suggestion.areaId() != null ? suggestion.areaId() : -1;
+            ranks[entry] = toRank(suggestion.rank());
+
+            String name = normalize(suggestion.name());
+            String slug = normalize(suggestion.slug());
+            String text = slug.isEmpty() || slug.equals(name) ? name : name + SLUG_SEPARATOR + slug;
+            texts[entry] = text;
+
+            int limit = (int) Math.min(text.length(), OFFSET_MASK + 1);
+            for (int offset = 0; offset < limit; offset++) {
+                char previous = offset == 0 ? ' ' : text.charAt(offset - 1);
+                if ((previous == ' ' || previous == SLUG_SEPARATOR) && text.charAt(offset) != SLUG_SEPARATOR) {
+                    terms.add(((long) entry << OFFSET_BITS) | offset);
+                }
+            }
+        }
+
+        Long[] boxed = terms.toArray(Long[]::new);
+        Arrays.sort(boxed, (a, b) -> compareSuffixes(texts, a, b));
+        long[] sortedTerms = new long[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sortedTerms[i] = boxed[i];
+        }
+
+        return new AutocompleteIndex(keys, names, slugs, areaIds, ranks, texts, sortedTerms);
+    }
+
+    /**
+     * Up to {@code limit} distinct entries with a word starting with the normalized prefix,
+     * highest rank first, skipping entries whose key is in {@code excluded}
+     */
+    List<AutocompleteSuggestion> search(String prefix, int limit, Set<Long> excluded) {
+        int from = lowerBound(prefix, false);
+        int to = lowerBound(prefix, true);
+        if (from >= to || limit <= 0) {
+            return List.of();
+        }
+
+        List<AutocompleteSuggestion> results = new ArrayList<>(limit);
+        int[] seen = new int[limit];
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                (a, b) -> a[0] == b[0] ? 0 : better(a[0], b[0]) == a[0] ? -1 : 1);
+        ranges.add(new int[]{best(from, to), from, to});
+
+        while (!ranges.isEmpty() && results.size() < limit) {
+            int[] range = ranges.poll();
+            int term = range[0];
+            if (range[1] < term) {
+                ranges.add(new int[]{best(range[1], term), range[1], term});
+            }
+            if (term + 1 < range[2]) {
+                ranges.add(new int[]{best(term + 1, range[2]), term + 1, range[2]});
+            }
+
+            int entry = entry(term);
+            if (contains(seen, results.size(), entry) || excluded.contains(keys[entry])) {
+                continue;
+            }
+            seen[results.size()] = entry;
+            results.add(suggestion(entry));
+        }
+        return results;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Entry position of a key, negative when absent
+     */
+    int find(long key) {
+        return Arrays.binarySearch(keys, key);
+    }
+
+    long key(int entry) {
+        return keys[entry];
+    }
+
+    AutocompleteSuggestion suggestion(int entry) {
+        return new AutocompleteSuggestion(
+                (keys[entry] & 1) == 0 ? AutocompleteKind.AREA : AutocompleteKind.HOTEL,
+                keys[entry] >>> 1,
+                areaIds[entry] >= 0 ? areaIds[entry] : null,
+                names[entry],
+                slugs[entry],
+                BigDecimal.valueOf(ranks[entry], RANK_SCALE)
+        );
+    }
+
+    static long key(AutocompleteSuggestion suggestion) {
+        return key(suggestion.kind(), suggestion.id());
+    }
+
+    static long key(AutocompleteKind kind, long id) {
+        return (id << 1) | (kind == AutocompleteKind.HOTEL ? 1 : 0);
+    }
+
+    /**
+     * Orders suggestions the way the index ranks them: rank descending, then key
+     */
+    static int compare(AutocompleteSuggestion a, AutocompleteSuggestion b) {
+        int byRank = Integer.compare(toRank(b.rank()), toRank(a.rank()));
+        return byRank != 0 ? byRank : Long.compare(key(a), key(b));
+    }
+
+    /**
+     * Lower case, accents stripped, and every run of other characters turned into one space
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int toRank(BigDecimal rank) {
+        return rank != null ? rank.movePointRight(RANK_SCALE).intValue() : 0;
+    }
+
+    private int entry(int term) {
+        return (int) (terms[term] >>> OFFSET_BITS);
+    }
+
+    /**
+     * Position of the best ranked term in [from, to)
+     */
+    private int best(int from, int to) {
+        int result = -1;
+        for (int left = from + leaves, right = to + leaves; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                result = better(result, tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                result = better(result, tree[--right]);
+            }
+        }
+        return result;
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        int entryA = entry(a);
+        int entryB = entry(b);
+        if (ranks[entryA] != ranks[entryB]) {
+            return ranks[entryA] > ranks[entryB] ? a : b;
+        }
+        // Entries are sorted by key, so the lower entry wins a tie
+        return entryA < entryB || (entryA == entryB && a < b) ? a : b;
+    }
+
+    /**
+     * First term whose suffix does not sort before the prefix, or with {@code past}
+     * the first term after every suffix starting with the prefix
+     */
+    private int lowerBound(String prefix, boolean past) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int cmp = compareToPrefix(terms[middle], prefix);
+            if (cmp < 0 || (past && cmp == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareToPrefix(long term, String prefix) {
+        String text = texts[(int) (term >>> OFFSET_BITS)];
+        int offset = (int) (term & OFFSET_MASK);
+        int length = Math.min(text.length() - offset, prefix.length());
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(offset + i);
+            char p = prefix.charAt(i);
+            if (c != p) {
+                return c < p ? -1 : 1;
+            }
+        }
+        return text.length() - offset < prefix.length() ? -1 : 0;
+    }
+
+    private static int compareSuffixes(String[] texts, long a, long b) {
+        String textA = texts[(int) (a >>> OFFSET_BITS)];
+        String textB = texts[(int) (b >>> OFFSET_BITS)];
+        int offsetA = (int) (a & OFFSET_MASK);
+        int offsetB = (int) (b & OFFSET_MASK);
+        int lengthA = textA.length() - offsetA;
+        int lengthB = textB.length() - offsetB;
+        int length = Math.min(lengthA, lengthB);
+        for (int i = 0; i < length; i++) {
+            char c = textA.charAt(offsetA + i);
+            char d = textB.charAt(offsetB + i);
+            if (c != d) {
+                return c - d;
+            }
+        }
+        return lengthA != lengthB ? lengthA - lengthB : Long.compare(a, b);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
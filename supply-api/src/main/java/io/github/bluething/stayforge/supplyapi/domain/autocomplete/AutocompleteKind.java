@@ -0,0 +1,9 @@
+package io.github.bluething.stayforge.supplyapi.domain.autocomplete;
+
+/**
+ * What an autocomplete suggestion points to
+ */
+public enum AutocompleteKind {
+    AREA,
+    HOTEL
+}
@@ -0,0 +1,323 @@
+package io.github.bluething.stayforge.supplyapi.domain.autocomplete;
+
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangeHandler;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Area and hotel typeahead served from memory.
+ * <p>
+ * The index is built from the tables when the application is ready. Later changes go to a
+ * small overlay index that shadows the entries it replaces in the base, so each write costs
+ * a rebuild of the overlay only. Once the overlay grows past {@link #COMPACT_THRESHOLD}
+ * entries it is folded into a new base, in memory. Area writes made through this node are
+ * applied when their transaction commits, changes from any node arrive as supply change
+ * notifications and are re-read by ID. Writes that arrive during a reload are replayed on
+ * the new index.
+ */
+@Service
+@Slf4j
+public class AutocompleteService implements SupplyChangeHandler {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 20;
+
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final DSLContext dsl;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+    private final Object reloadLock = new Object();
+
+    private volatile Snapshot snapshot;
+    private List<Change> journal;
+
+    public AutocompleteService(DSLContext dsl,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${supply.autocomplete.enabled:true}") boolean enabled) {
+        this.dsl = dsl;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Areas and hotels with a name or slug word starting with the query, highest rank first
+     *
+     * @throws BusinessException when the index has not been loaded yet
+     */
+    public List<AutocompleteSuggestion> suggest(String query, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new BusinessException(
+                    ErrorCode.AUTOCOMPLETE_UNAVAILABLE,
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Autocomplete index is not loaded yet"
+            );
+        }
+
+        String prefix = AutocompleteIndex.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        limit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        List<AutocompleteSuggestion> changed = current.overlay().search(prefix, limit, Set.of());
+        List<AutocompleteSuggestion> base = current.base().search(prefix, limit, current.shadowed());
+        if (changed.isEmpty()) {
+            return base;
+        }
+
+        List<AutocompleteSuggestion> merged = new ArrayList<>(changed.size() + base.size());
+        merged.addAll(changed);
+        merged.addAll(base);
+        merged.sort(AutocompleteIndex::compare);
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Rebuild the index from the tables and swap it in
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+
+            AutocompleteIndex fresh;
+            try {
+                fresh = readOnlyTransaction.execute(status -> {
+                    List<AutocompleteSuggestion> suggestions = new ArrayList<>(loadAreas(DSL.trueCondition()));
+                    suggestions.addAll(loadHotels(DSL.trueCondition()));
+                    return AutocompleteIndex.build(suggestions);
+                });
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    journal = null;
+                }
+                log.error("Autocomplete index load failed", e);
+                return;
+            }
+
+            synchronized (writeLock) {
+                Snapshot next = new Snapshot(fresh, AutocompleteIndex.EMPTY, Map.of(), Set.of());
+                for (Change change : journal) {
+                    next = apply(next, change);
+                }
+                journal = null;
+                snapshot = next;
+                log.info("Autocomplete index loaded with {} entries", fresh.size());
+            }
+        }
+    }
+
+    /**
+     * Index an area created or renamed by the current transaction once it commits
+     */
+    public void putArea(long id, String name, String slug) {
+        afterCommit(() -> {
+            Snapshot current = snapshot;
+            AutocompleteSuggestion existing = current != null
+                    ? current.get(AutocompleteIndex.key(AutocompleteKind.AREA, id))
+                    : null;
+            BigDecimal rank = existing != null ? existing.rank() : BigDecimal.ZERO;
+            write(new Change(List.of(new AutocompleteSuggestion(AutocompleteKind.AREA, id, null, name, slug, rank)),
+                    Set.of()));
+        });
+    }
+
+    /**
+     * Drop an area deleted by the current transaction once it commits
+     */
+    public void removeArea(long id) {
+        afterCommit(() -> write(new Change(List.of(), Set.of(AutocompleteIndex.key(AutocompleteKind.AREA, id)))));
+    }
+
+    @Override
+    public void onChanges(SupplyChanges changes) {
+        if (!enabled || !(changes.affects(SupplyEntity.AREA) || changes.affects(SupplyEntity.HOTEL))) {
+            return;
+        }
+        if (snapshot == null || changes.all(SupplyEntity.AREA) || changes.all(SupplyEntity.HOTEL)) {
+            reload();
+            return;
+        }
+
+        // A hotel change moves the rank of its area, and of its previous area when it moved
+        Set<Long> hotelIds = changes.ids(SupplyEntity.HOTEL);
+        Set<Long> areaIds = new HashSet<>(changes.ids(SupplyEntity.AREA));
+        for (Long hotelId : hotelIds) {
+            AutocompleteSuggestion previous = snapshot.get(AutocompleteIndex.key(AutocompleteKind.HOTEL, hotelId));
+            if (previous != null) {
+                areaIds.add(previous.areaId());
+            }
+        }
+
+        Change change = readOnlyTransaction.execute(status -> {
+            List<AutocompleteSuggestion> hotels = hotelIds.isEmpty()
+                    ? List.of()
+                    : loadHotels(Tables.HOTEL.ID.eq(DSL.any(hotelIds.toArray(Long[]::new))));
+            for (AutocompleteSuggestion hotel : hotels) {
+                areaIds.add(hotel.areaId());
+            }
+            List<AutocompleteSuggestion> areas = areaIds.isEmpty()
+                    ? List.of()
+                    : loadAreas(Tables.AREA.ID.eq(DSL.any(areaIds.toArray(Long[]::new))));
+
+            List<AutocompleteSuggestion> upserts = new ArrayList<>(areas.size() + hotels.size());
+            upserts.addAll(areas);
+            upserts.addAll(hotels);
+            Set<Long> removals = new HashSet<>();
+            hotelIds.forEach(id -> removals.add(AutocompleteIndex.key(AutocompleteKind.HOTEL, id)));
+            areaIds.forEach(id -> removals.add(AutocompleteIndex.key(AutocompleteKind.AREA, id)));
+            upserts.forEach(suggestion -> removals.remove(AutocompleteIndex.key(suggestion)));
+            return new Change(upserts, removals);
+        });
+        write(change);
+    }
+
+    private void write(Change change) {
+        synchronized (writeLock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            if (snapshot != null) {
+                snapshot = apply(snapshot, change);
+            }
+        }
+    }
+
+    private static Snapshot apply(Snapshot current, Change change) {
+        Map<Long, AutocompleteSuggestion> changed = new HashMap<>(current.changed());
+        change.removals().forEach(key -> changed.put(key, null));
+        change.upserts().forEach(suggestion -> changed.put(AutocompleteIndex.key(suggestion), suggestion));
+
+        List<AutocompleteSuggestion> overlay = changed.values().stream()
+                .filter(suggestion -> suggestion != null)
+                .toList();
+
+        if (changed.size() > COMPACT_THRESHOLD) {
+            List<AutocompleteSuggestion> all = new ArrayList<>(current.base().size() + overlay.size());
+            for (int entry = 0; entry < current.base().size(); entry++) {
+                if (!changed.containsKey(current.base().key(entry))) {
+                    all.add(current.base().suggestion(entry));
+                }
+            }
+            all.addAll(overlay);
+            return new Snapshot(AutocompleteIndex.build(all), AutocompleteIndex.EMPTY, Map.of(), Set.of());
+        }
+
+        // The base keeps its old version of every changed entry, hidden behind the overlay
+        return new Snapshot(current.base(), AutocompleteIndex.build(overlay),
+                changed, Set.copyOf(changed.keySet()));
+    }
+
+    private List<AutocompleteSuggestion> loadAreas(Condition condition) {
+        Field<BigDecimal> rank = DSL.field(DSL.select(DSL.max(Tables.HOTEL.RANK))
+                .from(Tables.HOTEL)
+                .where(Tables.HOTEL.AREA_ID.eq(Tables.AREA.ID))
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull()));
+
+        return dsl.select(Tables.AREA.ID, Tables.AREA.NAME, Tables.AREA.SLUG, rank)
+                .from(Tables.AREA)
+                .where(condition)
+                .and(Tables.AREA.DELETED_AT.isNull())
+                .fetch(record -> new AutocompleteSuggestion(
+                        AutocompleteKind.AREA,
+                        record.value1(),
+                        null,
+                        record.value2(),
+                        record.value3(),
+                        record.value4() != null ? record.value4() : BigDecimal.ZERO
+                ));
+    }
+
+    private List<AutocompleteSuggestion> loadHotels(Condition condition) {
+        return dsl.select(Tables.HOTEL.ID, Tables.HOTEL.AREA_ID, Tables.HOTEL.NAME, Tables.HOTEL.SLUG,
+                        Tables.HOTEL.RANK)
+                .from(Tables.HOTEL)
+                .where(condition)
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull())
+                .fetch(record -> new AutocompleteSuggestion(
+                        AutocompleteKind.HOTEL,
+                        record.value1(),
+                        record.value2(),
+                        record.value3(),
+                        record.value4(),
+                        record.value5()
+                ));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Base index plus the entries changed since it was built. A null value in {@code changed}
+     * marks a removed entry, {@code shadowed} holds every changed key.
+     */
+    private record Snapshot(AutocompleteIndex base,
+                            AutocompleteIndex overlay,
+                            Map<Long, AutocompleteSuggestion> changed,
+                            Set<Long> shadowed) {
+
+        AutocompleteSuggestion get(long key) {
+            if (changed.containsKey(key)) {
+                return changed.get(key);
+            }
+            int entry = base.find(key);
+            return entry >= 0 ? base.suggestion(entry) : null;
+        }
+    }
+
+    private record Change(Collection<AutocompleteSuggestion> upserts, Set<Long> removals) {
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.bluething.stayforge.supplyapi.domain.autocomplete;
+
+import java.math.BigDecimal;
+
+/**
+ * An area or hotel matching a typed prefix.
+ *
+ * @param areaId the hotel's area, null for areas
+ * @param rank   the hotel rank, or the highest rank among an area's active hotels
+ */
+public record AutocompleteSuggestion(AutocompleteKind kind,
+                                     long id,
+                                     Long areaId,
+                                     String name,
+                                     String slug,
+                                     BigDecimal rank) {
+}
@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.domain.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Search sellable room type and plan combinations, in an area or in a list of hotels.
+ * The stay covers the nights from checkIn up to, not including, checkOut.
+ */
+public record AvailabilityQuery(Long areaId,
+                                List<Long> hotelIds,
+                                LocalDate checkIn,
+                                LocalDate checkOut,
+                                int guests,
+                                int rooms) {
+}
@@ -0,0 +1,12 @@
+package io.github.bluething.stayforge.supplyapi.domain.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AvailabilityResult(LocalDate checkIn,
+                                 LocalDate checkOut,
+                                 int nights,
+                                 int guests,
+                                 int rooms,
+                                 List<AvailableOffer> offers) {
+}
@@ -0,0 +1,283 @@
+package io.github.bluething.stayforge.supplyapi.domain.availability;
+
+import io.github.bluething.stayforge.supplyapi.domain.inventory.InventoryGridService;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.RateMatrix;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.StayPriceEngine;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.StayPricer;
+import io.github.bluething.stayforge.supplyapi.domain.restriction.RestrictionEvaluator;
+import io.github.bluething.stayforge.supplyapi.domain.restriction.RestrictionMatrix;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RoomTypeInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Availability search over inventory, restrictions and rates.
+ * <p>
+ * A search runs at most five set-based queries regardless of the number of hotels: the
+ * catalog candidates, then inventory, restrictions, nightly rates and LOS rates for all
+ * candidates at once. Inventory is read from the in-memory grid when it covers the stay,
+ * and stays are priced in memory by the {@link StayPriceEngine}. The date-partitioned tables
+ * are always filtered on their partition key range so only the partitions covering the stay are scanned.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class AvailabilityService {
+    public static final int MAX_NIGHTS = 30;
+    public static final int MAX_ROOMS = 10;
+
+    private static final LocalTime DEFAULT_CHECK_IN_TIME = LocalTime.of(14, 0);
+    /** The zone whose date is the earliest, a day before today there is past in every hotel */
+    private static final ZoneOffset EARLIEST_ZONE = ZoneOffset.ofHours(-12);
+    private static final Comparator<AvailableOffer> OFFER_ORDER = Comparator
+            .comparingLong(AvailableOffer::totalAmountMinor)
+            .thenComparing(AvailableOffer::hotelId)
+            .thenComparing(AvailableOffer::roomTypeId)
+            .thenComparing(AvailableOffer::planId);
+
+    private final DSLContext dsl;
+    private final InventoryGridService inventoryGrid;
+    private final StayPriceEngine priceEngine;
+    private final RestrictionEvaluator restrictionEvaluator;
+
+    /**
+     * Sellable room type and plan combinations for the stay, cheapest first
+     */
+    public AvailabilityResult search(AvailabilityQuery query) {
+        validate(query);
+        int nights = (int) ChronoUnit.DAYS.between(query.checkIn(), query.checkOut());
+
+        List<OfferCandidate> candidates = findCandidates(query);
+        if (candidates.isEmpty()) {
+            return result(query, nights, List.of());
+        }
+
+        Long[] roomTypeIds = candidates.stream().map(OfferCandidate::roomTypeId).distinct().toArray(Long[]::new);
+        Map<Long, PlanPricing> plans = new LinkedHashMap<>();
+        candidates.forEach(candidate -> plans.putIfAbsent(candidate.planId(), candidate.pricing()));
+        Long[] planIds = plans.keySet().toArray(Long[]::new);
+
+        Map<Long, Integer> availableRooms = findAvailableRooms(roomTypeIds, query.checkIn(), query.checkOut(),
+                nights, query.rooms());
+        Map<Long, RestrictionMatrix> restrictions = restrictionEvaluator.loadRestrictions(planIds,
+                query.checkIn(), query.checkOut().plusDays(1));
+        Map<Long, RateMatrix> rates = priceEngine.loadRates(plans, query.checkIn(), query.checkOut());
+        Map<Long, StayPricer> pricers = new HashMap<>();
+
+        Map<String, Optional<ZonedDateTime>> nowByZone = new HashMap<>();
+        List<AvailableOffer> offers = new ArrayList<>();
+        for (OfferCandidate candidate : candidates) {
+            Integer rooms = availableRooms.get(candidate.roomTypeId());
+            if (rooms == null) {
+                continue;
+            }
+
+            ZonedDateTime now = nowByZone.computeIfAbsent(candidate.timezone(), AvailabilityService::nowIn)
+                    .orElse(null);
+            if (now == null) {
+                // A hotel with a broken timezone is left out rather than failing the whole search
+                continue;
+            }
+            if (query.checkIn().isBefore(now.toLocalDate())) {
+                // Already past for this hotel, advance rules only catch it with a restriction row
+                continue;
+            }
+            LocalTime checkInTime = candidate.checkInTime() != null
+                    ? candidate.checkInTime()
+                    : DEFAULT_CHECK_IN_TIME;
+            if (!restrictions.get(candidate.planId()).allows(0, nights, now, checkInTime)) {
+                continue;
+            }
+
+            StayPricer pricer = pricers.computeIfAbsent(candidate.planId(),
+                    planId -> rates.get(planId).forGuests(query.guests()));
+            long stayMinor = pricer.price(0, nights, candidate.extraGuestFeeMinor());
+            if (stayMinor == RateMatrix.NO_RATE) {
+                continue;
+            }
+
+            offers.add(new AvailableOffer(
+                    candidate.hotelId(),
+                    candidate.hotelName(),
+                    candidate.roomTypeId(),
+                    candidate.roomTypeName(),
+                    candidate.planId(),
+                    candidate.planName(),
+                    candidate.pricing(),
+                    candidate.currency(),
+                    stayMinor * query.rooms(),
+                    rooms
+            ));
+        }
+
+        offers.sort(OFFER_ORDER);
+        return result(query, nights, offers);
+    }
+
+    private static Optional<ZonedDateTime> nowIn(String zone) {
+        try {
+            return Optional.of(ZonedDateTime.now(ZoneId.of(zone)));
+        } catch (DateTimeException e) {
+            log.warn("Skipping hotels with invalid timezone '{}' in availability search", zone);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Active hotel, room type and plan combinations in scope whose capacity and occupancy range fit the guests
+     */
+    private List<OfferCandidate> findCandidates(AvailabilityQuery query) {
+        Condition scope = DSL.noCondition();
+        if (query.areaId() != null) {
+            scope = scope.and(Tables.HOTEL.AREA_ID.eq(query.areaId()));
+        }
+        if (query.hotelIds() != null && !query.hotelIds().isEmpty()) {
+            scope = scope.and(Tables.HOTEL.ID.eq(DSL.any(query.hotelIds().toArray(Long[]::new))));
+        }
+
+        return dsl.select(
+                        Tables.HOTEL.ID,
+                        Tables.HOTEL.NAME,
+                        Tables.HOTEL.TIMEZONE,
+                        Tables.HOTEL.CHECK_IN_TIME,
+                        Tables.ROOM_TYPE.ID,
+                        Tables.ROOM_TYPE.NAME,
+                        Tables.PLAN.ID,
+                        Tables.PLAN.NAME,
+                        Tables.PLAN.PRICING,
+                        Tables.PLAN.CURRENCY,
+                        Tables.PLAN_ROOM_TYPE.EXTRA_GUEST_FEE_MINOR)
+                .from(Tables.HOTEL)
+                .join(Tables.ROOM_TYPE).on(Tables.ROOM_TYPE.HOTEL_ID.eq(Tables.HOTEL.ID))
+                .join(Tables.PLAN_ROOM_TYPE).on(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID.eq(Tables.ROOM_TYPE.ID))
+                .join(Tables.PLAN).on(Tables.PLAN.ID.eq(Tables.PLAN_ROOM_TYPE.PLAN_ID))
+                .where(scope)
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull())
+                .and(Tables.ROOM_TYPE.ACTIVE.isTrue())
+                .and(Tables.ROOM_TYPE.CAPACITY_MAX.ge(query.guests()))
+                .and(Tables.PLAN.ACTIVE.isTrue())
+                .and(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MIN.isNull()
+                        .or(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MIN.le(query.guests())))
+                .and(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MAX.isNull()
+                        .or(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MAX.ge(query.guests())))
+                .fetch(record -> new OfferCandidate(
+                        record.get(Tables.HOTEL.ID),
+                        record.get(Tables.HOTEL.NAME),
+                        record.get(Tables.HOTEL.TIMEZONE),
+                        record.get(Tables.HOTEL.CHECK_IN_TIME),
+                        record.get(Tables.ROOM_TYPE.ID),
+                        record.get(Tables.ROOM_TYPE.NAME),
+                        record.get(Tables.PLAN.ID),
+                        record.get(Tables.PLAN.NAME),
+                        PlanPricing.valueOf(record.get(Tables.PLAN.PRICING).toUpperCase(Locale.ROOT)),
+                        record.get(Tables.PLAN.CURRENCY),
+                        record.get(Tables.PLAN_ROOM_TYPE.EXTRA_GUEST_FEE_MINOR)
+                ));
+    }
+
+    /**
+     * Room types with at least the requested rooms on every night and no stop-sell,
+     * mapped to the lowest allotment over the stay. A missing night is not sellable.
+     * Served from the inventory grid when it covers the stay.
+     */
+    private Map<Long, Integer> findAvailableRooms(Long[] roomTypeIds, LocalDate checkIn, LocalDate checkOut,
+                                                  int nights, int rooms) {
+        if (inventoryGrid.covers(checkIn, checkOut)) {
+            Map<Long, Integer> available = new HashMap<>();
+            for (Long roomTypeId : roomTypeIds) {
+                int allotment = inventoryGrid.availableRooms(roomTypeId, checkIn, checkOut);
+                if (allotment >= rooms) {
+                    available.put(roomTypeId, allotment);
+                }
+            }
+            return available;
+        }
+
+        RoomTypeInventory inventory = Tables.ROOM_TYPE_INVENTORY;
+        Field<Integer> minAllotment = DSL.min(inventory.ALLOTMENT);
+
+        Map<Long, Integer> available = new HashMap<>();
+        dsl.select(inventory.ROOM_TYPE_ID, minAllotment)
+                .from(inventory)
+                .where(inventory.ROOM_TYPE_ID.eq(DSL.any(roomTypeIds)))
+                .and(inventory.DT.ge(checkIn))
+                .and(inventory.DT.lt(checkOut))
+                .groupBy(inventory.ROOM_TYPE_ID)
+                .having(DSL.count().eq(nights))
+                .and(DSL.boolOr(inventory.STOP_SELL.isTrue()).isFalse())
+                .and(minAllotment.ge(rooms))
+                .forEach(record -> available.put(record.value1(), record.value2()));
+        return available;
+    }
+
+    private static AvailabilityResult result(AvailabilityQuery query, int nights, List<AvailableOffer> offers) {
+        return new AvailabilityResult(
+                query.checkIn(),
+                query.checkOut(),
+                nights,
+                query.guests(),
+                query.rooms(),
+                offers
+        );
+    }
+
+    private static void validate(AvailabilityQuery query) {
+        if (query.areaId() == null && (query.hotelIds() == null || query.hotelIds().isEmpty())) {
+            throw invalidQuery("Either an area or a list of hotels is required");
+        }
+        if (query.checkIn() == null || query.checkOut() == null) {
+            throw invalidQuery("Both check-in and check-out dates are required");
+        }
+        if (!query.checkOut().isAfter(query.checkIn())) {
+            throw invalidQuery("Check-out must be after check-in");
+        }
+        if (query.checkIn().isBefore(LocalDate.now(EARLIEST_ZONE))) {
+            throw invalidQuery("Check-in cannot be in the past");
+        }
+        if (ChronoUnit.DAYS.between(query.checkIn(), query.checkOut()) > MAX_NIGHTS) {
+            throw invalidQuery("Stay cannot exceed " + MAX_NIGHTS + " nights");
+        }
+        if (query.guests() < 1) {
+            throw invalidQuery("At least one guest is required");
+        }
+        if (query.rooms() < 1 || query.rooms() > MAX_ROOMS) {
+            throw invalidQuery("Rooms must be between 1 and " + MAX_ROOMS);
+        }
+    }
+
+    private static BusinessException invalidQuery(String message) {
+        return new BusinessException(
+                ErrorCode.VALIDATION_ERROR,
+                HttpStatus.BAD_REQUEST,
+                message
+        );
+    }
+}
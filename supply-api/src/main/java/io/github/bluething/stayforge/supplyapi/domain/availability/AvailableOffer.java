@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.domain.availability;
+
+/**
+ * A sellable room type and plan with the total price of the stay for all requested rooms
+ */
+public record AvailableOffer(Long hotelId,
+                             String hotelName,
+                             Long roomTypeId,
+                             String roomTypeName,
+                             Long planId,
+                             String planName,
+                             PlanPricing pricing,
+                             String currency,
+                             long totalAmountMinor,
+                             int availableRooms) {
+}
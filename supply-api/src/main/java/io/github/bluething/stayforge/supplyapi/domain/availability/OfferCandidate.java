@@ -0,0 +1,20 @@
+package io.github.bluething.stayforge.supplyapi.domain.availability;
+
+import java.time.LocalTime;
+
+/**
+ * Catalog combination of hotel, room type and plan that fits the occupancy, before
+ * inventory, restrictions and rates are checked
+ */
+record OfferCandidate(Long hotelId,
+                      String hotelName,
+                      String timezone,
+                      LocalTime checkInTime,
+                      Long roomTypeId,
+                      String roomTypeName,
+                      Long planId,
+                      String planName,
+                      PlanPricing pricing,
+                      String currency,
+                      int extraGuestFeeMinor) {
+}
@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.domain.availability;
+
+/**
+ * How a plan is priced, mirrors plan.pricing.
+ */
+public enum PlanPricing {
+    /**
+     * Sum of rate_nightly over the stay dates
+     */
+    NIGHTLY,
+
+    /**
+     * One rate_los amount for the check-in date and length of stay
+     */
+    LOS
+}
@@ -0,0 +1,233 @@
+package io.github.bluething.stayforge.supplyapi.domain.calendar;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.PlanRestriction;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RateLos;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RateNightly;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RoomTypeInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Builds columnar calendars of inventory, rates and restrictions.
+ * <p>
+ * Each table is read with one query over the partition key range and scattered into
+ * primitive arrays indexed by day offset, so a year of data costs a handful of arrays
+ * instead of one object per row.
+ * <p>
+ * Without a start date a calendar begins on today in the hotel's own zone, not the server's.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CalendarService {
+    /**
+     * Marks a day without a value
+     */
+    public static final int NONE = -1;
+
+    private final DSLContext dsl;
+
+    /**
+     * @param start first day, today in the room type's hotel zone when null
+     * @throws BusinessException when the room type does not exist, or its hotel's timezone does not parse
+     */
+    public RoomTypeCalendar getRoomTypeCalendar(long roomTypeId, LocalDate start, int days) {
+        String timezone = dsl.select(Tables.HOTEL.TIMEZONE)
+                .from(Tables.ROOM_TYPE)
+                .join(Tables.HOTEL).on(Tables.HOTEL.ID.eq(Tables.ROOM_TYPE.HOTEL_ID))
+                .where(Tables.ROOM_TYPE.ID.eq(roomTypeId))
+                .fetchOne(Tables.HOTEL.TIMEZONE);
+        if (timezone == null) {
+            throw new BusinessException(ErrorCode.ROOM_TYPE_NOT_FOUND, HttpStatus.NOT_FOUND,
+                    "Room type with ID " + roomTypeId + " not found");
+        }
+        return roomTypeCalendar(roomTypeId, start != null ? start : hotelToday(roomTypeId, timezone), days);
+    }
+
+    /**
+     * @param start first day, when null the earliest today among the zones of the hotels selling the plan
+     * @throws BusinessException when the plan does not exist
+     */
+    public PlanCalendar getPlanCalendar(long planId, LocalDate start, int days) {
+        String pricingName = dsl.select(Tables.PLAN.PRICING)
+                .from(Tables.PLAN)
+                .where(Tables.PLAN.ID.eq(planId))
+                .fetchOne(Tables.PLAN.PRICING);
+        if (pricingName == null) {
+            throw new BusinessException(ErrorCode.PLAN_NOT_FOUND, HttpStatus.NOT_FOUND,
+                    "Plan with ID " + planId + " not found");
+        }
+        PlanPricing pricing = PlanPricing.valueOf(pricingName.toUpperCase(Locale.ROOT));
+        return planCalendar(planId, pricing, start != null ? start : planToday(planId), days);
+    }
+
+    private RoomTypeCalendar roomTypeCalendar(long roomTypeId, LocalDate start, int days) {
+        int[] allotment = filled(days);
+        int[] flags = new int[days];
+
+        RoomTypeInventory inventory = Tables.ROOM_TYPE_INVENTORY;
+        dsl.select(inventory.DT, inventory.ALLOTMENT, inventory.STOP_SELL)
+                .from(inventory)
+                .where(inventory.ROOM_TYPE_ID.eq(roomTypeId))
+                .and(inventory.DT.ge(start))
+                .and(inventory.DT.lt(start.plusDays(days)))
+                .forEach(record -> {
+                    int offset = offset(start, record.value1());
+                    allotment[offset] = record.value2();
+                    if (Boolean.TRUE.equals(record.value3())) {
+                        flags[offset] = RoomTypeCalendar.STOP_SELL;
+                    }
+                });
+
+        return new RoomTypeCalendar(roomTypeId, start, days, allotment, flags);
+    }
+
+    private PlanCalendar planCalendar(long planId, PlanPricing pricing, LocalDate start, int days) {
+        LocalDate end = start.plusDays(days);
+
+        List<PlanCalendar.RateColumn> rates = pricing == PlanPricing.LOS
+                ? losRates(planId, start, end, days)
+                : nightlyRates(planId, start, end, days);
+
+        int[] flags = new int[days];
+        int[] minLos = filled(days);
+        int[] maxLos = filled(days);
+        int[] minAdvanceDays = filled(days);
+        int[] maxAdvanceDays = filled(days);
+
+        PlanRestriction restriction = Tables.PLAN_RESTRICTION;
+        dsl.selectFrom(restriction)
+                .where(restriction.PLAN_ID.eq(planId))
+                .and(restriction.DT.ge(start))
+                .and(restriction.DT.lt(end))
+                .forEach(record -> {
+                    int offset = offset(start, record.getDt());
+                    flags[offset] = (Boolean.TRUE.equals(record.getClosed()) ? PlanCalendar.CLOSED : 0)
+                            | (Boolean.TRUE.equals(record.getCta()) ? PlanCalendar.CLOSED_TO_ARRIVAL : 0)
+                            | (Boolean.TRUE.equals(record.getCtd()) ? PlanCalendar.CLOSED_TO_DEPARTURE : 0);
+                    minLos[offset] = valueOrNone(record.getMinLos());
+                    maxLos[offset] = valueOrNone(record.getMaxLos());
+                    minAdvanceDays[offset] = valueOrNone(record.getMinAdvanceDays());
+                    maxAdvanceDays[offset] = valueOrNone(record.getMaxAdvanceDays());
+                });
+
+        return new PlanCalendar(planId, pricing, start, days, rates,
+                flags, minLos, maxLos, minAdvanceDays, maxAdvanceDays);
+    }
+
+    private static LocalDate hotelToday(long roomTypeId, String timezone) {
+        try {
+            return LocalDate.now(ZoneId.of(timezone));
+        } catch (DateTimeException e) {
+            throw new BusinessException(ErrorCode.HOTEL_MISCONFIGURED, HttpStatus.CONFLICT,
+                    "Hotel of room type " + roomTypeId + " has an invalid timezone '" + timezone + "'");
+        }
+    }
+
+    /**
+     * A plan can be sold by hotels in several zones, start on the earliest of their todays so
+     * none of them loses its current day. UTC when no room type is linked yet.
+     */
+    private LocalDate planToday(long planId) {
+        return dsl.selectDistinct(Tables.HOTEL.TIMEZONE)
+                .from(Tables.PLAN_ROOM_TYPE)
+                .join(Tables.ROOM_TYPE).on(Tables.ROOM_TYPE.ID.eq(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID))
+                .join(Tables.HOTEL).on(Tables.HOTEL.ID.eq(Tables.ROOM_TYPE.HOTEL_ID))
+                .where(Tables.PLAN_ROOM_TYPE.PLAN_ID.eq(planId))
+                .fetch(Tables.HOTEL.TIMEZONE)
+                .stream()
+                .map(timezone -> today(planId, timezone))
+                .filter(Objects::nonNull)
+                .min(LocalDate::compareTo)
+                .orElseGet(() -> LocalDate.now(ZoneOffset.UTC));
+    }
+
+    private static LocalDate today(long planId, String timezone) {
+        try {
+            return LocalDate.now(ZoneId.of(timezone));
+        } catch (DateTimeException e) {
+            log.warn("Ignoring invalid timezone '{}' of a hotel selling plan {}", timezone, planId);
+            return null;
+        }
+    }
+
+    private List<PlanCalendar.RateColumn> nightlyRates(long planId, LocalDate start, LocalDate end, int days) {
+        Map<Integer, long[]> tiers = new TreeMap<>();
+
+        RateNightly rate = Tables.RATE_NIGHTLY;
+        dsl.select(rate.DT, rate.OCCUPANCY_FROM, rate.AMOUNT_MINOR)
+                .from(rate)
+                .where(rate.PLAN_ID.eq(planId))
+                .and(rate.DT.ge(start))
+                .and(rate.DT.lt(end))
+                .forEach(record -> tiers.computeIfAbsent(record.value2(), tier -> filledAmounts(days))
+                        [offset(start, record.value1())] = record.value3());
+
+        List<PlanCalendar.RateColumn> columns = new ArrayList<>(tiers.size());
+        tiers.forEach((occupancyFrom, amounts) ->
+                columns.add(new PlanCalendar.RateColumn(occupancyFrom, null, amounts)));
+        return columns;
+    }
+
+    private List<PlanCalendar.RateColumn> losRates(long planId, LocalDate start, LocalDate end, int days) {
+        // Keyed by LOS then occupancy tier, packed into one long to keep the columns ordered
+        Map<Long, long[]> columnsByKey = new TreeMap<>();
+
+        RateLos rate = Tables.RATE_LOS;
+        dsl.select(rate.CHECKIN_DT, rate.LOS, rate.OCCUPANCY_FROM, rate.AMOUNT_MINOR)
+                .from(rate)
+                .where(rate.PLAN_ID.eq(planId))
+                .and(rate.CHECKIN_DT.ge(start))
+                .and(rate.CHECKIN_DT.lt(end))
+                .forEach(record -> columnsByKey.computeIfAbsent(
+                                ((long) record.value2() << 32) | record.value3(), key -> filledAmounts(days))
+                        [offset(start, record.value1())] = record.value4());
+
+        List<PlanCalendar.RateColumn> columns = new ArrayList<>(columnsByKey.size());
+        columnsByKey.forEach((key, amounts) ->
+                columns.add(new PlanCalendar.RateColumn((int) (long) key, (int) (key >>> 32), amounts)));
+        return columns;
+    }
+
+    private static int offset(LocalDate start, LocalDate day) {
+        return (int) ChronoUnit.DAYS.between(start, day);
+    }
+
+    private static int valueOrNone(Integer value) {
+        return value != null ? value : NONE;
+    }
+
+    private static int[] filled(int days) {
+        int[] values = new int[days];
+        Arrays.fill(values, NONE);
+        return values;
+    }
+
+    private static long[] filledAmounts(int days) {
+        long[] amounts = new long[days];
+        Arrays.fill(amounts, NONE);
+        return amounts;
+    }
+}
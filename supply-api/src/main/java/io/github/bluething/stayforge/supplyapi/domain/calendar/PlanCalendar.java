@@ -0,0 +1,35 @@
+package io.github.bluething.stayforge.supplyapi.domain.calendar;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rates and restrictions of a plan as columns indexed by day offset from {@code start}.
+ * Missing values are {@link CalendarService#NONE}.
+ *
+ * @param rates one column per occupancy tier, and per length of stay for LOS plans
+ * @param flags per day bitmask of {@link #CLOSED}, {@link #CLOSED_TO_ARRIVAL} and {@link #CLOSED_TO_DEPARTURE}
+ */
+public record PlanCalendar(long planId,
+                           PlanPricing pricing,
+                           LocalDate start,
+                           int days,
+                           List<RateColumn> rates,
+                           int[] flags,
+                           int[] minLos,
+                           int[] maxLos,
+                           int[] minAdvanceDays,
+                           int[] maxAdvanceDays) {
+    public static final int CLOSED = 1;
+    public static final int CLOSED_TO_ARRIVAL = 2;
+    public static final int CLOSED_TO_DEPARTURE = 4;
+
+    /**
+     * @param los     length of stay for LOS plans, null for nightly rates
+     * @param amounts amount per night, or per stay from that check-in date for LOS plans
+     */
+    public record RateColumn(int occupancyFrom, Integer los, long[] amounts) {
+    }
+}
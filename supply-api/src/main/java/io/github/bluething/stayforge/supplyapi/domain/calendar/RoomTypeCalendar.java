@@ -0,0 +1,17 @@
+package io.github.bluething.stayforge.supplyapi.domain.calendar;
+
+import java.time.LocalDate;
+
+/**
+ * Inventory of a room type as columns indexed by day offset from {@code start}.
+ *
+ * @param allotment remaining rooms per day, {@link CalendarService#NONE} without an inventory row
+ * @param flags     per day bitmask of {@link #STOP_SELL}
+ */
+public record RoomTypeCalendar(long roomTypeId,
+                               LocalDate start,
+                               int days,
+                               int[] allotment,
+                               int[] flags) {
+    public static final int STOP_SELL = 1;
+}
@@ -0,0 +1,96 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects notifications until the listener flushes them. Past {@link #MAX_IDS} IDs an
+ * entity is marked as changed as a whole.
+ */
+final class SupplyChangeBatch {
+    static final int MAX_IDS = 10_000;
+
+    private Map<SupplyEntity, Set<Long>> ids = new EnumMap<>(SupplyEntity.class);
+    private Set<SupplyEntity> all = EnumSet.noneOf(SupplyEntity.class);
+    private long startedAt;
+
+    /**
+     * Add a payload of the form {@code <entity>:<id>[,<id>...]} or {@code <entity>:*}
+     *
+     * @return false when the payload is not understood
+     */
+    boolean add(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return false;
+        }
+        SupplyEntity entity = SupplyEntity.fromPayloadName(payload.substring(0, separator)).orElse(null);
+        if (entity == null) {
+            return false;
+        }
+
+        String list = payload.substring(separator + 1);
+        if (list.equals("*")) {
+            addAll(entity);
+            return true;
+        }
+        try {
+            for (String id : list.split(",")) {
+                add(entity, Long.parseLong(id));
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return true;
+    }
+
+    void add(SupplyEntity entity, long id) {
+        touch();
+        if (all.contains(entity)) {
+            return;
+        }
+        Set<Long> entityIds = ids.computeIfAbsent(entity, key -> new HashSet<>());
+        entityIds.add(id);
+        if (entityIds.size() > MAX_IDS) {
+            addAll(entity);
+        }
+    }
+
+    void add(SupplyEntity entity, Collection<Long> entityIds) {
+        entityIds.forEach(id -> add(entity, id));
+    }
+
+    void addAll(SupplyEntity entity) {
+        touch();
+        all.add(entity);
+        ids.remove(entity);
+    }
+
+    boolean isEmpty() {
+        return ids.isEmpty() && all.isEmpty();
+    }
+
+    /**
+     * Nanotime of the first change since the last drain
+     */
+    long startedAt() {
+        return startedAt;
+    }
+
+    SupplyChanges drain() {
+        SupplyChanges changes = new SupplyChanges(ids, all);
+        ids = new EnumMap<>(SupplyEntity.class);
+        all = EnumSet.noneOf(SupplyEntity.class);
+        return changes;
+    }
+
+    private void touch() {
+        if (isEmpty()) {
+            startedAt = System.nanoTime();
+        }
+    }
+}
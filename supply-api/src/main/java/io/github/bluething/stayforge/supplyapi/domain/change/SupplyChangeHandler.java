@@ -0,0 +1,9 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+/**
+ * Evicts or patches local state when supply data changes on any node, this one included.
+ * Called on the listener thread, so implementations must be idempotent and quick.
+ */
+public interface SupplyChangeHandler {
+    void onChanges(SupplyChanges changes);
+}
@@ -0,0 +1,234 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Listens on {@link SupplyChangePublisher#CHANNEL} and hands debounced batches of changes
+ * to every {@link SupplyChangeHandler}.
+ * <p>
+ * The listener holds its own connection outside the pool, so it never counts against the
+ * pool size or trips leak detection. Notifications are collected until none arrived for
+ * the debounce period, or until the oldest one is max-delay old under a steady stream.
+ * <p>
+ * Notifications sent while disconnected are lost, so after a reconnect the rows updated
+ * since the last heartbeat, less a margin for transactions that were still open, are
+ * reported as changes. Hard deletes are not seen by the catch-up.
+ */
+@Component
+@Slf4j
+public class SupplyChangeListener {
+    private static final Duration HEARTBEAT = Duration.ofSeconds(30);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private static final List<CatchUp> CATCH_UPS = List.of(
+            new CatchUp(SupplyEntity.AREA, "SELECT id FROM area WHERE updated_at >= ?"),
+            new CatchUp(SupplyEntity.HOTEL, "SELECT id FROM hotel WHERE updated_at >= ?"),
+            new CatchUp(SupplyEntity.ROOM_TYPE, "SELECT id FROM room_type WHERE updated_at >= ?"),
+            new CatchUp(SupplyEntity.PLAN, "SELECT id FROM plan WHERE updated_at >= ?"),
+            // Past dates are never read again, the range keeps the scan to current partitions
+            new CatchUp(SupplyEntity.INVENTORY, "SELECT DISTINCT room_type_id FROM room_type_inventory "
+                    + "WHERE dt >= CURRENT_DATE AND updated_at >= ?"),
+            new CatchUp(SupplyEntity.RATE, "SELECT DISTINCT plan_id FROM rate_nightly "
+                    + "WHERE dt >= CURRENT_DATE AND updated_at >= ?"),
+            new CatchUp(SupplyEntity.RATE, "SELECT DISTINCT plan_id FROM rate_los "
+                    + "WHERE checkin_dt >= CURRENT_DATE AND updated_at >= ?"),
+            new CatchUp(SupplyEntity.RESTRICTION, "SELECT DISTINCT plan_id FROM plan_restriction "
+                    + "WHERE dt >= CURRENT_DATE AND updated_at >= ?")
+    );
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final List<SupplyChangeHandler> handlers;
+    private final boolean enabled;
+    private final Duration debounce;
+    private final Duration maxDelay;
+    private final Duration catchUpMargin;
+    private final SupplyChangeBatch batch = new SupplyChangeBatch();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public SupplyChangeListener(JdbcConnectionDetails connectionDetails,
+                                List<SupplyChangeHandler> handlers,
+                                @Value("${supply.changes.enabled:true}") boolean enabled,
+                                @Value("${supply.changes.debounce:PT0.2S}") Duration debounce,
+                                @Value("${supply.changes.max-delay:PT1S}") Duration maxDelay,
+                                @Value("${supply.changes.catch-up-margin:PT1M}") Duration catchUpMargin) {
+        this.connectionDetails = connectionDetails;
+        this.handlers = handlers;
+        this.enabled = enabled;
+        this.debounce = debounce;
+        this.maxDelay = maxDelay;
+        this.catchUpMargin = catchUpMargin;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofVirtual()
+                .name("supply-change-listener")
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeQuietly(connection);
+        thread.join(RETRY_DELAY.toMillis());
+    }
+
+    /**
+     * Whether the listener is currently subscribed, changes made meanwhile are delivered
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        OffsetDateTime lastHeartbeat = null;
+        while (running) {
+            try (Connection conn = connect()) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + SupplyChangePublisher.CHANNEL);
+                }
+                this.listening = true;
+                OffsetDateTime connectedAt = databaseNow(conn);
+                if (lastHeartbeat != null) {
+                    catchUp(conn, lastHeartbeat.minus(catchUpMargin));
+                    log.info("Supply change listener reconnected, caught up from {}", lastHeartbeat);
+                }
+                lastHeartbeat = connectedAt;
+                long heartbeatAt = System.nanoTime();
+
+                PGConnection notifications = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications((int) debounce.toMillis());
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            if (!batch.add(notification.getParameter())) {
+                                log.debug("Ignoring supply change payload '{}'", notification.getParameter());
+                            }
+                        }
+                    }
+
+                    boolean quiet = received == null || received.length == 0;
+                    if (!batch.isEmpty() && (quiet || System.nanoTime() - batch.startedAt() >= maxDelay.toNanos())) {
+                        flush();
+                    }
+                    if (System.nanoTime() - heartbeatAt >= HEARTBEAT.toNanos()) {
+                        lastHeartbeat = databaseNow(conn);
+                        heartbeatAt = System.nanoTime();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Supply change listener lost its connection, retrying in {}", RETRY_DELAY, e);
+                    sleep(RETRY_DELAY);
+                }
+            } finally {
+                this.listening = false;
+                connection = null;
+            }
+        }
+    }
+
+    private void flush() {
+        SupplyChanges changes = batch.drain();
+        for (SupplyChangeHandler handler : handlers) {
+            try {
+                handler.onChanges(changes);
+            } catch (RuntimeException e) {
+                log.error("Supply change handler {} failed", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void catchUp(Connection conn, OffsetDateTime since) throws SQLException {
+        for (CatchUp catchUp : CATCH_UPS) {
+            try (PreparedStatement statement = conn.prepareStatement(catchUp.sql() + " LIMIT ?")) {
+                statement.setObject(1, since);
+                statement.setInt(2, SupplyChangeBatch.MAX_IDS + 1);
+                List<Long> ids = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        ids.add(rows.getLong(1));
+                    }
+                }
+                if (ids.size() > SupplyChangeBatch.MAX_IDS) {
+                    batch.addAll(catchUp.entity());
+                } else {
+                    batch.add(catchUp.entity(), ids);
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", connectionDetails.getUsername());
+        if (connectionDetails.getPassword() != null) {
+            properties.setProperty("password", connectionDetails.getPassword());
+        }
+        properties.setProperty("ApplicationName", "supply-api change listener");
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(connectionDetails.getJdbcUrl(), properties);
+    }
+
+    private static OffsetDateTime databaseNow(Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT clock_timestamp()")) {
+            rows.next();
+            return rows.getObject(1, OffsetDateTime.class);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            log.debug("Closing the listener connection failed", e);
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record CatchUp(SupplyEntity entity, String sql) {
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Publishes changes that are not covered by the catalog triggers, mostly ARI writes.
+ * <p>
+ * NOTIFY is transactional: called inside a transaction, the payloads are delivered on
+ * commit and dropped on rollback. IDs are packed into as few payloads as fit the 8000 byte
+ * limit, and past {@link #MAX_LISTED_IDS} the entity is announced as changed as a whole.
+ */
+@Component
+@RequiredArgsConstructor
+public class SupplyChangePublisher {
+    public static final String CHANNEL = "supply_changes";
+
+    static final int MAX_LISTED_IDS = 2_000;
+    private static final int MAX_PAYLOAD_LENGTH = 7_900;
+
+    private final DSLContext dsl;
+
+    public void publish(SupplyEntity entity, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (ids.size() > MAX_LISTED_IDS) {
+            publishAll(entity);
+            return;
+        }
+
+        String prefix = entity.payloadName() + ":";
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long id : ids) {
+            String value = Long.toString(id);
+            if (payload.length() + value.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                notify(payload);
+                payload.setLength(0);
+                payload.append(prefix);
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(value);
+        }
+        notify(payload);
+    }
+
+    public void publishAll(SupplyEntity entity) {
+        notify(entity.payloadName() + ":*");
+    }
+
+    private void notify(CharSequence payload) {
+        dsl.fetch("SELECT pg_notify(?, ?)", CHANNEL, payload.toString());
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A debounced batch of changes. An entity in {@code all} changed too widely to list its
+ * IDs, handlers should refresh everything they hold for it.
+ */
+public record SupplyChanges(Map<SupplyEntity, Set<Long>> ids, Set<SupplyEntity> all) {
+
+    public Set<Long> ids(SupplyEntity entity) {
+        return ids.getOrDefault(entity, Set.of());
+    }
+
+    public boolean all(SupplyEntity entity) {
+        return all.contains(entity);
+    }
+
+    public boolean affects(SupplyEntity entity) {
+        return all.contains(entity) || ids.containsKey(entity);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import java.util.Optional;
+
+/**
+ * What a change notification is about. ARI entities carry the room type (inventory) or
+ * plan (rates, restrictions) whose dates changed. System config is always announced whole.
+ */
+public enum SupplyEntity {
+    AREA("area"),
+    HOTEL("hotel"),
+    ROOM_TYPE("room_type"),
+    PLAN("plan"),
+    INVENTORY("inventory"),
+    RATE("rate"),
+    RESTRICTION("restriction"),
+    SYSTEM_CONFIG("system_config");
+
+    private final String payloadName;
+
+    SupplyEntity(String payloadName) {
+        this.payloadName = payloadName;
+    }
+
+    public String payloadName() {
+        return payloadName;
+    }
+
+    static Optional<SupplyEntity> fromPayloadName(String name) {
+        for (SupplyEntity entity : values()) {
+            if (entity.payloadName.equals(name)) {
+                return Optional.of(entity);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.bluething.stayforge.supplyapi.domain.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Streams the supply catalog as NDJSON, one object per line with a "type" discriminator.
+ * <p>
+ * Rows are read through a server-side cursor: inside a transaction the Postgres driver
+ * fetches defaultRowFetchSize rows at a time, and each row is written straight to the
+ * output, so memory stays constant whatever the catalog size.
+ */
+@Service
+public class CatalogExportService {
+    private static final Field<Double> LONGITUDE = DSL.field("{0}[0]", Double.class, Tables.HOTEL.LOCATION).as("longitude");
+    private static final Field<Double> LATITUDE = DSL.field("{0}[1]", Double.class, Tables.HOTEL.LOCATION).as("latitude");
+    private static final int FLUSH_EVERY = 1_000;
+
+    private final DSLContext dsl;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CatalogExportService(DSLContext dsl, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.dsl = dsl;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write every non-deleted area, then every non-deleted hotel
+     *
+     * @return number of lines written
+     */
+    public long exportCatalog(OutputStream out) {
+        Long written = readOnlyTransaction.execute(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(new SerializedString(""));
+
+                long lines = exportAreas(generator);
+                lines += exportHotels(generator, lines);
+                return lines;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Catalog export failed", e);
+            }
+        });
+        return written != null ? written : 0L;
+    }
+
+    private long exportAreas(JsonGenerator generator) throws IOException {
+        long lines = 0;
+        try (Cursor<Record> areas = dsl.select(
+                        Tables.AREA.ID,
+                        Tables.AREA.NAME,
+                        Tables.AREA.SLUG,
+                        Tables.AREA.ACTIVE,
+                        Tables.AREA.UPDATED_AT)
+                .from(Tables.AREA)
+                .where(Tables.AREA.DELETED_AT.isNull())
+                .orderBy(Tables.AREA.ID)
+                .fetchLazy()) {
+
+            for (Record area : areas) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "area");
+                generator.writeNumberField("id", area.get(Tables.AREA.ID));
+                generator.writeStringField("name", area.get(Tables.AREA.NAME));
+                generator.writeStringField("slug", area.get(Tables.AREA.SLUG));
+                generator.writeBooleanField("active", area.get(Tables.AREA.ACTIVE));
+                writeTimestamp(generator, "updatedAt", area.get(Tables.AREA.UPDATED_AT));
+                generator.writeEndObject();
+                endLine(generator, ++lines);
+            }
+        }
+        return lines;
+    }
+
+    private long exportHotels(JsonGenerator generator, long offset) throws IOException {
+        long lines = 0;
+        try (Cursor<Record> hotels = dsl.select(
+                        Tables.HOTEL.ID,
+                        Tables.HOTEL.AREA_ID,
+                        Tables.HOTEL.NAME,
+                        Tables.HOTEL.SLUG,
+                        Tables.HOTEL.CITY,
+                        Tables.HOTEL.COUNTRY_CODE,
+                        Tables.HOTEL.ADDRESS,
+                        Tables.HOTEL.STAR_RATING,
+                        Tables.HOTEL.RANK,
+                        Tables.HOTEL.CURRENCY,
+                        Tables.HOTEL.TIMEZONE,
+                        Tables.HOTEL.ACTIVE,
+                        LONGITUDE,
+                        LATITUDE,
+                        Tables.HOTEL.UPDATED_AT)
+                .from(Tables.HOTEL)
+                .where(Tables.HOTEL.DELETED_AT.isNull())
+                .orderBy(Tables.HOTEL.ID)
+                .fetchLazy()) {
+
+            for (Record hotel : hotels) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "hotel");
+                generator.writeNumberField("id", hotel.get(Tables.HOTEL.ID));
+                generator.writeNumberField("areaId", hotel.get(Tables.HOTEL.AREA_ID));
+                generator.writeStringField("name", hotel.get(Tables.HOTEL.NAME));
+                generator.writeStringField("slug", hotel.get(Tables.HOTEL.SLUG));
+                writeString(generator, "city", hotel.get(Tables.HOTEL.CITY));
+                writeString(generator, "countryCode", hotel.get(Tables.HOTEL.COUNTRY_CODE));
+                writeString(generator, "address", hotel.get(Tables.HOTEL.ADDRESS));
+                writeDecimal(generator, "starRating", hotel.get(Tables.HOTEL.STAR_RATING));
+                writeDecimal(generator, "rank", hotel.get(Tables.HOTEL.RANK));
+                generator.writeStringField("currency", hotel.get(Tables.HOTEL.CURRENCY));
+                generator.writeStringField("timezone", hotel.get(Tables.HOTEL.TIMEZONE));
+                generator.writeBooleanField("active", hotel.get(Tables.HOTEL.ACTIVE));
+                Double latitude = hotel.get(LATITUDE);
+                Double longitude = hotel.get(LONGITUDE);
+                if (latitude != null && longitude != null) {
+                    generator.writeNumberField("latitude", latitude);
+                    generator.writeNumberField("longitude", longitude);
+                }
+                writeTimestamp(generator, "updatedAt", hotel.get(Tables.HOTEL.UPDATED_AT));
+                generator.writeEndObject();
+                endLine(generator, offset + ++lines);
+            }
+        }
+        return lines;
+    }
+
+    private static void endLine(JsonGenerator generator, long lines) throws IOException {
+        generator.writeRaw('\n');
+        if (lines % FLUSH_EVERY == 0) {
+            generator.flush();
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator generator, String name, BigDecimal value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String name, OffsetDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value.toString());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import java.util.Map;
+
+/**
+ * Number of hotels matching a query, and per dimension the number of matching hotels
+ * having each value. Counts of a disjunctive dimension ignore its own selection, so the
+ * alternatives keep their counts once one of them is picked.
+ */
+public record FacetCounts(int total, Map<FacetDimension, Map<String, Integer>> counts) {
+}
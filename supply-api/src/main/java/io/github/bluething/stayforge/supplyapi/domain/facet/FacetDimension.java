@@ -0,0 +1,48 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import java.util.Locale;
+
+/**
+ * Hotel attribute that can be filtered on and counted.
+ * <p>
+ * Values of a disjunctive dimension are alternatives (a hotel has one city), so a filter
+ * matches any of them. Values of a conjunctive dimension are features a hotel can have
+ * together, so a filter requires all of them. Room amenities and plan services belong to a
+ * hotel when any of its active room types offers them.
+ */
+public enum FacetDimension {
+    AREA("area", false),
+    CITY("city", false),
+    STARS("stars", false),
+    AMENITY("amenity", true),
+    ROOM_AMENITY("roomAmenity", true),
+    SERVICE("service", true);
+
+    private final String fieldName;
+    private final boolean conjunctive;
+
+    FacetDimension(String fieldName, boolean conjunctive) {
+        this.fieldName = fieldName;
+        this.conjunctive = conjunctive;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public boolean conjunctive() {
+        return conjunctive;
+    }
+
+    /**
+     * Canonical form of a value, null when blank. Amenity and service codes are matched
+     * without case, cities keep their spelling.
+     */
+    public String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return conjunctive ? trimmed.toLowerCase(Locale.ROOT) : trimmed;
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable compressed bitmaps of the hotels having each facet value.
+ * <p>
+ * Hotel IDs are dense serials, so they are used as bit positions directly and need no
+ * ordinal mapping. Filtering is an AND across dimensions of the OR (or AND, for conjunctive
+ * dimensions) of the selected values, and a facet count is the cardinality of an AND, so
+ * neither touches a hotel row. Updates copy only the bitmaps they change.
+ */
+final class FacetIndex {
+    private static final RoaringBitmap EMPTY_BITMAP = new RoaringBitmap();
+
+    static final FacetIndex EMPTY = build(List.of());
+
+    private final RoaringBitmap hotels;
+    private final Map<FacetDimension, Map<String, RoaringBitmap>> bitmaps;
+
+    private FacetIndex(RoaringBitmap hotels, Map<FacetDimension, Map<String, RoaringBitmap>> bitmaps) {
+        this.hotels = hotels;
+        this.bitmaps = bitmaps;
+    }
+
+    static FacetIndex build(Collection<HotelFacets> facets) {
+        RoaringBitmap hotels = new RoaringBitmap();
+        Map<FacetDimension, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(FacetDimension.class);
+        for (FacetDimension dimension : FacetDimension.values()) {
+            bitmaps.put(dimension, new TreeMap<>());
+        }
+
+        for (HotelFacets hotel : facets) {
+            int position = position(hotel.hotelId());
+            hotels.add(position);
+            hotel.values().forEach((dimension, values) -> values.forEach(value ->
+                    bitmaps.get(dimension).computeIfAbsent(value, v -> new RoaringBitmap()).add(position)));
+        }
+        bitmaps.values().forEach(values -> values.values().forEach(RoaringBitmap::runOptimize));
+        return new FacetIndex(optimized(hotels), freeze(bitmaps));
+    }
+
+    /**
+     * Copy of this index with the given hotels dropped and the given facets (re)inserted
+     */
+    FacetIndex apply(Collection<Long> removals, Collection<HotelFacets> upserts) {
+        RoaringBitmap changed = new RoaringBitmap();
+        removals.forEach(id -> changed.add(position(id)));
+        upserts.forEach(hotel -> changed.add(position(hotel.hotelId())));
+        if (changed.isEmpty()) {
+            return this;
+        }
+
+        RoaringBitmap nextHotels = RoaringBitmap.andNot(hotels, changed);
+        upserts.forEach(hotel -> nextHotels.add(position(hotel.hotelId())));
+
+        Map<FacetDimension, Map<String, RoaringBitmap>> next = new EnumMap<>(FacetDimension.class);
+        for (FacetDimension dimension : FacetDimension.values()) {
+            Map<String, RoaringBitmap> values = new TreeMap<>(bitmaps.get(dimension));
+            Map<String, RoaringBitmap> copied = new HashMap<>();
+
+            values.replaceAll((value, bitmap) -> {
+                if (!RoaringBitmap.intersects(bitmap, changed)) {
+                    return bitmap;
+                }
+                RoaringBitmap copy = RoaringBitmap.andNot(bitmap, changed);
+                copied.put(value, copy);
+                return copy;
+            });
+
+            for (HotelFacets hotel : upserts) {
+                int position = position(hotel.hotelId());
+                for (String value : hotel.values().getOrDefault(dimension, Set.of())) {
+                    RoaringBitmap copy = copied.get(value);
+                    if (copy == null) {
+                        RoaringBitmap existing = values.get(value);
+                        copy = existing != null ? existing.clone() : new RoaringBitmap();
+                        copied.put(value, copy);
+                        values.put(value, copy);
+                    }
+                    copy.add(position);
+                }
+            }
+
+            copied.forEach((value, copy) -> {
+                if (copy.isEmpty()) {
+                    values.remove(value);
+                } else {
+                    copy.runOptimize();
+                }
+            });
+            next.put(dimension, values);
+        }
+        return new FacetIndex(optimized(nextHotels), freeze(next));
+    }
+
+    FacetCounts count(FacetQuery query) {
+        Map<FacetDimension, Set<String>> filters = query.filters();
+        RoaringBitmap matched = select(filters, null);
+
+        Map<FacetDimension, Map<String, Integer>> counts = new EnumMap<>(FacetDimension.class);
+        for (FacetDimension dimension : FacetDimension.values()) {
+            RoaringBitmap base = dimension.conjunctive() || !filters.containsKey(dimension)
+                    ? matched
+                    : select(filters, dimension);
+
+            Map<String, Integer> dimensionCounts = new LinkedHashMap<>();
+            bitmaps.get(dimension).forEach((value, bitmap) -> {
+                int count = RoaringBitmap.andCardinality(base, bitmap);
+                if (count > 0) {
+                    dimensionCounts.put(value, count);
+                }
+            });
+            counts.put(dimension, dimensionCounts);
+        }
+        return new FacetCounts(matched.getCardinality(), counts);
+    }
+
+    int size() {
+        return hotels.getCardinality();
+    }
+
+    /**
+     * Hotels matching every filter except the one on {@code skipped}
+     */
+    private RoaringBitmap select(Map<FacetDimension, Set<String>> filters, FacetDimension skipped) {
+        RoaringBitmap result = hotels;
+        for (Map.Entry<FacetDimension, Set<String>> filter : filters.entrySet()) {
+            FacetDimension dimension = filter.getKey();
+            if (dimension == skipped || filter.getValue().isEmpty()) {
+                continue;
+            }
+            Map<String, RoaringBitmap> values = bitmaps.get(dimension);
+            RoaringBitmap selected = null;
+            for (String value : filter.getValue()) {
+                RoaringBitmap bitmap = values.getOrDefault(value, EMPTY_BITMAP);
+                if (selected == null) {
+                    selected = bitmap;
+                } else {
+                    selected = dimension.conjunctive()
+                            ? RoaringBitmap.and(selected, bitmap)
+                            : RoaringBitmap.or(selected, bitmap);
+                }
+            }
+            result = RoaringBitmap.and(result, selected);
+        }
+        return result;
+    }
+
+    private static int position(long hotelId) {
+        if (hotelId <= 0 || hotelId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Hotel ID out of bitmap range: " + hotelId);
+        }
+        return (int) hotelId;
+    }
+
+    private static RoaringBitmap optimized(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    private static Map<FacetDimension, Map<String, RoaringBitmap>> freeze(
+            Map<FacetDimension, Map<String, RoaringBitmap>> bitmaps) {
+        bitmaps.replaceAll((dimension, values) -> Collections.unmodifiableMap(values));
+        return bitmaps;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selected values per dimension, dimensions without a selection are left out
+ */
+public record FacetQuery(Map<FacetDimension, Set<String>> filters) {
+}
@@ -0,0 +1,284 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangeHandler;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hotel facet filtering and counting served from memory.
+ * <p>
+ * The index is built from the tables when the application is ready. Supply change
+ * notifications about hotels, room types and plans (including their amenities and plan
+ * links) re-read the hotels they touch and swap in a copy of the index that differs only
+ * in the affected bitmaps. A change that cannot be traced back to its hotels, such as a
+ * deleted room type or plan, reloads the index. Changes that arrive during a reload are
+ * replayed on the new index.
+ */
+@Service
+@Slf4j
+public class FacetService implements SupplyChangeHandler {
+    private final DSLContext dsl;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+    private final Object reloadLock = new Object();
+
+    private volatile FacetIndex index;
+    private List<Change> journal;
+
+    public FacetService(DSLContext dsl,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${supply.facets.enabled:true}") boolean enabled) {
+        this.dsl = dsl;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Active hotels matching the query, with the facet counts of that result
+     *
+     * @throws BusinessException when the index has not been loaded yet
+     */
+    public FacetCounts count(FacetQuery query) {
+        FacetIndex current = index;
+        if (current == null) {
+            throw new BusinessException(
+                    ErrorCode.FACETS_UNAVAILABLE,
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Facet index is not loaded yet"
+            );
+        }
+
+        Map<FacetDimension, Set<String>> filters = new EnumMap<>(FacetDimension.class);
+        query.filters().forEach((dimension, values) -> {
+            Set<String> normalized = new LinkedHashSet<>();
+            for (String value : values) {
+                String canonical = dimension.normalize(value);
+                if (canonical != null) {
+                    normalized.add(canonical);
+                }
+            }
+            if (!normalized.isEmpty()) {
+                filters.put(dimension, normalized);
+            }
+        });
+        return current.count(new FacetQuery(filters));
+    }
+
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /**
+     * Rebuild the index from the tables and swap it in
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+
+            FacetIndex fresh;
+            try {
+                fresh = readOnlyTransaction.execute(status -> FacetIndex.build(loadFacets(null)));
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    journal = null;
+                }
+                log.error("Facet index load failed", e);
+                return;
+            }
+
+            synchronized (writeLock) {
+                FacetIndex next = fresh;
+                for (Change change : journal) {
+                    next = next.apply(change.removals(), change.upserts());
+                }
+                journal = null;
+                index = next;
+                log.info("Facet index loaded with {} hotels", fresh.size());
+            }
+        }
+    }
+
+    @Override
+    public void onChanges(SupplyChanges changes) {
+        if (!enabled || !(changes.affects(SupplyEntity.HOTEL)
+                || changes.affects(SupplyEntity.ROOM_TYPE)
+                || changes.affects(SupplyEntity.PLAN))) {
+            return;
+        }
+        if (index == null || changes.all(SupplyEntity.HOTEL)
+                || changes.all(SupplyEntity.ROOM_TYPE) || changes.all(SupplyEntity.PLAN)) {
+            reload();
+            return;
+        }
+
+        Change change = readOnlyTransaction.execute(status -> {
+            Set<Long> hotelIds = new HashSet<>(changes.ids(SupplyEntity.HOTEL));
+            if (!addRoomTypeHotels(changes.ids(SupplyEntity.ROOM_TYPE), hotelIds)
+                    || !addPlanHotels(changes.ids(SupplyEntity.PLAN), hotelIds)) {
+                return null;
+            }
+            return new Change(hotelIds, loadFacets(hotelIds));
+        });
+
+        if (change == null) {
+            reload();
+            return;
+        }
+        synchronized (writeLock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            if (index != null) {
+                index = index.apply(change.removals(), change.upserts());
+            }
+        }
+    }
+
+    /**
+     * Adds the hotels of the room types, false when one of them no longer exists
+     */
+    private boolean addRoomTypeHotels(Set<Long> roomTypeIds, Set<Long> hotelIds) {
+        if (roomTypeIds.isEmpty()) {
+            return true;
+        }
+        List<Long> found = dsl.select(Tables.ROOM_TYPE.HOTEL_ID)
+                .from(Tables.ROOM_TYPE)
+                .where(Tables.ROOM_TYPE.ID.eq(DSL.any(roomTypeIds.toArray(Long[]::new))))
+                .fetch(Tables.ROOM_TYPE.HOTEL_ID);
+        hotelIds.addAll(found);
+        return found.size() == roomTypeIds.size();
+    }
+
+    /**
+     * Adds the hotels selling the plans, false when one of them no longer exists
+     */
+    private boolean addPlanHotels(Set<Long> planIds, Set<Long> hotelIds) {
+        if (planIds.isEmpty()) {
+            return true;
+        }
+        Long[] ids = planIds.toArray(Long[]::new);
+        int existing = dsl.fetchCount(Tables.PLAN, Tables.PLAN.ID.eq(DSL.any(ids)));
+        if (existing != planIds.size()) {
+            return false;
+        }
+        hotelIds.addAll(dsl.selectDistinct(Tables.ROOM_TYPE.HOTEL_ID)
+                .from(Tables.PLAN_ROOM_TYPE)
+                .join(Tables.ROOM_TYPE).on(Tables.ROOM_TYPE.ID.eq(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID))
+                .where(Tables.PLAN_ROOM_TYPE.PLAN_ID.eq(DSL.any(ids)))
+                .fetch(Tables.ROOM_TYPE.HOTEL_ID));
+        return true;
+    }
+
+    /**
+     * Facets of the active hotels among {@code hotelIds}, or of every active hotel when null
+     */
+    private List<HotelFacets> loadFacets(Collection<Long> hotelIds) {
+        Map<Long, Map<FacetDimension, Set<String>>> facets = new HashMap<>();
+
+        dsl.select(Tables.HOTEL.ID, Tables.HOTEL.AREA_ID, Tables.HOTEL.CITY, Tables.HOTEL.STAR_RATING)
+                .from(Tables.HOTEL)
+                .where(byHotel(Tables.HOTEL.ID, hotelIds))
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull())
+                .forEach(record -> {
+                    Map<FacetDimension, Set<String>> values = new EnumMap<>(FacetDimension.class);
+                    facets.put(record.value1(), values);
+                    add(values, FacetDimension.AREA, String.valueOf(record.value2()));
+                    add(values, FacetDimension.CITY, record.value3());
+                    add(values, FacetDimension.STARS, starBucket(record.value4()));
+                });
+
+        dsl.select(Tables.HOTEL_AMENITY.HOTEL_ID, Tables.HOTEL_AMENITY.AMENITY_TYPE)
+                .from(Tables.HOTEL_AMENITY)
+                .where(byHotel(Tables.HOTEL_AMENITY.HOTEL_ID, hotelIds))
+                .forEach(record -> add(facets.get(record.value1()), FacetDimension.AMENITY, record.value2()));
+
+        dsl.select(Tables.ROOM_TYPE.HOTEL_ID, Tables.ROOM_TYPE.AMENITIES)
+                .from(Tables.ROOM_TYPE)
+                .where(byHotel(Tables.ROOM_TYPE.HOTEL_ID, hotelIds))
+                .and(Tables.ROOM_TYPE.ACTIVE.isTrue())
+                .forEach(record -> addAll(facets.get(record.value1()), FacetDimension.ROOM_AMENITY, record.value2()));
+
+        dsl.select(Tables.ROOM_TYPE.HOTEL_ID, Tables.PLAN.INCLUDED_SERVICES)
+                .from(Tables.PLAN)
+                .join(Tables.PLAN_ROOM_TYPE).on(Tables.PLAN_ROOM_TYPE.PLAN_ID.eq(Tables.PLAN.ID))
+                .join(Tables.ROOM_TYPE).on(Tables.ROOM_TYPE.ID.eq(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID))
+                .where(byHotel(Tables.ROOM_TYPE.HOTEL_ID, hotelIds))
+                .and(Tables.PLAN.ACTIVE.isTrue())
+                .and(Tables.ROOM_TYPE.ACTIVE.isTrue())
+                .forEach(record -> addAll(facets.get(record.value1()), FacetDimension.SERVICE, record.value2()));
+
+        List<HotelFacets> result = new ArrayList<>(facets.size());
+        facets.forEach((hotelId, values) -> result.add(new HotelFacets(hotelId, values)));
+        return result;
+    }
+
+    private static Condition byHotel(Field<Long> hotelId, Collection<Long> hotelIds) {
+        return hotelIds == null ? DSL.trueCondition() : hotelId.eq(DSL.any(hotelIds.toArray(Long[]::new)));
+    }
+
+    /**
+     * Whole stars, so 4.5 counts as 4
+     */
+    private static String starBucket(BigDecimal starRating) {
+        return starRating != null ? String.valueOf(starRating.intValue()) : null;
+    }
+
+    private static void addAll(Map<FacetDimension, Set<String>> values, FacetDimension dimension, String[] items) {
+        if (items != null) {
+            for (String item : items) {
+                add(values, dimension, item);
+            }
+        }
+    }
+
+    /**
+     * Skips values of hotels that are not loaded, which are inactive or deleted
+     */
+    private static void add(Map<FacetDimension, Set<String>> values, FacetDimension dimension, String value) {
+        String canonical = dimension.normalize(value);
+        if (values != null && canonical != null) {
+            values.computeIfAbsent(dimension, d -> new HashSet<>()).add(canonical);
+        }
+    }
+
+    private record Change(Collection<Long> removals, Collection<HotelFacets> upserts) {
+    }
+}
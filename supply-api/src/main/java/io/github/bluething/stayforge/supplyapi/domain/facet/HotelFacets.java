@@ -0,0 +1,10 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Facet values of one active hotel
+ */
+record HotelFacets(long hotelId, Map<FacetDimension, Set<String>> values) {
+}
@@ -0,0 +1,12 @@
+package io.github.bluething.stayforge.supplyapi.domain.hotel;
+
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
+
+/**
+ * Hotels of one area by rank, highest first. The total is only counted when asked.
+ */
+public record AreaHotelQuery(Long areaId,
+                             String cursor,
+                             Integer limit,
+                             CountMode countMode) {
+}
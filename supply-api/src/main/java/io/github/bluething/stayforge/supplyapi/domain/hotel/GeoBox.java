@@ -0,0 +1,36 @@
+package io.github.bluething.stayforge.supplyapi.domain.hotel;
+
+/**
+ * Latitude/longitude rectangle, corners in degrees
+ */
+public record GeoBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    /**
+     * Smallest box containing the circle of the given radius, clamped at the poles.
+     * Circles crossing the antimeridian are clamped as well rather than split in two.
+     */
+    public static GeoBox around(double latitude, double longitude, double radiusKm) {
+        double deltaLatitude = radiusKm / KM_PER_DEGREE;
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        double deltaLongitude = cosLatitude > 1e-9
+                ? Math.min(180.0, radiusKm / (KM_PER_DEGREE * cosLatitude))
+                : 180.0;
+
+        return new GeoBox(
+                Math.max(-90.0, latitude - deltaLatitude),
+                Math.max(-180.0, longitude - deltaLongitude),
+                Math.min(90.0, latitude + deltaLatitude),
+                Math.min(180.0, longitude + deltaLongitude)
+        );
+    }
+
+    public double centerLatitude() {
+        return (minLatitude + maxLatitude) / 2.0;
+    }
+
+    public double centerLongitude() {
+        return (minLongitude + maxLongitude) / 2.0;
+    }
+}
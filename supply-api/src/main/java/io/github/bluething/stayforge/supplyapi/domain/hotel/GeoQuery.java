@@ -0,0 +1,13 @@
+package io.github.bluething.stayforge.supplyapi.domain.hotel;
+
+/**
+ * Nearby hotel search, either a center with a radius or a bounding box.
+ * With a bounding box the center is optional and defaults to the middle of the box.
+ */
+public record GeoQuery(Double latitude,
+                       Double longitude,
+                       Double radiusKm,
+                       GeoBox box,
+                       String cursor,
+                       Integer limit) {
+}
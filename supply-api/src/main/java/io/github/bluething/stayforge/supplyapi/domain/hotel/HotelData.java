@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.domain.hotel;
+
+import java.math.BigDecimal;
+
+public record HotelData(Long id,
+                        Long areaId,
+                        String name,
+                        String slug,
+                        String city,
+                        String countryCode,
+                        BigDecimal starRating,
+                        BigDecimal rank,
+                        String currency,
+                        Double latitude,
+                        Double longitude) {
+}
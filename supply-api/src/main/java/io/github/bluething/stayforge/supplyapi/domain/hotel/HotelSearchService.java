@@ -0,0 +1,298 @@
+package io.github.bluething.stayforge.supplyapi.domain.hotel;
+
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
+import io.github.bluething.stayforge.supplyapi.domain.PagedResult;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.util.CursorData;
+import io.github.bluething.stayforge.supplyapi.util.CursorPaginationUtils;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class HotelSearchService {
+    public static final double MAX_RADIUS_KM = 200.0;
+
+    private static final String DISTANCE_KM = "distance_km";
+    private static final Field<Double> LONGITUDE = DSL.field("{0}[0]", SQLDataType.DOUBLE, Tables.HOTEL.LOCATION);
+    private static final Field<Double> LATITUDE = DSL.field("{0}[1]", SQLDataType.DOUBLE, Tables.HOTEL.LOCATION);
+
+    private final DSLContext dsl;
+    private final CursorPaginationUtils paginationUtils;
+
+    /**
+     * Nearest active hotels within a radius or a bounding box.
+     * <p>
+     * The box filter is answered by the GiST index (idx_hotel_location). Rows in the box are
+     * ordered by great-circle distance, the same distance they are returned with, and that
+     * distance is the keyset, so pages never disagree with the distances shown. Planar
+     * {@code <->} ordering would be an index-ordered scan but drifts from great-circle order
+     * away from the equator.
+     */
+    public PagedResult<NearbyHotel> searchNearby(GeoQuery query) {
+        GeoBox box = resolveBox(query);
+        if (box == null) {
+            // The radius and the box do not overlap, nothing can match
+            return new PagedResult<>(List.of(), query.cursor(), resolveLimit(query.limit()), null, false, null);
+        }
+        double centerLatitude = query.latitude() != null ? query.latitude() : box.centerLatitude();
+        double centerLongitude = query.longitude() != null ? query.longitude() : box.centerLongitude();
+
+        Field<Double> distanceKm = haversineKm(centerLatitude, centerLongitude);
+
+        Condition filter = Tables.HOTEL.ACTIVE.isTrue()
+                .and(Tables.HOTEL.DELETED_AT.isNull())
+                .and(DSL.condition("{0} <@ box(point({1}, {2}), point({3}, {4}))",
+                        Tables.HOTEL.LOCATION,
+                        DSL.val(box.minLongitude()), DSL.val(box.minLatitude()),
+                        DSL.val(box.maxLongitude()), DSL.val(box.maxLatitude())));
+        if (query.radiusKm() != null) {
+            filter = filter.and(distanceKm.le(query.radiusKm()));
+        }
+
+        // Cursor keys: distance, id
+        String scope = "hotels:distance:" + centerLatitude + "," + centerLongitude + ":" + query.radiusKm()
+                + ":" + box.minLatitude() + "," + box.minLongitude() + "," + box.maxLatitude() + "," + box.maxLongitude();
+        Optional<CursorData> cursorData = paginationUtils.decodeCursor(query.cursor(), scope);
+        Condition pageCondition = filter;
+        if (cursorData.isPresent()) {
+            Double lastDistance = cursorData.get().getDouble(0);
+            pageCondition = filter.and(distanceKm.gt(lastDistance)
+                    .or(distanceKm.eq(lastDistance).and(Tables.HOTEL.ID.gt(cursorData.get().getLong(1)))));
+        }
+
+        int limit = resolveLimit(query.limit());
+        Result<Record> records = dsl.select(
+                        Tables.HOTEL.ID,
+                        Tables.HOTEL.AREA_ID,
+                        Tables.HOTEL.NAME,
+                        Tables.HOTEL.SLUG,
+                        Tables.HOTEL.CITY,
+                        Tables.HOTEL.COUNTRY_CODE,
+                        Tables.HOTEL.STAR_RATING,
+                        Tables.HOTEL.RANK,
+                        Tables.HOTEL.CURRENCY,
+                        LATITUDE,
+                        LONGITUDE,
+                        distanceKm.as(DISTANCE_KM))
+                .from(Tables.HOTEL)
+                .where(pageCondition)
+                .orderBy(distanceKm.asc(), Tables.HOTEL.ID.asc())
+                .limit(limit + 1)
+                .fetch();
+
+        boolean hasNext = records.size() > limit;
+        List<Record> page = records.subList(0, Math.min(limit, records.size()));
+        List<NearbyHotel> hotels = page.stream()
+                .map(this::mapToNearbyHotel)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext && !page.isEmpty()) {
+            Record last = page.get(page.size() - 1);
+            nextCursor = paginationUtils.encodeCursor(scope, last.get(DISTANCE_KM, Double.class), last.get(Tables.HOTEL.ID));
+        }
+
+        return new PagedResult<>(
+                hotels,
+                query.cursor(),
+                limit,
+                null,
+                hasNext,
+                nextCursor
+        );
+    }
+
+    /**
+     * Active hotels of an area ordered by {@code rank DESC, id}.
+     * <p>
+     * The keyset matches idx_hotel_area_rank, so any page, however deep, reads only limit + 1
+     * index entries. The total is skipped unless asked for, and counted on the first page only.
+     */
+    public PagedResult<HotelData> listAreaHotels(AreaHotelQuery query) {
+        Condition filter = Tables.HOTEL.AREA_ID.eq(query.areaId())
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull());
+
+        // Cursor keys: rank, id, total. The rank bound alone is the index range, the id breaks ties
+        String scope = "area-hotels:rank:" + query.areaId();
+        Optional<CursorData> cursorData = paginationUtils.decodeCursor(query.cursor(), scope);
+        Condition pageCondition = filter;
+        if (cursorData.isPresent()) {
+            BigDecimal lastRank = cursorData.get().getDecimal(0);
+            pageCondition = filter.and(Tables.HOTEL.RANK.le(lastRank))
+                    .and(Tables.HOTEL.RANK.lt(lastRank).or(Tables.HOTEL.ID.gt(cursorData.get().getLong(1))));
+        }
+
+        int limit = resolveLimit(query.limit());
+        Result<Record> records = dsl.select(
+                        Tables.HOTEL.ID,
+                        Tables.HOTEL.AREA_ID,
+                        Tables.HOTEL.NAME,
+                        Tables.HOTEL.SLUG,
+                        Tables.HOTEL.CITY,
+                        Tables.HOTEL.COUNTRY_CODE,
+                        Tables.HOTEL.STAR_RATING,
+                        Tables.HOTEL.RANK,
+                        Tables.HOTEL.CURRENCY,
+                        LATITUDE,
+                        LONGITUDE)
+                .from(Tables.HOTEL)
+                .where(pageCondition)
+                .orderBy(Tables.HOTEL.RANK.desc(), Tables.HOTEL.ID.asc())
+                .limit(limit + 1)
+                .fetch();
+
+        // An empty first page is the only case that needs to tell a missing area from an empty one
+        if (records.isEmpty() && cursorData.isEmpty() && !areaExists(query.areaId())) {
+            throw new BusinessException(
+                    ErrorCode.AREA_NOT_FOUND,
+                    HttpStatus.NOT_FOUND,
+                    "Area with ID " + query.areaId() + " not found"
+            );
+        }
+
+        Long total = cursorData.isPresent()
+                ? cursorData.get().getLong(2)
+                : countHotels(filter, query.countMode() != null ? query.countMode() : CountMode.NONE);
+
+        boolean hasNext = records.size() > limit;
+        List<HotelData> hotels = records.stream()
+                .limit(limit)
+                .map(HotelSearchService::mapToHotelData)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext && !hotels.isEmpty()) {
+            HotelData last = hotels.get(hotels.size() - 1);
+            nextCursor = paginationUtils.encodeCursor(scope, last.rank(), last.id(), total);
+        }
+
+        return new PagedResult<>(
+                hotels,
+                query.cursor(),
+                limit,
+                total,
+                hasNext,
+                nextCursor
+        );
+    }
+
+    private boolean areaExists(Long areaId) {
+        return dsl.fetchExists(Tables.AREA, Tables.AREA.ID.eq(areaId).and(Tables.AREA.DELETED_AT.isNull()));
+    }
+
+    private Long countHotels(Condition filter, CountMode countMode) {
+        return switch (countMode) {
+            case NONE -> null;
+            case EXACT -> (long) dsl.fetchCount(Tables.HOTEL, filter);
+            case ESTIMATED -> {
+                // Planner estimate, no rows are scanned
+                double estimate = dsl.explain(dsl.selectOne().from(Tables.HOTEL).where(filter)).rows();
+                yield Math.max(0L, Math.round(estimate));
+            }
+        };
+    }
+
+    /**
+     * Box to search, or null when a radius and a bounding box are both given and do not overlap
+     */
+    private static GeoBox resolveBox(GeoQuery query) {
+        if (query.box() != null) {
+            validateBox(query.box());
+        }
+        boolean hasCenter = query.latitude() != null && query.longitude() != null;
+        if (query.radiusKm() != null) {
+            if (!hasCenter) {
+                throw invalidGeoQuery("A radius search needs both latitude and longitude");
+            }
+            if (query.radiusKm() <= 0 || query.radiusKm() > MAX_RADIUS_KM) {
+                throw invalidGeoQuery("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+            }
+            GeoBox around = GeoBox.around(query.latitude(), query.longitude(), query.radiusKm());
+            return query.box() != null ? intersect(around, query.box()) : around;
+        }
+
+        if (query.box() == null) {
+            throw invalidGeoQuery("Either latitude, longitude and radiusKm or a bounding box is required");
+        }
+        return query.box();
+    }
+
+    private static void validateBox(GeoBox box) {
+        if (box.minLatitude() > box.maxLatitude() || box.minLongitude() > box.maxLongitude()) {
+            throw invalidGeoQuery("Bounding box minimum corner must be south-west of the maximum corner");
+        }
+    }
+
+    /**
+     * Overlap of two valid boxes, null when they are disjoint
+     */
+    private static GeoBox intersect(GeoBox a, GeoBox b) {
+        GeoBox overlap = new GeoBox(
+                Math.max(a.minLatitude(), b.minLatitude()),
+                Math.max(a.minLongitude(), b.minLongitude()),
+                Math.min(a.maxLatitude(), b.maxLatitude()),
+                Math.min(a.maxLongitude(), b.maxLongitude())
+        );
+        if (overlap.minLatitude() > overlap.maxLatitude() || overlap.minLongitude() > overlap.maxLongitude()) {
+            return null;
+        }
+        return overlap;
+    }
+
+    private static Field<Double> haversineKm(double latitude, double longitude) {
+        return DSL.field("2 * {0} * asin(sqrt(power(sin(radians({1} - {2}) / 2), 2) "
+                        + "+ cos(radians({2})) * cos(radians({1})) * power(sin(radians({3} - {4}) / 2), 2)))",
+                SQLDataType.DOUBLE,
+                DSL.inline(GeoBox.EARTH_RADIUS_KM), LATITUDE, DSL.val(latitude), LONGITUDE, DSL.val(longitude));
+    }
+
+    private static int resolveLimit(Integer limit) {
+        return limit != null ? Math.min(Math.max(limit, 1), 100) : 20;
+    }
+
+    private static BusinessException invalidGeoQuery(String message) {
+        return new BusinessException(
+                ErrorCode.VALIDATION_ERROR,
+                HttpStatus.BAD_REQUEST,
+                message
+        );
+    }
+
+    private NearbyHotel mapToNearbyHotel(Record record) {
+        return new NearbyHotel(mapToHotelData(record), record.get(DISTANCE_KM, Double.class));
+    }
+
+    private static HotelData mapToHotelData(Record record) {
+        return new HotelData(
+                record.get(Tables.HOTEL.ID),
+                record.get(Tables.HOTEL.AREA_ID),
+                record.get(Tables.HOTEL.NAME),
+                record.get(Tables.HOTEL.SLUG),
+                record.get(Tables.HOTEL.CITY),
+                record.get(Tables.HOTEL.COUNTRY_CODE),
+                record.get(Tables.HOTEL.STAR_RATING),
+                record.get(Tables.HOTEL.RANK),
+                record.get(Tables.HOTEL.CURRENCY),
+                record.get(LATITUDE),
+                record.get(LONGITUDE)
+        );
+    }
+}
@@ -0,0 +1,4 @@
+package io.github.bluething.stayforge.supplyapi.domain.hotel;
+
+public record NearbyHotel(HotelData hotel, double distanceKm) {
+}
@@ -0,0 +1,225 @@
+package io.github.bluething.stayforge.supplyapi.domain.inventory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Allotment and stop-sell per room type and day over a fixed date window, stored off-heap.
+ * <p>
+ * Each room type owns a slot: {@code days} ints of allotment followed by a stop-sell bitset,
+ * one bit per day. Slots live in direct buffers of {@link #SEGMENT_SLOTS} slots each, so a
+ * new room type never moves existing data. A day without an inventory row holds
+ * {@link #NO_ROW} and is not sellable, as in the table.
+ * <p>
+ * Cells are read and written through VarHandles with acquire/release semantics; slot
+ * creation is serialized, reads never lock.
+ */
+final class InventoryGrid {
+    static final int NO_ROW = -1;
+    static final int SEGMENT_SHIFT = 10;
+    static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+
+    private static final int SEGMENT_MASK = SEGMENT_SLOTS - 1;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final long firstEpochDay;
+    private final int days;
+    private final int stopSellOffset;
+    private final int stride;
+    private final LongIntHashMap slots;
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    private int slotCount;
+
+    InventoryGrid(LocalDate firstDay, int days, int expectedRoomTypes) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Grid needs at least one day");
+        }
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.days = days;
+        this.stopSellOffset = align8(days * Integer.BYTES);
+        this.stride = stopSellOffset + ((days + 63) >>> 6) * Long.BYTES;
+        this.slots = new LongIntHashMap(expectedRoomTypes);
+    }
+
+    LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    /**
+     * First day after the window
+     */
+    LocalDate endDay() {
+        return LocalDate.ofEpochDay(firstEpochDay + days);
+    }
+
+    boolean covers(LocalDate from, LocalDate toExclusive) {
+        return from.toEpochDay() >= firstEpochDay && toExclusive.toEpochDay() <= firstEpochDay + days;
+    }
+
+    int roomTypeCount() {
+        return slots.size();
+    }
+
+    long offHeapBytes() {
+        return (long) segments.length * SEGMENT_SLOTS * stride;
+    }
+
+    /**
+     * Lowest allotment over the nights from checkIn up to checkOut, or {@link #NO_ROW} when a
+     * night has no row or is stop-sold. Dates must be inside the window.
+     */
+    int minAllotment(long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        int slot = slots.get(roomTypeId);
+        if (slot == LongIntHashMap.MISSING) {
+            return NO_ROW;
+        }
+
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int base = (slot & SEGMENT_MASK) * stride;
+        int from = dayIndex(checkIn, days);
+        int to = dayIndex(checkOut, days + 1);
+
+        if (anyStopSell(segment, base + stopSellOffset, from, to)) {
+            return NO_ROW;
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int day = from, offset = base + from * Integer.BYTES; day < to; day++, offset += Integer.BYTES) {
+            int allotment = (int) INT.getAcquire(segment, offset);
+            if (allotment < 0) {
+                return NO_ROW;
+            }
+            min = Math.min(min, allotment);
+        }
+        return from < to ? min : NO_ROW;
+    }
+
+    int allotment(long roomTypeId, LocalDate day) {
+        int slot = slots.get(roomTypeId);
+        if (slot == LongIntHashMap.MISSING) {
+            return NO_ROW;
+        }
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        return (int) INT.getAcquire(segment, (slot & SEGMENT_MASK) * stride + dayIndex(day) * Integer.BYTES);
+    }
+
+    boolean stopSell(long roomTypeId, LocalDate day) {
+        int slot = slots.get(roomTypeId);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int index = dayIndex(day);
+        long word = (long) LONG.getAcquire(segment, (slot & SEGMENT_MASK) * stride + stopSellOffset + (index >>> 6) * Long.BYTES);
+        return (word & (1L << index)) != 0;
+    }
+
+    /**
+     * Store the row of one room type and day, creating the room type's slot when needed
+     */
+    void set(long roomTypeId, LocalDate day, int allotment, boolean stopSell) {
+        int slot = slotFor(roomTypeId);
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        int base = (slot & SEGMENT_MASK) * stride;
+        int index = dayIndex(day);
+
+        int wordOffset = base + stopSellOffset + (index >>> 6) * Long.BYTES;
+        long bit = 1L << index;
+        if (stopSell) {
+            LONG.getAndBitwiseOrRelease(segment, wordOffset, bit);
+        } else {
+            LONG.getAndBitwiseAndRelease(segment, wordOffset, ~bit);
+        }
+        INT.setRelease(segment, base + index * Integer.BYTES, Math.max(allotment, 0));
+    }
+
+    /**
+     * Store the allotment of an existing row, leaving stop-sell as it is
+     */
+    void setAllotment(long roomTypeId, LocalDate day, int allotment) {
+        int slot = slotFor(roomTypeId);
+        ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+        INT.setRelease(segment, (slot & SEGMENT_MASK) * stride + dayIndex(day) * Integer.BYTES, Math.max(allotment, 0));
+    }
+
+    private boolean anyStopSell(ByteBuffer segment, int bitsetOffset, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if (w == firstWord) {
+                mask &= -1L << from;
+            }
+            if (w == lastWord) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            long word = (long) LONG.getAcquire(segment, bitsetOffset + w * Long.BYTES);
+            if ((word & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slotFor(long roomTypeId) {
+        int slot = slots.get(roomTypeId);
+        if (slot != LongIntHashMap.MISSING) {
+            return slot;
+        }
+
+        synchronized (this) {
+            slot = slots.get(roomTypeId);
+            if (slot != LongIntHashMap.MISSING) {
+                return slot;
+            }
+
+            slot = slotCount;
+            int segmentIndex = slot >>> SEGMENT_SHIFT;
+            if (segmentIndex == segments.length) {
+                ByteBuffer[] grown = Arrays.copyOf(segments, segmentIndex + 1);
+                grown[segmentIndex] = newSegment();
+                segments = grown;
+            }
+            slotCount++;
+            slots.put(roomTypeId, slot);
+            return slot;
+        }
+    }
+
+    private ByteBuffer newSegment() {
+        ByteBuffer segment = ByteBuffer.allocateDirect(SEGMENT_SLOTS * stride + Long.BYTES)
+                .alignedSlice(Long.BYTES)
+                .order(ByteOrder.nativeOrder());
+        for (int slot = 0; slot < SEGMENT_SLOTS; slot++) {
+            int base = slot * stride;
+            for (int day = 0; day < days; day++) {
+                segment.putInt(base + day * Integer.BYTES, NO_ROW);
+            }
+        }
+        return segment;
+    }
+
+    private int dayIndex(LocalDate day) {
+        return dayIndex(day, days);
+    }
+
+    private int dayIndex(LocalDate day, int limit) {
+        long index = day.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Date " + day + " is outside the inventory grid window");
+        }
+        return (int) index;
+    }
+
+    private static int align8(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
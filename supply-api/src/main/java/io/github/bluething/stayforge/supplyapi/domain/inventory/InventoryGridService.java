@@ -0,0 +1,235 @@
+package io.github.bluething.stayforge.supplyapi.domain.inventory;
+
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangeHandler;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.domain.systemconfig.SystemConfigService;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record4;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory copy of room_type_inventory for availability checks.
+ * <p>
+ * The grid covers a window from a few days in the past to past inventory.max_advance_days.
+ * It is loaded when the application is ready and rebuilt daily to move the window.
+ * Code that writes inventory reports each committed row through {@link #update} or
+ * {@link #updateAllotment}. Writes that arrive during a rebuild are replayed on the new grid.
+ * Until the first load completes, and for dates outside the window, {@link #covers}
+ * is false and callers read the table instead. Inventory written on other nodes is
+ * re-read per room type when its change notification arrives.
+ */
+@Service
+@Slf4j
+public class InventoryGridService implements SupplyChangeHandler {
+    public static final int NOT_SELLABLE = InventoryGrid.NO_ROW;
+
+    private static final int PAST_DAYS = 7;
+    private static final int HEADROOM_DAYS = 62;
+
+    private final DSLContext dsl;
+    private final SystemConfigService systemConfigService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+    private final Object reloadLock = new Object();
+
+    private volatile InventoryGrid grid;
+    private List<InventoryUpdate> journal;
+
+    public InventoryGridService(DSLContext dsl,
+                                SystemConfigService systemConfigService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${supply.inventory-grid.enabled:true}") boolean enabled) {
+        this.dsl = dsl;
+        this.systemConfigService = systemConfigService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(cron = "${supply.inventory-grid.reload-cron:0 15 3 * * *}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuild the grid from the table and swap it in
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+
+            InventoryGrid fresh;
+            try {
+                fresh = load();
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    journal = null;
+                }
+                log.error("Inventory grid load failed, availability keeps reading the table", e);
+                return;
+            }
+
+            synchronized (writeLock) {
+                for (InventoryUpdate update : journal) {
+                    apply(fresh, update);
+                }
+                journal = null;
+                grid = fresh;
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return grid != null;
+    }
+
+    /**
+     * Whether every night of the stay is inside the loaded window
+     */
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        InventoryGrid current = grid;
+        return current != null && checkIn.isBefore(checkOut) && current.covers(checkIn, checkOut);
+    }
+
+    /**
+     * Lowest allotment over the stay, or {@link #NOT_SELLABLE} when a night has no
+     * inventory row or is stop-sold. Only valid when {@link #covers} is true.
+     */
+    public int availableRooms(long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        return grid.minAllotment(roomTypeId, checkIn, checkOut);
+    }
+
+    /**
+     * Record a committed inventory row
+     */
+    public void update(long roomTypeId, LocalDate dt, int allotment, boolean stopSell) {
+        write(new InventoryUpdate(roomTypeId, dt, allotment, stopSell, false));
+    }
+
+    /**
+     * Record the committed allotment of an existing row, stop-sell unchanged
+     */
+    public void updateAllotment(long roomTypeId, LocalDate dt, int allotment) {
+        write(new InventoryUpdate(roomTypeId, dt, allotment, false, true));
+    }
+
+    @Override
+    public void onChanges(SupplyChanges changes) {
+        if (!enabled || grid == null) {
+            return;
+        }
+        if (changes.all(SupplyEntity.INVENTORY)) {
+            reload();
+        } else if (!changes.ids(SupplyEntity.INVENTORY).isEmpty()) {
+            refresh(changes.ids(SupplyEntity.INVENTORY));
+        }
+    }
+
+    /**
+     * Re-read the window's rows of some room types and record them as committed
+     */
+    private void refresh(Set<Long> roomTypeIds) {
+        InventoryGrid current = grid;
+        readOnlyTransaction.executeWithoutResult(status -> dsl.select(
+                        Tables.ROOM_TYPE_INVENTORY.ROOM_TYPE_ID,
+                        Tables.ROOM_TYPE_INVENTORY.DT,
+                        Tables.ROOM_TYPE_INVENTORY.ALLOTMENT,
+                        Tables.ROOM_TYPE_INVENTORY.STOP_SELL)
+                .from(Tables.ROOM_TYPE_INVENTORY)
+                .where(Tables.ROOM_TYPE_INVENTORY.ROOM_TYPE_ID.eq(DSL.any(roomTypeIds.toArray(Long[]::new))))
+                .and(Tables.ROOM_TYPE_INVENTORY.DT.ge(current.firstDay()))
+                .and(Tables.ROOM_TYPE_INVENTORY.DT.lt(current.endDay()))
+                .forEach(row -> update(row.value1(), row.value2(), row.value3(), row.value4())));
+    }
+
+    /**
+     * Writers are serialized, the grid takes one writer at a time and reservations commit
+     * on many threads
+     */
+    private void write(InventoryUpdate update) {
+        synchronized (writeLock) {
+            if (journal != null) {
+                journal.add(update);
+            }
+            InventoryGrid current = grid;
+            if (current != null) {
+                apply(current, update);
+            }
+        }
+    }
+
+    private static void apply(InventoryGrid target, InventoryUpdate update) {
+        if (!target.covers(update.dt(), update.dt().plusDays(1))) {
+            return;
+        }
+        if (update.allotmentOnly()) {
+            target.setAllotment(update.roomTypeId(), update.dt(), update.allotment());
+        } else {
+            target.set(update.roomTypeId(), update.dt(), update.allotment(), update.stopSell());
+        }
+    }
+
+    private InventoryGrid load() {
+        long started = System.nanoTime();
+        InventoryGrid loaded = readOnlyTransaction.execute(status -> {
+            LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(PAST_DAYS);
+            int days = PAST_DAYS + systemConfigService.current().maxAdvanceDays() + HEADROOM_DAYS;
+            int roomTypes = dsl.fetchCount(Tables.ROOM_TYPE);
+            InventoryGrid fresh = new InventoryGrid(firstDay, days, roomTypes);
+
+            // Streamed with the driver fetch size, the range keeps the scan to the window's partitions
+            try (Cursor<Record4<Long, LocalDate, Integer, Boolean>> rows = dsl.select(
+                            Tables.ROOM_TYPE_INVENTORY.ROOM_TYPE_ID,
+                            Tables.ROOM_TYPE_INVENTORY.DT,
+                            Tables.ROOM_TYPE_INVENTORY.ALLOTMENT,
+                            Tables.ROOM_TYPE_INVENTORY.STOP_SELL)
+                    .from(Tables.ROOM_TYPE_INVENTORY)
+                    .where(Tables.ROOM_TYPE_INVENTORY.DT.ge(firstDay))
+                    .and(Tables.ROOM_TYPE_INVENTORY.DT.lt(fresh.endDay()))
+                    .fetchLazy()) {
+                for (Record4<Long, LocalDate, Integer, Boolean> row : rows) {
+                    fresh.set(row.value1(), row.value2(), row.value3(), row.value4());
+                }
+            }
+            return fresh;
+        });
+
+        log.info("Loaded inventory grid {} to {} for {} room types ({} KiB off-heap) in {} ms",
+                loaded.firstDay(), loaded.endDay(), loaded.roomTypeCount(), loaded.offHeapBytes() / 1024,
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    private record InventoryUpdate(long roomTypeId, LocalDate dt, int allotment, boolean stopSell,
+                                   boolean allotmentOnly) {
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.bluething.stayforge.supplyapi.domain.inventory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Open-addressing map from positive long keys to int values, without boxing.
+ * <p>
+ * Safe for one writer and any number of concurrent readers: a value is written before its
+ * key is released, and a resize publishes a fully built table. Entries are never removed.
+ * Callers serialize writes.
+ */
+final class LongIntHashMap {
+    static final int MISSING = -1;
+
+    private static final long EMPTY = 0L;
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private volatile Table table;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    int get(long key) {
+        Table t = table;
+        int i = index(key, t.mask);
+        while (true) {
+            long k = (long) KEYS.getAcquire(t.keys, i);
+            if (k == key) {
+                return t.values[i];
+            }
+            if (k == EMPTY) {
+                return MISSING;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    void put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        if ((size + 1) * 2 > table.keys.length) {
+            Table grown = new Table(table.keys.length * 2);
+            Table current = table;
+            for (int i = 0; i < current.keys.length; i++) {
+                if (current.keys[i] != EMPTY) {
+                    insert(grown, current.keys[i], current.values[i]);
+                }
+            }
+            table = grown;
+        }
+        if (insert(table, key, value)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean insert(Table t, long key, int value) {
+        int i = index(key, t.mask);
+        while (true) {
+            long k = t.keys[i];
+            if (k == key) {
+                t.values[i] = value;
+                return false;
+            }
+            if (k == EMPTY) {
+                t.values[i] = value;
+                KEYS.setRelease(t.keys, i, key);
+                return true;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final int[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.bluething.stayforge.supplyapi.domain.lowestprice;
+
+import java.time.ZoneId;
+
+/**
+ * Lowest one-night price of an active hotel per check-in day and occupancy, at
+ * {@code amounts[day * occupancies + guests - 1]}. Null amounts when the hotel has no
+ * sellable offer in the window. The zone decides which check-in day is the hotel's today.
+ */
+record HotelPrices(long hotelId, long areaId, String currency, ZoneId zone, long[] amounts) {
+}
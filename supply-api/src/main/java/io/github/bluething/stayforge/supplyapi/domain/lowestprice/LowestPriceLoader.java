@@ -0,0 +1,237 @@
+package io.github.bluething.stayforge.supplyapi.domain.lowestprice;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.RateMatrix;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.StayPriceEngine;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.StayPricer;
+import io.github.bluething.stayforge.supplyapi.domain.restriction.RestrictionEvaluator;
+import io.github.bluething.stayforge.supplyapi.domain.restriction.RestrictionMatrix;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RoomTypeInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Computes {@link HotelPrices} from the catalog and ARI tables.
+ * <p>
+ * A batch of hotels costs five set-based queries whatever its size: hotels, offers,
+ * sellable inventory days, restrictions and rates, the last three filtered on the partition
+ * key range of the window. Every offer is then priced in memory for each check-in day and
+ * occupancy it fits. A hotel whose timezone does not parse is logged and left out. Callers
+ * run it inside a transaction.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+class LowestPriceLoader {
+    static final int BATCH_SIZE = 500;
+
+    private static final LocalTime DEFAULT_CHECK_IN_TIME = LocalTime.of(14, 0);
+
+    private final DSLContext dsl;
+    private final StayPriceEngine priceEngine;
+    private final RestrictionEvaluator restrictionEvaluator;
+
+    /**
+     * Prices of every active hotel, computed in batches so the rate matrices of one batch
+     * are all that is held at a time
+     */
+    List<HotelPrices> loadAll(LocalDate firstDay, int days, int occupancies) {
+        List<Long> hotelIds = dsl.select(Tables.HOTEL.ID)
+                .from(Tables.HOTEL)
+                .where(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull())
+                .orderBy(Tables.HOTEL.ID)
+                .fetch(Tables.HOTEL.ID);
+
+        List<HotelPrices> prices = new ArrayList<>(hotelIds.size());
+        for (int from = 0; from < hotelIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = hotelIds.subList(from, Math.min(from + BATCH_SIZE, hotelIds.size()));
+            prices.addAll(load(batch, firstDay, days, occupancies));
+        }
+        return prices;
+    }
+
+    /**
+     * Prices of the active hotels among {@code hotelIds}, the others are left out
+     */
+    List<HotelPrices> load(Collection<Long> hotelIds, LocalDate firstDay, int days, int occupancies) {
+        if (hotelIds.isEmpty()) {
+            return List.of();
+        }
+        Condition scope = Tables.HOTEL.ID.eq(DSL.any(hotelIds.toArray(Long[]::new)))
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull());
+
+        Map<Long, Hotel> hotels = new LinkedHashMap<>();
+        dsl.select(Tables.HOTEL.ID, Tables.HOTEL.AREA_ID, Tables.HOTEL.CURRENCY, Tables.HOTEL.TIMEZONE,
+                        Tables.HOTEL.CHECK_IN_TIME)
+                .from(Tables.HOTEL)
+                .where(scope)
+                .forEach(record -> {
+                    ZoneId zone = zone(record.value1(), record.value4());
+                    if (zone != null) {
+                        hotels.put(record.value1(), new Hotel(
+                                record.value2(),
+                                record.value3(),
+                                ZonedDateTime.now(zone),
+                                record.value5() != null ? record.value5() : DEFAULT_CHECK_IN_TIME
+                        ));
+                    }
+                });
+        if (hotels.isEmpty()) {
+            return List.of();
+        }
+
+        // Only plans sold in the hotel's currency, so one hotel's prices compare
+        List<Offer> offers = dsl.select(
+                        Tables.HOTEL.ID,
+                        Tables.ROOM_TYPE.ID,
+                        Tables.ROOM_TYPE.CAPACITY_MAX,
+                        Tables.PLAN.ID,
+                        Tables.PLAN.PRICING,
+                        Tables.PLAN_ROOM_TYPE.OCCUPANCY_MIN,
+                        Tables.PLAN_ROOM_TYPE.OCCUPANCY_MAX,
+                        Tables.PLAN_ROOM_TYPE.EXTRA_GUEST_FEE_MINOR)
+                .from(Tables.HOTEL)
+                .join(Tables.ROOM_TYPE).on(Tables.ROOM_TYPE.HOTEL_ID.eq(Tables.HOTEL.ID))
+                .join(Tables.PLAN_ROOM_TYPE).on(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID.eq(Tables.ROOM_TYPE.ID))
+                .join(Tables.PLAN).on(Tables.PLAN.ID.eq(Tables.PLAN_ROOM_TYPE.PLAN_ID))
+                .where(scope)
+                .and(Tables.ROOM_TYPE.ACTIVE.isTrue())
+                .and(Tables.PLAN.ACTIVE.isTrue())
+                .and(Tables.PLAN.CURRENCY.eq(Tables.HOTEL.CURRENCY))
+                .fetch(record -> new Offer(
+                        record.value1(),
+                        record.value2(),
+                        record.value3(),
+                        record.value4(),
+                        PlanPricing.valueOf(record.value5().toUpperCase(Locale.ROOT)),
+                        record.value6() != null ? record.value6() : 1,
+                        record.value7() != null ? record.value7() : Integer.MAX_VALUE,
+                        record.value8()
+                ));
+
+        Map<Long, PlanPricing> plans = new LinkedHashMap<>();
+        offers.forEach(offer -> plans.putIfAbsent(offer.planId(), offer.pricing()));
+        Long[] roomTypeIds = offers.stream().map(Offer::roomTypeId).distinct().toArray(Long[]::new);
+
+        Map<Long, BitSet> sellable = sellableDays(roomTypeIds, firstDay, days);
+        Map<Long, RestrictionMatrix> restrictions = restrictionEvaluator.loadRestrictions(
+                plans.keySet().toArray(Long[]::new), firstDay, firstDay.plusDays(days + 1));
+        Map<Long, RateMatrix> rates = priceEngine.loadRates(plans, firstDay, firstDay.plusDays(days));
+        Map<Long, StayPricer[]> pricers = new HashMap<>();
+
+        Map<Long, long[]> amounts = new HashMap<>();
+        for (Offer offer : offers) {
+            BitSet inventory = sellable.get(offer.roomTypeId());
+            Hotel hotel = hotels.get(offer.hotelId());
+            if (inventory == null || hotel == null) {
+                continue;
+            }
+            RestrictionMatrix restriction = restrictions.get(offer.planId());
+            StayPricer[] byGuests = pricers.computeIfAbsent(offer.planId(), planId -> new StayPricer[occupancies + 1]);
+            int fromGuests = Math.max(1, offer.occupancyMin());
+            int toGuests = Math.min(occupancies, Math.min(offer.capacityMax(), offer.occupancyMax()));
+
+            for (int day = inventory.nextSetBit(0); day >= 0; day = inventory.nextSetBit(day + 1)) {
+                if (!restriction.allows(day, 1, hotel.now(), hotel.checkInTime())) {
+                    continue;
+                }
+                for (int guests = fromGuests; guests <= toGuests; guests++) {
+                    if (byGuests[guests] == null) {
+                        byGuests[guests] = rates.get(offer.planId()).forGuests(guests);
+                    }
+                    long price = byGuests[guests].price(day, 1, offer.extraGuestFeeMinor());
+                    if (price == RateMatrix.NO_RATE) {
+                        continue;
+                    }
+                    long[] hotelAmounts = amounts.computeIfAbsent(offer.hotelId(), id -> empty(days, occupancies));
+                    int index = day * occupancies + guests - 1;
+                    if (hotelAmounts[index] == LowestPriceService.NO_PRICE || price < hotelAmounts[index]) {
+                        hotelAmounts[index] = price;
+                    }
+                }
+            }
+        }
+
+        List<HotelPrices> prices = new ArrayList<>(hotels.size());
+        hotels.forEach((hotelId, hotel) ->
+                prices.add(new HotelPrices(hotelId, hotel.areaId(), hotel.currency(), hotel.now().getZone(),
+                        amounts.get(hotelId))));
+        return prices;
+    }
+
+    /**
+     * The hotel's zone, or null when it does not parse, so one bad row leaves that hotel out
+     * instead of failing the whole load
+     */
+    private static ZoneId zone(Long hotelId, String timezone) {
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            log.warn("Skipping hotel {} in the lowest price calendar, invalid timezone '{}'", hotelId, timezone);
+            return null;
+        }
+    }
+
+    /**
+     * Check-in day offsets with at least one room left and no stop-sell, per room type
+     */
+    private Map<Long, BitSet> sellableDays(Long[] roomTypeIds, LocalDate firstDay, int days) {
+        Map<Long, BitSet> sellable = new HashMap<>();
+        if (roomTypeIds.length == 0) {
+            return sellable;
+        }
+
+        RoomTypeInventory inventory = Tables.ROOM_TYPE_INVENTORY;
+        dsl.select(inventory.ROOM_TYPE_ID, inventory.DT)
+                .from(inventory)
+                .where(inventory.ROOM_TYPE_ID.eq(DSL.any(roomTypeIds)))
+                .and(inventory.DT.ge(firstDay))
+                .and(inventory.DT.lt(firstDay.plusDays(days)))
+                .and(inventory.ALLOTMENT.gt(0))
+                .and(inventory.STOP_SELL.isFalse())
+                .forEach(record -> sellable.computeIfAbsent(record.value1(), id -> new BitSet(days))
+                        .set((int) (record.value2().toEpochDay() - firstDay.toEpochDay())));
+        return sellable;
+    }
+
+    private static long[] empty(int days, int occupancies) {
+        long[] amounts = new long[days * occupancies];
+        Arrays.fill(amounts, LowestPriceService.NO_PRICE);
+        return amounts;
+    }
+
+    private record Hotel(long areaId, String currency, ZonedDateTime now, LocalTime checkInTime) {
+    }
+
+    private record Offer(long hotelId,
+                         long roomTypeId,
+                         int capacityMax,
+                         long planId,
+                         PlanPricing pricing,
+                         int occupancyMin,
+                         int occupancyMax,
+                         int extraGuestFeeMinor) {
+    }
+}
@@ -0,0 +1,390 @@
+package io.github.bluething.stayforge.supplyapi.domain.lowestprice;
+
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangeHandler;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.domain.systemconfig.SystemConfigService;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lowest one-night price per hotel, check-in day and occupancy, with a per area rollup,
+ * held in memory for landing pages and map pins.
+ * <p>
+ * The calendar covers a window from yesterday (UTC, so every hotel's today is inside) for
+ * {@code supply.lowest-price.days} days and is rebuilt daily to move the window and
+ * re-evaluate advance booking rules. Supply change notifications about hotels, room types,
+ * plans and their ARI recompute only the hotels they touch and the rollups of the areas
+ * those hotels are in or left. A change that cannot be traced back to its hotels, such as
+ * a deleted room type or plan, rebuilds the calendar. Hotels touched during a rebuild are
+ * recomputed on the new calendar.
+ * <p>
+ * A hotel's prices only consider plans sold in its own currency. Area rollups are kept
+ * per currency.
+ */
+@Service
+@Slf4j
+public class LowestPriceService implements SupplyChangeHandler {
+    public static final long NO_PRICE = -1L;
+    public static final int MAX_DAYS = 366;
+
+    private static final Set<SupplyEntity> ENTITIES = EnumSet.of(
+            SupplyEntity.HOTEL, SupplyEntity.ROOM_TYPE, SupplyEntity.PLAN,
+            SupplyEntity.INVENTORY, SupplyEntity.RATE, SupplyEntity.RESTRICTION);
+
+    private final LowestPriceLoader loader;
+    private final DSLContext dsl;
+    private final SystemConfigService systemConfigService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int windowDays;
+    private final int maxGuests;
+    private final Object writeLock = new Object();
+    private final Object reloadLock = new Object();
+
+    private volatile Snapshot snapshot;
+    private Set<Long> pending;
+
+    public LowestPriceService(LowestPriceLoader loader,
+                              DSLContext dsl,
+                              SystemConfigService systemConfigService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${supply.lowest-price.enabled:true}") boolean enabled,
+                              @Value("${supply.lowest-price.days:180}") int windowDays,
+                              @Value("${supply.lowest-price.max-guests:4}") int maxGuests) {
+        this.loader = loader;
+        this.dsl = dsl;
+        this.systemConfigService = systemConfigService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.windowDays = windowDays;
+        this.maxGuests = maxGuests;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(cron = "${supply.lowest-price.reload-cron:0 30 3 * * *}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public int maxGuests() {
+        return maxGuests;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * @param start first check-in day, today in the hotel's zone when null
+     * @throws BusinessException when the hotel is not active, or the calendar is not loaded yet
+     */
+    public LowestPrices hotelPrices(long hotelId, LocalDate start, int days, int guests) {
+        Snapshot current = loaded();
+        validate(guests);
+        HotelPrices hotel = current.hotels().get(hotelId);
+        if (hotel == null) {
+            throw new BusinessException(ErrorCode.HOTEL_NOT_FOUND, HttpStatus.NOT_FOUND,
+                    "Hotel with ID " + hotelId + " not found");
+        }
+        LocalDate from = start != null ? start : LocalDate.now(hotel.zone());
+        return slice(current, hotel.amounts(), hotel.currency(), from, days, guests);
+    }
+
+    /**
+     * Lowest price among the area's hotels selling in {@code currency}, the configured
+     * default currency when null
+     *
+     * @param start first check-in day, when null the earliest today among the zones of the area's hotels
+     * @throws BusinessException when the area does not exist, or the calendar is not loaded yet
+     */
+    public LowestPrices areaPrices(long areaId, LocalDate start, int days, int guests, String currency) {
+        Snapshot current = loaded();
+        validate(guests);
+        String resolved = currency != null
+                ? currency.toUpperCase(Locale.ROOT)
+                : systemConfigService.current().defaultCurrency();
+
+        Map<String, long[]> rollup = current.areas().get(areaId);
+        if (rollup == null && !dsl.fetchExists(Tables.AREA,
+                Tables.AREA.ID.eq(areaId).and(Tables.AREA.DELETED_AT.isNull()))) {
+            throw new BusinessException(ErrorCode.AREA_NOT_FOUND, HttpStatus.NOT_FOUND,
+                    "Area with ID " + areaId + " not found");
+        }
+        LocalDate from = start != null ? start : areaToday(current, areaId);
+        return slice(current, rollup != null ? rollup.get(resolved) : null, resolved, from, days, guests);
+    }
+
+    /**
+     * Rebuild the calendar from the tables and swap it in
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                pending = new HashSet<>();
+            }
+
+            long started = System.nanoTime();
+            LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+            Snapshot fresh;
+            try {
+                List<HotelPrices> prices = readOnlyTransaction.execute(status ->
+                        loader.loadAll(firstDay, windowDays, maxGuests));
+                Map<Long, HotelPrices> hotels = new HashMap<>();
+                prices.forEach(hotel -> hotels.put(hotel.hotelId(), hotel));
+                fresh = new Snapshot(firstDay, windowDays, Map.copyOf(hotels),
+                        Map.copyOf(rollups(hotels.values(), null, windowDays * maxGuests)),
+                        areaZones(hotels.values()));
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    pending = null;
+                }
+                log.error("Lowest price calendar load failed", e);
+                return;
+            }
+
+            Set<Long> replay;
+            synchronized (writeLock) {
+                snapshot = fresh;
+                replay = pending;
+                pending = null;
+            }
+            log.info("Loaded lowest price calendar from {} for {} days and {} hotels in {} ms",
+                    firstDay, windowDays, fresh.hotels().size(), (System.nanoTime() - started) / 1_000_000);
+
+            if (!replay.isEmpty()) {
+                refresh(replay);
+            }
+        }
+    }
+
+    @Override
+    public void onChanges(SupplyChanges changes) {
+        if (!enabled || ENTITIES.stream().noneMatch(changes::affects)) {
+            return;
+        }
+        if (snapshot == null || ENTITIES.stream().anyMatch(changes::all)) {
+            reload();
+            return;
+        }
+
+        Set<Long> hotelIds = readOnlyTransaction.execute(status -> affectedHotels(changes));
+        if (hotelIds == null) {
+            reload();
+        } else if (!hotelIds.isEmpty()) {
+            refresh(hotelIds);
+        }
+    }
+
+    /**
+     * Recompute some hotels on the current window and swap in a snapshot with them and
+     * their areas' rollups replaced
+     */
+    private void refresh(Set<Long> hotelIds) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.addAll(hotelIds);
+            }
+        }
+
+        Snapshot base = snapshot;
+        List<HotelPrices> prices = readOnlyTransaction.execute(status ->
+                loader.load(hotelIds, base.firstDay(), base.days(), maxGuests));
+
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (!current.firstDay().equals(base.firstDay()) || current.days() != base.days()) {
+                // A rebuild moved the window meanwhile and read these hotels after the change
+                return;
+            }
+
+            Map<Long, HotelPrices> hotels = new HashMap<>(current.hotels());
+            Set<Long> areaIds = new HashSet<>();
+            for (Long hotelId : hotelIds) {
+                HotelPrices previous = hotels.remove(hotelId);
+                if (previous != null) {
+                    areaIds.add(previous.areaId());
+                }
+            }
+            for (HotelPrices hotel : prices) {
+                hotels.put(hotel.hotelId(), hotel);
+                areaIds.add(hotel.areaId());
+            }
+
+            Map<Long, Map<String, long[]>> areas = new HashMap<>(current.areas());
+            areaIds.forEach(areas::remove);
+            areas.putAll(rollups(hotels.values(), areaIds, current.days() * maxGuests));
+            snapshot = new Snapshot(current.firstDay(), current.days(), Map.copyOf(hotels), Map.copyOf(areas),
+                    areaZones(hotels.values()));
+        }
+    }
+
+    /**
+     * Hotels whose prices the changes can move, null when one of the changed room types
+     * or plans no longer exists
+     */
+    private Set<Long> affectedHotels(SupplyChanges changes) {
+        Set<Long> hotelIds = new HashSet<>(changes.ids(SupplyEntity.HOTEL));
+
+        Set<Long> roomTypeIds = new HashSet<>(changes.ids(SupplyEntity.ROOM_TYPE));
+        roomTypeIds.addAll(changes.ids(SupplyEntity.INVENTORY));
+        if (!roomTypeIds.isEmpty()) {
+            List<Long> found = dsl.select(Tables.ROOM_TYPE.HOTEL_ID)
+                    .from(Tables.ROOM_TYPE)
+                    .where(Tables.ROOM_TYPE.ID.eq(DSL.any(roomTypeIds.toArray(Long[]::new))))
+                    .fetch(Tables.ROOM_TYPE.HOTEL_ID);
+            if (found.size() != roomTypeIds.size()) {
+                return null;
+            }
+            hotelIds.addAll(found);
+        }
+
+        Set<Long> planIds = new HashSet<>(changes.ids(SupplyEntity.PLAN));
+        planIds.addAll(changes.ids(SupplyEntity.RATE));
+        planIds.addAll(changes.ids(SupplyEntity.RESTRICTION));
+        if (!planIds.isEmpty()) {
+            Long[] ids = planIds.toArray(Long[]::new);
+            if (dsl.fetchCount(Tables.PLAN, Tables.PLAN.ID.eq(DSL.any(ids))) != planIds.size()) {
+                return null;
+            }
+            hotelIds.addAll(dsl.selectDistinct(Tables.ROOM_TYPE.HOTEL_ID)
+                    .from(Tables.PLAN_ROOM_TYPE)
+                    .join(Tables.ROOM_TYPE).on(Tables.ROOM_TYPE.ID.eq(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID))
+                    .where(Tables.PLAN_ROOM_TYPE.PLAN_ID.eq(DSL.any(ids)))
+                    .fetch(Tables.ROOM_TYPE.HOTEL_ID));
+        }
+        return hotelIds;
+    }
+
+    private Snapshot loaded() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new BusinessException(
+                    ErrorCode.LOWEST_PRICES_UNAVAILABLE,
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Lowest price calendar is not loaded yet"
+            );
+        }
+        return current;
+    }
+
+    private void validate(int guests) {
+        if (guests < 1 || guests > maxGuests) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST,
+                    "Guests must be between 1 and " + maxGuests);
+        }
+    }
+
+    /**
+     * The earliest today among the area's hotel zones, so no hotel loses its current day.
+     * UTC for an area without active hotels.
+     */
+    private static LocalDate areaToday(Snapshot current, long areaId) {
+        return current.areaZones().getOrDefault(areaId, Set.of()).stream()
+                .map(LocalDate::now)
+                .min(LocalDate::compareTo)
+                .orElseGet(() -> LocalDate.now(ZoneOffset.UTC));
+    }
+
+    private LowestPrices slice(Snapshot current, long[] amounts, String currency,
+                               LocalDate start, int days, int guests) {
+        long[] prices = new long[days];
+        Arrays.fill(prices, NO_PRICE);
+        if (amounts != null) {
+            int offset = (int) (start.toEpochDay() - current.firstDay().toEpochDay());
+            for (int i = Math.max(0, -offset); i < days && offset + i < current.days(); i++) {
+                prices[i] = amounts[(offset + i) * maxGuests + guests - 1];
+            }
+        }
+        return new LowestPrices(start, days, guests, currency, prices);
+    }
+
+    /**
+     * Element-wise minimum of the hotels' prices per area and currency, for the areas in
+     * {@code areaIds} or every area when null
+     */
+    private static Map<Long, Map<String, long[]>> rollups(Collection<HotelPrices> hotels, Set<Long> areaIds,
+                                                          int length) {
+        Map<Long, Map<String, long[]>> areas = new HashMap<>();
+        for (HotelPrices hotel : hotels) {
+            if (areaIds != null && !areaIds.contains(hotel.areaId())) {
+                continue;
+            }
+            Map<String, long[]> byCurrency = areas.computeIfAbsent(hotel.areaId(), id -> new HashMap<>());
+            if (hotel.amounts() == null) {
+                continue;
+            }
+            long[] rollup = byCurrency.computeIfAbsent(hotel.currency(), currency -> {
+                long[] empty = new long[length];
+                Arrays.fill(empty, NO_PRICE);
+                return empty;
+            });
+            long[] amounts = hotel.amounts();
+            for (int i = 0; i < length; i++) {
+                if (amounts[i] != NO_PRICE && (rollup[i] == NO_PRICE || amounts[i] < rollup[i])) {
+                    rollup[i] = amounts[i];
+                }
+            }
+        }
+        areas.replaceAll((areaId, byCurrency) -> Map.copyOf(byCurrency));
+        return areas;
+    }
+
+    /**
+     * Distinct zones of each area's hotels
+     */
+    private static Map<Long, Set<ZoneId>> areaZones(Collection<HotelPrices> hotels) {
+        Map<Long, Set<ZoneId>> zones = new HashMap<>();
+        for (HotelPrices hotel : hotels) {
+            zones.computeIfAbsent(hotel.areaId(), id -> new HashSet<>()).add(hotel.zone());
+        }
+        zones.replaceAll((areaId, byArea) -> Set.copyOf(byArea));
+        return Map.copyOf(zones);
+    }
+
+    /**
+     * Prices of every active hotel keyed by ID and area rollups keyed by area ID then
+     * currency, over {@code days} check-in days from {@code firstDay}, with the zones of
+     * each area's hotels
+     */
+    private record Snapshot(LocalDate firstDay,
+                            int days,
+                            Map<Long, HotelPrices> hotels,
+                            Map<Long, Map<String, long[]>> areas,
+                            Map<Long, Set<ZoneId>> areaZones) {
+    }
+}
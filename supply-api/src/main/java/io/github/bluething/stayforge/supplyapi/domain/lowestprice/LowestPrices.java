@@ -0,0 +1,11 @@
+package io.github.bluething.stayforge.supplyapi.domain.lowestprice;
+
+import java.time.LocalDate;
+
+/**
+ * Lowest per-room price of a one-night stay for each check-in day from {@code start}, in
+ * minor units of {@code currency}. {@link LowestPriceService#NO_PRICE} marks a day without
+ * a sellable offer, or outside the maintained window.
+ */
+public record LowestPrices(LocalDate start, int days, int guests, String currency, long[] amounts) {
+}
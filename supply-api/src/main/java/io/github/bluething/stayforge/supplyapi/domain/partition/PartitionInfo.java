@@ -0,0 +1,9 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+import java.time.LocalDate;
+
+/**
+ * An attached partition; bounds are null for the default partition
+ */
+public record PartitionInfo(String name, LocalDate from, LocalDate to, boolean detachPending) {
+}
@@ -0,0 +1,301 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+import io.github.bluething.stayforge.supplyapi.domain.systemconfig.SystemConfig;
+import io.github.bluething.stayforge.supplyapi.domain.systemconfig.SystemConfigService;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps monthly partitions of the date-partitioned tables ahead of the booking window and
+ * drops them past retention.
+ * <p>
+ * A new partition is created as a standalone table. Its indexes are built concurrently from
+ * the parent's index definitions, and a CHECK constraint matching its bounds lets the
+ * ATTACH skip the validation scan. Partitions past retention are detached concurrently
+ * when the table has no default partition, then dropped. Only partitions named
+ * {@code <table>_pYYYYMM} are ever dropped.
+ * <p>
+ * A run holds a session advisory lock on a dedicated autocommit connection, so only one
+ * node maintains partitions at a time and CONCURRENTLY statements are allowed.
+ */
+@Service
+@Slf4j
+public class PartitionManager {
+    private static final String LOCK_NAME = "supply-api:partition-manager";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern BOUNDS = Pattern.compile("FROM \\('([0-9-]+)'\\) TO \\('([0-9-]+)'\\)");
+
+    private final DSLContext dsl;
+    private final SystemConfigService systemConfigService;
+    private final boolean enabled;
+    private volatile PartitionRunReport lastRun;
+
+    public PartitionManager(DSLContext dsl,
+                            SystemConfigService systemConfigService,
+                            @Value("${supply.partitions.enabled:true}") boolean enabled) {
+        this.dsl = dsl;
+        this.systemConfigService = systemConfigService;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    @Scheduled(cron = "${supply.partitions.cron:0 0 2 * * *}")
+    public void scheduledMaintain() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    /**
+     * Create missing partitions and drop expired ones, unless another node is already doing so
+     */
+    public PartitionRunReport maintain() {
+        OffsetDateTime startedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        PartitionRunReport report = dsl.connectionResult(connection -> {
+            DSLContext session = DSL.using(connection, dsl.dialect(), dsl.settings());
+            boolean locked = Boolean.TRUE.equals(session.fetchValue(
+                    "SELECT pg_try_advisory_lock(hashtext(?))", Boolean.class, LOCK_NAME));
+            if (!locked) {
+                log.info("Partition maintenance skipped, another node holds the lock");
+                return new PartitionRunReport(startedAt, true, List.of(), List.of(), List.of());
+            }
+
+            try {
+                return maintain(session, startedAt);
+            } finally {
+                session.fetchValue("SELECT pg_advisory_unlock(hashtext(?))", Boolean.class, LOCK_NAME);
+            }
+        });
+
+        lastRun = report;
+        return report;
+    }
+
+    public PartitionStatus status() {
+        PartitionSettings settings = readSettings();
+        Map<String, List<PartitionInfo>> partitions = new LinkedHashMap<>();
+        for (PartitionedTable table : PartitionedTable.values()) {
+            partitions.put(table.tableName(), listPartitions(dsl, table));
+        }
+
+        return new PartitionStatus(
+                settings.autoCreate(),
+                settings.retentionMonths(),
+                settings.lastMonth().plusMonths(1).atDay(1),
+                settings.oldestKeptMonth().atDay(1),
+                partitions,
+                lastRun
+        );
+    }
+
+    private PartitionRunReport maintain(DSLContext session, OffsetDateTime startedAt) {
+        PartitionSettings settings = readSettings();
+        List<String> created = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        for (PartitionedTable table : PartitionedTable.values()) {
+            List<PartitionInfo> partitions = listPartitions(session, table);
+
+            if (settings.autoCreate()) {
+                for (YearMonth month = settings.firstMonth(); !month.isAfter(settings.lastMonth()); month = month.plusMonths(1)) {
+                    if (isCovered(partitions, month)) {
+                        continue;
+                    }
+                    String name = partitionName(table, month);
+                    try {
+                        createPartition(session, table, month);
+                        created.add(name);
+                    } catch (DataAccessException e) {
+                        log.warn("Could not create partition {}", name, e);
+                        errors.add(name + ": " + e.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+
+            if (settings.retentionMonths() > 0) {
+                boolean hasDefault = partitions.stream().anyMatch(partition -> partition.from() == null);
+                LocalDate dropBefore = settings.oldestKeptMonth().atDay(1);
+                for (PartitionInfo partition : partitions) {
+                    if (!isManaged(table, partition) || partition.to().isAfter(dropBefore)) {
+                        continue;
+                    }
+                    try {
+                        dropPartition(session, table, partition, hasDefault);
+                        dropped.add(partition.name());
+                    } catch (DataAccessException e) {
+                        log.warn("Could not drop partition {}", partition.name(), e);
+                        errors.add(partition.name() + ": " + e.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        if (!created.isEmpty() || !dropped.isEmpty()) {
+            log.info("Partition maintenance created {} and dropped {}", created, dropped);
+        }
+        return new PartitionRunReport(startedAt, false, created, dropped, errors);
+    }
+
+    private void createPartition(DSLContext session, PartitionedTable table, YearMonth month) {
+        String parent = table.tableName();
+        String child = partitionName(table, month);
+        String key = table.keyColumn();
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String bound = child + "_bound";
+
+        session.execute("CREATE TABLE IF NOT EXISTS " + child
+                + " (LIKE " + parent + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        session.execute("ALTER TABLE " + child + " DROP CONSTRAINT IF EXISTS " + bound);
+        session.execute("ALTER TABLE " + child + " ADD CONSTRAINT " + bound + " CHECK (" + key + " IS NOT NULL AND "
+                + key + " >= DATE '" + from + "' AND " + key + " < DATE '" + to + "')");
+
+        createIndexes(session, parent, child);
+
+        session.execute("ALTER TABLE " + parent + " ATTACH PARTITION " + child
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        session.execute("ALTER TABLE " + child + " DROP CONSTRAINT " + bound);
+    }
+
+    /**
+     * Build the parent's indexes on the standalone partition without blocking writes, so
+     * ATTACH adopts them instead of building its own under lock
+     */
+    private void createIndexes(DSLContext session, String parent, String child) {
+        // A concurrent build interrupted by a previous run leaves an invalid index behind
+        for (String invalid : session.fetch("SELECT indexrelid::regclass::text FROM pg_index "
+                        + "WHERE indrelid = ?::regclass AND NOT indisvalid", child)
+                .getValues(0, String.class)) {
+            session.execute("DROP INDEX CONCURRENTLY IF EXISTS " + invalid);
+        }
+
+        int ordinal = 0;
+        for (Record index : session.fetch("""
+                SELECT ix.indisprimary AS is_primary, ix.indisunique AS is_unique,
+                       pg_get_indexdef(ix.indexrelid) AS definition
+                FROM pg_index ix
+                JOIN pg_class i ON i.oid = ix.indexrelid
+                WHERE ix.indrelid = ?::regclass
+                ORDER BY i.relname
+                """, parent)) {
+            boolean primary = index.get("is_primary", Boolean.class);
+            boolean unique = index.get("is_unique", Boolean.class);
+            String definition = index.get("definition", String.class);
+            String name = primary ? child + "_pkey" : child + "_idx" + (++ordinal);
+
+            // "CREATE INDEX name ON ONLY parent USING btree (...)", keep the part from USING
+            String method = definition.substring(definition.indexOf(" USING "));
+            session.execute("CREATE " + (unique ? "UNIQUE " : "") + "INDEX CONCURRENTLY IF NOT EXISTS "
+                    + name + " ON " + child + method);
+
+            if (primary && !Boolean.TRUE.equals(session.fetchValue("SELECT EXISTS (SELECT 1 FROM pg_constraint "
+                    + "WHERE conrelid = ?::regclass AND contype = 'p')", Boolean.class, child))) {
+                session.execute("ALTER TABLE " + child + " ADD CONSTRAINT " + name + " PRIMARY KEY USING INDEX " + name);
+            }
+        }
+    }
+
+    private void dropPartition(DSLContext session, PartitionedTable table, PartitionInfo partition, boolean hasDefault) {
+        String parent = table.tableName();
+        if (partition.detachPending()) {
+            // A concurrent detach interrupted by a previous run
+            session.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition.name() + " FINALIZE");
+        } else if (hasDefault) {
+            // DETACH CONCURRENTLY is not allowed while a default partition exists
+            session.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition.name());
+        } else {
+            session.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition.name() + " CONCURRENTLY");
+        }
+        session.execute("DROP TABLE IF EXISTS " + partition.name());
+    }
+
+    private List<PartitionInfo> listPartitions(DSLContext context, PartitionedTable table) {
+        return context.fetch("""
+                        SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound,
+                               i.inhdetachpending AS detach_pending
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = ?::regclass
+                        ORDER BY c.relname
+                        """, table.tableName())
+                .map(record -> {
+                    Matcher bounds = BOUNDS.matcher(record.get("bound", String.class));
+                    boolean ranged = bounds.find();
+                    return new PartitionInfo(
+                            record.get("name", String.class),
+                            ranged ? LocalDate.parse(bounds.group(1)) : null,
+                            ranged ? LocalDate.parse(bounds.group(2)) : null,
+                            Boolean.TRUE.equals(record.get("detach_pending", Boolean.class))
+                    );
+                });
+    }
+
+    private static boolean isCovered(List<PartitionInfo> partitions, YearMonth month) {
+        LocalDate day = month.atDay(1);
+        return partitions.stream()
+                .anyMatch(partition -> partition.from() != null
+                        && !day.isBefore(partition.from())
+                        && day.isBefore(partition.to()));
+    }
+
+    private static boolean isManaged(PartitionedTable table, PartitionInfo partition) {
+        return partition.from() != null && partition.name().matches(table.tableName() + "_p\\d{6}");
+    }
+
+    private static String partitionName(PartitionedTable table, YearMonth month) {
+        return table.tableName() + "_p" + month.format(SUFFIX);
+    }
+
+    private PartitionSettings readSettings() {
+        SystemConfig config = systemConfigService.current();
+        boolean autoCreate = config.partitionsAutoCreate();
+        int retentionMonths = config.partitionsRetentionMonths();
+        int maxAdvanceDays = config.maxAdvanceDays();
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        YearMonth currentMonth = YearMonth.from(today);
+        return new PartitionSettings(
+                autoCreate,
+                retentionMonths,
+                // Late ARI updates for last month still need somewhere to go
+                currentMonth.minusMonths(1),
+                // One month of headroom past the booking window
+                YearMonth.from(today.plusDays(maxAdvanceDays)).plusMonths(1),
+                currentMonth.minusMonths(retentionMonths)
+        );
+    }
+
+    private record PartitionSettings(boolean autoCreate,
+                                     int retentionMonths,
+                                     YearMonth firstMonth,
+                                     YearMonth lastMonth,
+                                     YearMonth oldestKeptMonth) {
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * What one maintenance run did. A run that found another node holding the lock is skipped.
+ */
+public record PartitionRunReport(OffsetDateTime startedAt,
+                                 boolean skipped,
+                                 List<String> created,
+                                 List<String> dropped,
+                                 List<String> errors) {
+}
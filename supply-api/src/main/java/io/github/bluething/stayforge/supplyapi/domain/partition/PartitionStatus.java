@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitions per table with the window the manager maintains and the last run
+ */
+public record PartitionStatus(boolean autoCreate,
+                              int retentionMonths,
+                              LocalDate createThrough,
+                              LocalDate dropBefore,
+                              Map<String, List<PartitionInfo>> partitions,
+                              PartitionRunReport lastRun) {
+}
@@ -0,0 +1,27 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+/**
+ * Tables partitioned by month on a date column
+ */
+public enum PartitionedTable {
+    ROOM_TYPE_INVENTORY("room_type_inventory", "dt"),
+    RATE_NIGHTLY("rate_nightly", "dt"),
+    RATE_LOS("rate_los", "checkin_dt"),
+    PLAN_RESTRICTION("plan_restriction", "dt");
+
+    private final String tableName;
+    private final String keyColumn;
+
+    PartitionedTable(String tableName, String keyColumn) {
+        this.tableName = tableName;
+        this.keyColumn = keyColumn;
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    public String keyColumn() {
+        return keyColumn;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only actuator view of partition maintenance: lists partitions and the last run.
+ * Maintenance itself only runs on startup and on schedule, never on request.
+ */
+@Component
+@Endpoint(id = "partitions")
+@RequiredArgsConstructor
+public class PartitionsEndpoint {
+    private final PartitionManager partitionManager;
+
+    @ReadOperation
+    public PartitionStatus partitions() {
+        return partitionManager.status();
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.bluething.stayforge.supplyapi.domain.pricing;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Rates of one plan over a date window, one primitive array per occupancy tier.
+ * <p>
+ * Nightly amounts are indexed by day offset from {@link #firstDay()}. LOS amounts are
+ * indexed by {@code checkInOffset * MAX_LOS + (los - 1)}. A missing rate is {@link #NO_RATE}.
+ * Tiers are sorted by occupancy_from ascending.
+ */
+public final class RateMatrix {
+    public static final long NO_RATE = -1L;
+    public static final int MAX_LOS = 30;
+
+    private final long planId;
+    private final PlanPricing pricing;
+    private final long firstEpochDay;
+    private final int days;
+    private final int[] tiers;
+    private final long[][] amounts;
+
+    RateMatrix(long planId, PlanPricing pricing, LocalDate firstDay, int days, int[] tiers, long[][] amounts) {
+        this.planId = planId;
+        this.pricing = pricing;
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.days = days;
+        this.tiers = tiers;
+        this.amounts = amounts;
+    }
+
+    public long planId() {
+        return planId;
+    }
+
+    public PlanPricing pricing() {
+        return pricing;
+    }
+
+    public LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public int offsetOf(LocalDate day) {
+        return (int) (day.toEpochDay() - firstEpochDay);
+    }
+
+    /**
+     * Resolve the tiers for an occupancy once, so each stay is then priced without allocation
+     */
+    public StayPricer forGuests(int guests) {
+        // Highest tier first, only tiers the guests reach
+        int applicable = 0;
+        while (applicable < tiers.length && tiers[applicable] <= guests) {
+            applicable++;
+        }
+
+        if (pricing == PlanPricing.LOS) {
+            return new StayPricer.Los(this, guests, applicable);
+        }
+        return new StayPricer.Nightly(this, guests, applicable);
+    }
+
+    int tier(int index) {
+        return tiers[index];
+    }
+
+    long amount(int tierIndex, int index) {
+        return amounts[tierIndex][index];
+    }
+
+    /**
+     * Collects rate rows in any order, then freezes them into arrays
+     */
+    static final class Builder {
+        private final long planId;
+        private final PlanPricing pricing;
+        private final LocalDate firstDay;
+        private final int days;
+        private final int slots;
+        private int[] tiers = new int[0];
+        private long[][] amounts = new long[0][];
+
+        Builder(long planId, PlanPricing pricing, LocalDate firstDay, int days) {
+            this.planId = planId;
+            this.pricing = pricing;
+            this.firstDay = firstDay;
+            this.days = days;
+            this.slots = pricing == PlanPricing.LOS ? days * MAX_LOS : days;
+        }
+
+        void nightly(LocalDate day, int occupancyFrom, long amountMinor) {
+            int offset = (int) (day.toEpochDay() - firstDay.toEpochDay());
+            if (offset >= 0 && offset < days) {
+                tierArray(occupancyFrom)[offset] = amountMinor;
+            }
+        }
+
+        void los(LocalDate checkIn, int los, int occupancyFrom, long amountMinor) {
+            int offset = (int) (checkIn.toEpochDay() - firstDay.toEpochDay());
+            if (offset >= 0 && offset < days && los >= 1 && los <= MAX_LOS) {
+                tierArray(occupancyFrom)[offset * MAX_LOS + los - 1] = amountMinor;
+            }
+        }
+
+        RateMatrix build() {
+            return new RateMatrix(planId, pricing, firstDay, days, tiers, amounts);
+        }
+
+        private long[] tierArray(int occupancyFrom) {
+            int index = Arrays.binarySearch(tiers, occupancyFrom);
+            if (index >= 0) {
+                return amounts[index];
+            }
+
+            int insertAt = -index - 1;
+            long[] array = new long[slots];
+            Arrays.fill(array, NO_RATE);
+
+            int[] grownTiers = new int[tiers.length + 1];
+            long[][] grownAmounts = new long[tiers.length + 1][];
+            System.arraycopy(tiers, 0, grownTiers, 0, insertAt);
+            System.arraycopy(amounts, 0, grownAmounts, 0, insertAt);
+            grownTiers[insertAt] = occupancyFrom;
+            grownAmounts[insertAt] = array;
+            System.arraycopy(tiers, insertAt, grownTiers, insertAt + 1, tiers.length - insertAt);
+            System.arraycopy(amounts, insertAt, grownAmounts, insertAt + 1, tiers.length - insertAt);
+            tiers = grownTiers;
+            amounts = grownAmounts;
+            return array;
+        }
+    }
+}
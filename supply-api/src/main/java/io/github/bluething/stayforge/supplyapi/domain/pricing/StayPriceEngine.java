@@ -0,0 +1,94 @@
+package io.github.bluething.stayforge.supplyapi.domain.pricing;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RateLos;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RateNightly;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads plan rates into {@link RateMatrix} instances for pricing stays in memory.
+ * <p>
+ * All plans are loaded with at most two set-based queries, one per pricing model, each
+ * filtered on the partition key range. Callers then resolve a {@link StayPricer} per
+ * occupancy and price any number of check-in and length combinations from it. A single
+ * stay, as a booking prices it, goes through {@link #priceStay}.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class StayPriceEngine {
+    private final DSLContext dsl;
+
+    /**
+     * Rate matrices covering the nights from {@code from} up to {@code to} exclusive.
+     * For LOS plans the window holds the check-in dates. Plans without any rate get an empty matrix.
+     */
+    public Map<Long, RateMatrix> loadRates(Map<Long, PlanPricing> plans, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        if (plans.isEmpty() || days <= 0) {
+            return Map.of();
+        }
+
+        Map<Long, RateMatrix.Builder> builders = new HashMap<>();
+        plans.forEach((planId, pricing) ->
+                builders.put(planId, new RateMatrix.Builder(planId, pricing, from, days)));
+
+        Long[] nightlyPlanIds = planIds(plans, PlanPricing.NIGHTLY);
+        if (nightlyPlanIds.length > 0) {
+            RateNightly rate = Tables.RATE_NIGHTLY;
+            dsl.select(rate.PLAN_ID, rate.DT, rate.OCCUPANCY_FROM, rate.AMOUNT_MINOR)
+                    .from(rate)
+                    .where(rate.PLAN_ID.eq(DSL.any(nightlyPlanIds)))
+                    .and(rate.DT.ge(from))
+                    .and(rate.DT.lt(to))
+                    .forEach(record -> builders.get(record.value1())
+                            .nightly(record.value2(), record.value3(), record.value4()));
+        }
+
+        Long[] losPlanIds = planIds(plans, PlanPricing.LOS);
+        if (losPlanIds.length > 0) {
+            RateLos rate = Tables.RATE_LOS;
+            dsl.select(rate.PLAN_ID, rate.CHECKIN_DT, rate.LOS, rate.OCCUPANCY_FROM, rate.AMOUNT_MINOR)
+                    .from(rate)
+                    .where(rate.PLAN_ID.eq(DSL.any(losPlanIds)))
+                    .and(rate.CHECKIN_DT.ge(from))
+                    .and(rate.CHECKIN_DT.lt(to))
+                    .and(rate.LOS.le(RateMatrix.MAX_LOS))
+                    .forEach(record -> builders.get(record.value1())
+                            .los(record.value2(), record.value3(), record.value4(), record.value5()));
+        }
+
+        Map<Long, RateMatrix> matrices = new HashMap<>(builders.size());
+        builders.forEach((planId, builder) -> matrices.put(planId, builder.build()));
+        return matrices;
+    }
+
+    /**
+     * Per room price of a single stay, {@link RateMatrix#NO_RATE} when the plan cannot price it.
+     * Only the rates the stay can use are read: its nights for a nightly plan, its check-in
+     * date for a LOS plan.
+     */
+    public long priceStay(long planId, PlanPricing pricing, LocalDate checkIn, int nights, int guests,
+                          int extraGuestFeeMinor) {
+        LocalDate to = pricing == PlanPricing.LOS ? checkIn.plusDays(1) : checkIn.plusDays(nights);
+        RateMatrix matrix = loadRates(Map.of(planId, pricing), checkIn, to).get(planId);
+        return matrix.forGuests(guests).price(0, nights, extraGuestFeeMinor);
+    }
+
+    private static Long[] planIds(Map<Long, PlanPricing> plans, PlanPricing pricing) {
+        return plans.entrySet().stream()
+                .filter(entry -> entry.getValue() == pricing)
+                .map(Map.Entry::getKey)
+                .toArray(Long[]::new);
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.bluething.stayforge.supplyapi.domain.pricing;
+
+import java.time.LocalDate;
+
+/**
+ * Prices stays of one plan for one occupancy. Per night the highest occupancy tier at or
+ * below the guests that has a rate applies, and every guest above that tier pays the
+ * extra guest fee for the night.
+ * <p>
+ * Amounts are per room for the whole stay in minor units, {@link RateMatrix#NO_RATE} when
+ * a night or the LOS amount is missing or the stay leaves the matrix window.
+ */
+public abstract sealed class StayPricer {
+    final RateMatrix matrix;
+    final int guests;
+
+    StayPricer(RateMatrix matrix, int guests) {
+        this.matrix = matrix;
+        this.guests = guests;
+    }
+
+    public abstract long price(int checkInOffset, int nights, int extraGuestFeeMinor);
+
+    public long price(LocalDate checkIn, int nights, int extraGuestFeeMinor) {
+        return price(matrix.offsetOf(checkIn), nights, extraGuestFeeMinor);
+    }
+
+    /**
+     * Price many candidate stays in one pass into {@code out}
+     */
+    public void price(int[] checkInOffsets, int[] nights, int extraGuestFeeMinor, long[] out) {
+        for (int i = 0; i < checkInOffsets.length; i++) {
+            out[i] = price(checkInOffsets[i], nights[i], extraGuestFeeMinor);
+        }
+    }
+
+    boolean inWindow(int checkInOffset, int nights) {
+        return nights >= 1 && checkInOffset >= 0 && checkInOffset + nights <= matrix.days();
+    }
+
+    /**
+     * Tiers are resolved per night once, then prefix sums make any stay two subtractions
+     */
+    static final class Nightly extends StayPricer {
+        private final long[] amountPrefix;
+        private final long[] extraGuestPrefix;
+        private final int[] missingPrefix;
+
+        Nightly(RateMatrix matrix, int guests, int applicableTiers) {
+            super(matrix, guests);
+            int days = matrix.days();
+            this.amountPrefix = new long[days + 1];
+            this.extraGuestPrefix = new long[days + 1];
+            this.missingPrefix = new int[days + 1];
+
+            for (int day = 0; day < days; day++) {
+                long amount = RateMatrix.NO_RATE;
+                int tier = 0;
+                for (int t = applicableTiers - 1; t >= 0; t--) {
+                    amount = matrix.amount(t, day);
+                    if (amount != RateMatrix.NO_RATE) {
+                        tier = matrix.tier(t);
+                        break;
+                    }
+                }
+
+                boolean missing = amount == RateMatrix.NO_RATE;
+                amountPrefix[day + 1] = amountPrefix[day] + (missing ? 0 : amount);
+                extraGuestPrefix[day + 1] = extraGuestPrefix[day] + (missing ? 0 : guests - tier);
+                missingPrefix[day + 1] = missingPrefix[day] + (missing ? 1 : 0);
+            }
+        }
+
+        @Override
+        public long price(int checkInOffset, int nights, int extraGuestFeeMinor) {
+            if (!inWindow(checkInOffset, nights)) {
+                return RateMatrix.NO_RATE;
+            }
+            int end = checkInOffset + nights;
+            if (missingPrefix[end] != missingPrefix[checkInOffset]) {
+                return RateMatrix.NO_RATE;
+            }
+            return amountPrefix[end] - amountPrefix[checkInOffset]
+                    + extraGuestFeeMinor * (extraGuestPrefix[end] - extraGuestPrefix[checkInOffset]);
+        }
+    }
+
+    static final class Los extends StayPricer {
+        private final int applicableTiers;
+
+        Los(RateMatrix matrix, int guests, int applicableTiers) {
+            super(matrix, guests);
+            this.applicableTiers = applicableTiers;
+        }
+
+        @Override
+        public long price(int checkInOffset, int nights, int extraGuestFeeMinor) {
+            if (!inWindow(checkInOffset, 1) || nights < 1 || nights > RateMatrix.MAX_LOS) {
+                return RateMatrix.NO_RATE;
+            }
+            int index = checkInOffset * RateMatrix.MAX_LOS + nights - 1;
+            for (int t = applicableTiers - 1; t >= 0; t--) {
+                long amount = matrix.amount(t, index);
+                if (amount != RateMatrix.NO_RATE) {
+                    return amount + (long) extraGuestFeeMinor * (guests - matrix.tier(t)) * nights;
+                }
+            }
+            return RateMatrix.NO_RATE;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.domain.reservation;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+
+import java.time.LocalTime;
+
+/**
+ * Active room type and plan combination that fits the occupancy of a reservation
+ */
+record BookableOffer(Long hotelId,
+                     String timezone,
+                     LocalTime checkInTime,
+                     PlanPricing pricing,
+                     String currency,
+                     int extraGuestFeeMinor) {
+}
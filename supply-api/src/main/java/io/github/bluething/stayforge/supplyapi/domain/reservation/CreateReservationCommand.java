@@ -0,0 +1,14 @@
+package io.github.bluething.stayforge.supplyapi.domain.reservation;
+
+import java.time.LocalDate;
+
+public record CreateReservationCommand(
+        Long roomTypeId,
+        Long planId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int guests,
+        String guestName,
+        String guestEmail,
+        String guestPhone
+) {}
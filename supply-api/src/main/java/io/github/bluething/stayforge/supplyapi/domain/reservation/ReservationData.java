@@ -0,0 +1,21 @@
+package io.github.bluething.stayforge.supplyapi.domain.reservation;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+public record ReservationData(
+        Long id,
+        Long hotelId,
+        Long roomTypeId,
+        Long planId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int guests,
+        String status,
+        long totalAmountMinor,
+        String currency,
+        String guestName,
+        String guestEmail,
+        String guestPhone,
+        OffsetDateTime createdAt
+) {}
@@ -0,0 +1,310 @@
+package io.github.bluething.stayforge.supplyapi.domain.reservation;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangePublisher;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.domain.inventory.InventoryGridService;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.RateMatrix;
+import io.github.bluething.stayforge.supplyapi.domain.pricing.StayPriceEngine;
+import io.github.bluething.stayforge.supplyapi.domain.restriction.RestrictionEvaluator;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.RoomTypeInventory;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.records.ReservationRecord;
+import org.jooq.CommonTableExpression;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reservation creation with contention-safe inventory decrement.
+ * <p>
+ * Every night of the stay is taken with one conditional UPDATE: a CTE locks the inventory
+ * rows of the room type in date order, skipping nights without a room left or under
+ * stop-sell, and the UPDATE decrements the rows it locked. Concurrent bookings of the same
+ * room type therefore queue on the first night instead of locking nights in different
+ * orders, which is what deadlocks a per-night SELECT ... FOR UPDATE. Under READ COMMITTED
+ * a row updated by a booking that committed first is re-checked against the condition, so
+ * when fewer nights than the stay come back the whole transaction rolls back and nothing
+ * is oversold.
+ */
+@Service
+public class ReservationService {
+    public static final int MAX_NIGHTS = 30;
+    static final int ROOMS_PER_RESERVATION = 1;
+
+    private static final LocalTime DEFAULT_CHECK_IN_TIME = LocalTime.of(14, 0);
+
+    private final DSLContext dsl;
+    private final StayPriceEngine priceEngine;
+    private final RestrictionEvaluator restrictionEvaluator;
+    private final InventoryGridService inventoryGrid;
+    private final SupplyChangePublisher changePublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReservationService(DSLContext dsl,
+                              StayPriceEngine priceEngine,
+                              RestrictionEvaluator restrictionEvaluator,
+                              InventoryGridService inventoryGrid,
+                              SupplyChangePublisher changePublisher,
+                              PlatformTransactionManager transactionManager) {
+        this.dsl = dsl;
+        this.priceEngine = priceEngine;
+        this.restrictionEvaluator = restrictionEvaluator;
+        this.inventoryGrid = inventoryGrid;
+        this.changePublisher = changePublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ReservationData createReservation(CreateReservationCommand command) {
+        validate(command);
+        int nights = (int) ChronoUnit.DAYS.between(command.checkIn(), command.checkOut());
+
+        Booking booking = transactionTemplate.execute(status -> book(command, nights));
+
+        // The grid only sees committed allotments
+        booking.remaining().forEach(night ->
+                inventoryGrid.updateAllotment(command.roomTypeId(), night.value1(), night.value2()));
+        return booking.reservation();
+    }
+
+    public ReservationData getReservation(Long id) {
+        ReservationRecord record = dsl.selectFrom(Tables.RESERVATION)
+                .where(Tables.RESERVATION.ID.eq(id))
+                .fetchOne();
+        if (record == null) {
+            throw new BusinessException(
+                    ErrorCode.RESERVATION_NOT_FOUND,
+                    HttpStatus.NOT_FOUND,
+                    "Reservation with ID " + id + " not found"
+            );
+        }
+        return toReservationData(record);
+    }
+
+    private Booking book(CreateReservationCommand command, int nights) {
+        BookableOffer offer = findOffer(command);
+        long totalAmountMinor = priceStay(command, offer, nights);
+
+        Result<Record2<LocalDate, Integer>> remaining = takeRooms(command.roomTypeId(), command.checkIn(),
+                command.checkOut());
+        if (remaining.size() != nights) {
+            // Rolls back the nights already decremented
+            throw new BusinessException(
+                    ErrorCode.INSUFFICIENT_INVENTORY,
+                    HttpStatus.CONFLICT,
+                    "No room left on " + (nights - remaining.size()) + " of " + nights + " nights"
+            );
+        }
+
+        // Delivered to the other nodes' grids on commit
+        changePublisher.publish(SupplyEntity.INVENTORY, List.of(command.roomTypeId()));
+
+        ReservationRecord record = new ReservationRecord();
+        record.setHotelId(offer.hotelId());
+        record.setRoomTypeId(command.roomTypeId());
+        record.setPlanId(command.planId());
+        record.setCheckinDate(command.checkIn());
+        record.setCheckoutDate(command.checkOut());
+        record.setGuestCount(command.guests());
+        record.setTotalAmountMinor(totalAmountMinor);
+        record.setCurrency(offer.currency());
+        record.setGuestName(command.guestName());
+        record.setGuestEmail(command.guestEmail());
+        record.setGuestPhone(command.guestPhone());
+        ReservationRecord stored = dsl.insertInto(Tables.RESERVATION)
+                .set(record)
+                .returning()
+                .fetchOne();
+
+        return new Booking(toReservationData(stored), remaining);
+    }
+
+    /**
+     * Decrement every night of the stay in one statement, locking the rows in date order.
+     * Returns the remaining allotment of each night taken.
+     */
+    private Result<Record2<LocalDate, Integer>> takeRooms(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        RoomTypeInventory inventory = Tables.ROOM_TYPE_INVENTORY;
+        CommonTableExpression<Record2<Long, LocalDate>> locked = DSL.name("locked").as(
+                DSL.select(inventory.ROOM_TYPE_ID, inventory.DT)
+                        .from(inventory)
+                        .where(inventory.ROOM_TYPE_ID.eq(roomTypeId))
+                        .and(inventory.DT.ge(checkIn))
+                        .and(inventory.DT.lt(checkOut))
+                        .and(inventory.ALLOTMENT.ge(ROOMS_PER_RESERVATION))
+                        .and(inventory.STOP_SELL.isFalse())
+                        .orderBy(inventory.DT)
+                        .forUpdate());
+
+        return dsl.with(locked)
+                .update(inventory)
+                .set(inventory.ALLOTMENT, inventory.ALLOTMENT.minus(ROOMS_PER_RESERVATION))
+                .set(inventory.UPDATED_AT, DSL.currentOffsetDateTime())
+                .from(locked)
+                .where(inventory.ROOM_TYPE_ID.eq(locked.field(inventory.ROOM_TYPE_ID)))
+                .and(inventory.DT.eq(locked.field(inventory.DT)))
+                .and(inventory.DT.ge(checkIn))
+                .and(inventory.DT.lt(checkOut))
+                .returningResult(inventory.DT, inventory.ALLOTMENT)
+                .fetch();
+    }
+
+    private BookableOffer findOffer(CreateReservationCommand command) {
+        BookableOffer offer = dsl.select(
+                        Tables.HOTEL.ID,
+                        Tables.HOTEL.TIMEZONE,
+                        Tables.HOTEL.CHECK_IN_TIME,
+                        Tables.PLAN.PRICING,
+                        Tables.PLAN.CURRENCY,
+                        Tables.PLAN_ROOM_TYPE.EXTRA_GUEST_FEE_MINOR)
+                .from(Tables.ROOM_TYPE)
+                .join(Tables.HOTEL).on(Tables.HOTEL.ID.eq(Tables.ROOM_TYPE.HOTEL_ID))
+                .join(Tables.PLAN_ROOM_TYPE).on(Tables.PLAN_ROOM_TYPE.ROOM_TYPE_ID.eq(Tables.ROOM_TYPE.ID))
+                .join(Tables.PLAN).on(Tables.PLAN.ID.eq(Tables.PLAN_ROOM_TYPE.PLAN_ID))
+                .where(Tables.ROOM_TYPE.ID.eq(command.roomTypeId()))
+                .and(Tables.PLAN.ID.eq(command.planId()))
+                .and(Tables.HOTEL.ACTIVE.isTrue())
+                .and(Tables.HOTEL.DELETED_AT.isNull())
+                .and(Tables.ROOM_TYPE.ACTIVE.isTrue())
+                .and(Tables.PLAN.ACTIVE.isTrue())
+                .and(Tables.ROOM_TYPE.CAPACITY_MAX.ge(command.guests()))
+                .and(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MIN.isNull()
+                        .or(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MIN.le(command.guests())))
+                .and(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MAX.isNull()
+                        .or(Tables.PLAN_ROOM_TYPE.OCCUPANCY_MAX.ge(command.guests())))
+                .fetchOne(record -> new BookableOffer(
+                        record.get(Tables.HOTEL.ID),
+                        record.get(Tables.HOTEL.TIMEZONE),
+                        record.get(Tables.HOTEL.CHECK_IN_TIME),
+                        PlanPricing.valueOf(record.get(Tables.PLAN.PRICING).toUpperCase(Locale.ROOT)),
+                        record.get(Tables.PLAN.CURRENCY),
+                        record.get(Tables.PLAN_ROOM_TYPE.EXTRA_GUEST_FEE_MINOR)
+                ));
+
+        if (offer == null) {
+            throw new BusinessException(
+                    ErrorCode.OFFER_NOT_FOUND,
+                    HttpStatus.NOT_FOUND,
+                    "Plan " + command.planId() + " cannot be booked on room type " + command.roomTypeId()
+                            + " for " + command.guests() + " guests"
+            );
+        }
+        return offer;
+    }
+
+    /**
+     * Total for the stay, after checking the check-in date and the plan restrictions as the
+     * hotel sees the current time
+     */
+    private long priceStay(CreateReservationCommand command, BookableOffer offer, int nights) {
+        Long[] planIds = {command.planId()};
+        ZonedDateTime now = ZonedDateTime.now(hotelZone(offer));
+        if (command.checkIn().isBefore(now.toLocalDate())) {
+            // Advance rules only catch this when the plan has a restriction row for the date
+            throw invalidCommand("Check-in cannot be before today in the hotel's timezone");
+        }
+        LocalTime checkInTime = offer.checkInTime() != null ? offer.checkInTime() : DEFAULT_CHECK_IN_TIME;
+        boolean allowed = restrictionEvaluator
+                .loadRestrictions(planIds, command.checkIn(), command.checkOut().plusDays(1))
+                .get(command.planId())
+                .allows(0, nights, now, checkInTime);
+        if (!allowed) {
+            throw notBookable("Stay is closed by the plan restrictions");
+        }
+
+        long stayMinor = priceEngine.priceStay(command.planId(), offer.pricing(), command.checkIn(), nights,
+                command.guests(), offer.extraGuestFeeMinor());
+        if (stayMinor == RateMatrix.NO_RATE) {
+            throw notBookable("Plan has no rate for the stay");
+        }
+        return stayMinor * ROOMS_PER_RESERVATION;
+    }
+
+    private static ZoneId hotelZone(BookableOffer offer) {
+        try {
+            return ZoneId.of(offer.timezone());
+        } catch (DateTimeException e) {
+            throw new BusinessException(
+                    ErrorCode.HOTEL_MISCONFIGURED,
+                    HttpStatus.CONFLICT,
+                    "Hotel " + offer.hotelId() + " cannot take bookings, its timezone '" + offer.timezone()
+                            + "' is not valid"
+            );
+        }
+    }
+
+    private static ReservationData toReservationData(ReservationRecord record) {
+        return new ReservationData(
+                record.getId(),
+                record.getHotelId(),
+                record.getRoomTypeId(),
+                record.getPlanId(),
+                record.getCheckinDate(),
+                record.getCheckoutDate(),
+                record.getGuestCount(),
+                record.getStatus(),
+                record.getTotalAmountMinor(),
+                record.getCurrency(),
+                record.getGuestName(),
+                record.getGuestEmail(),
+                record.getGuestPhone(),
+                record.getCreatedAt()
+        );
+    }
+
+    private static void validate(CreateReservationCommand command) {
+        if (command.roomTypeId() == null || command.planId() == null) {
+            throw invalidCommand("Both room type and plan are required");
+        }
+        if (command.checkIn() == null || command.checkOut() == null) {
+            throw invalidCommand("Both check-in and check-out dates are required");
+        }
+        if (!command.checkOut().isAfter(command.checkIn())) {
+            throw invalidCommand("Check-out must be after check-in");
+        }
+        if (ChronoUnit.DAYS.between(command.checkIn(), command.checkOut()) > MAX_NIGHTS) {
+            throw invalidCommand("Stay cannot exceed " + MAX_NIGHTS + " nights");
+        }
+        if (command.guests() < 1) {
+            throw invalidCommand("At least one guest is required");
+        }
+        if (command.guestName() == null || command.guestName().isBlank()) {
+            throw invalidCommand("Guest name is required");
+        }
+    }
+
+    private static BusinessException invalidCommand(String message) {
+        return new BusinessException(
+                ErrorCode.VALIDATION_ERROR,
+                HttpStatus.BAD_REQUEST,
+                message
+        );
+    }
+
+    private static BusinessException notBookable(String message) {
+        return new BusinessException(
+                ErrorCode.STAY_NOT_BOOKABLE,
+                HttpStatus.CONFLICT,
+                message
+        );
+    }
+
+    private record Booking(ReservationData reservation, Result<Record2<LocalDate, Integer>> remaining) {
+    }
+}
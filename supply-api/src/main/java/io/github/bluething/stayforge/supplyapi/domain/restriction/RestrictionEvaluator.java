@@ -0,0 +1,64 @@
+package io.github.bluething.stayforge.supplyapi.domain.restriction;
+
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.PlanRestriction;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles plan restrictions into {@link RestrictionMatrix} instances with one query
+ * filtered on the partition key range.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class RestrictionEvaluator {
+    private final DSLContext dsl;
+
+    /**
+     * Restriction matrices for the dates from {@code from} up to {@code to} exclusive.
+     * The window must include the departure dates. Plans without rows get an unrestricted matrix.
+     */
+    public Map<Long, RestrictionMatrix> loadRestrictions(Long[] planIds, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        if (planIds.length == 0 || days <= 0) {
+            return Map.of();
+        }
+
+        Map<Long, RestrictionMatrix.Builder> builders = new HashMap<>();
+        for (Long planId : planIds) {
+            builders.put(planId, new RestrictionMatrix.Builder(from, days));
+        }
+
+        PlanRestriction restriction = Tables.PLAN_RESTRICTION;
+        dsl.selectFrom(restriction)
+                .where(restriction.PLAN_ID.eq(DSL.any(planIds)))
+                .and(restriction.DT.ge(from))
+                .and(restriction.DT.lt(to))
+                .forEach(record -> builders.get(record.getPlanId()).row(
+                        record.getDt(),
+                        Boolean.TRUE.equals(record.getClosed()),
+                        Boolean.TRUE.equals(record.getCta()),
+                        Boolean.TRUE.equals(record.getCtd()),
+                        record.getMinLos(),
+                        record.getMaxLos(),
+                        record.getMinAdvanceDays(),
+                        record.getMaxAdvanceDays(),
+                        record.getMinAdvanceHours(),
+                        record.getMaxAdvanceHours(),
+                        record.getBookingCutoffTime()
+                ));
+
+        Map<Long, RestrictionMatrix> matrices = new HashMap<>(builders.size());
+        builders.forEach((planId, builder) -> matrices.put(planId, builder.build()));
+        return matrices;
+    }
+}
@@ -0,0 +1,291 @@
+package io.github.bluething.stayforge.supplyapi.domain.restriction;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * Restrictions of one plan over a date window, compiled for evaluating many stays.
+ * <p>
+ * Closed, CTA and CTD are bitsets over the day offset from {@link #firstDay()}, so the
+ * night and arrival rules of every check-in for a stay length are resolved with a few
+ * word operations. LOS, advance and cutoff rules of each arrival date are kept in int
+ * arrays, with {@link #NONE} for no restriction. A date without a row is unrestricted.
+ * <p>
+ * The window must include the departure date of the stays evaluated, stays leaving it are
+ * not bookable.
+ */
+public final class RestrictionMatrix {
+    public static final int NONE = -1;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int SECONDS_PER_HOUR = 3_600;
+
+    private final long firstEpochDay;
+    private final int days;
+    private final long[] closed;
+    private final long[] closedToArrival;
+    private final long[] closedToDeparture;
+    private final int[] minLos;
+    private final int[] maxLos;
+    private final int[] minAdvanceDays;
+    private final int[] maxAdvanceDays;
+    private final int[] minAdvanceHours;
+    private final int[] maxAdvanceHours;
+    private final int[] cutoffSecond;
+
+    private RestrictionMatrix(Builder builder) {
+        this.firstEpochDay = builder.firstEpochDay;
+        this.days = builder.days;
+        this.closed = builder.closed;
+        this.closedToArrival = builder.closedToArrival;
+        this.closedToDeparture = builder.closedToDeparture;
+        this.minLos = builder.minLos;
+        this.maxLos = builder.maxLos;
+        this.minAdvanceDays = builder.minAdvanceDays;
+        this.maxAdvanceDays = builder.maxAdvanceDays;
+        this.minAdvanceHours = builder.minAdvanceHours;
+        this.maxAdvanceHours = builder.maxAdvanceHours;
+        this.cutoffSecond = builder.cutoffSecond;
+    }
+
+    public LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public int offsetOf(LocalDate day) {
+        return (int) (day.toEpochDay() - firstEpochDay);
+    }
+
+    /**
+     * @param now         current time in the hotel's timezone
+     * @param checkInTime hotel check-in time, the arrival instant for hour-level rules
+     */
+    public boolean allows(LocalDate checkIn, int nights, ZonedDateTime now, LocalTime checkInTime) {
+        return allows(offsetOf(checkIn), nights, now, checkInTime);
+    }
+
+    public boolean allows(int checkInOffset, int nights, ZonedDateTime now, LocalTime checkInTime) {
+        if (nights < 1 || checkInOffset < 0 || checkInOffset + nights >= days) {
+            return false;
+        }
+        if (testBit(closedToArrival, checkInOffset)
+                || testBit(closedToDeparture, checkInOffset + nights)
+                || anyBit(closed, checkInOffset, checkInOffset + nights)) {
+            return false;
+        }
+        return allowsArrival(checkInOffset, nights, now.toLocalDate().toEpochDay(),
+                now.toLocalTime().toSecondOfDay(), checkInTime.toSecondOfDay());
+    }
+
+    /**
+     * Evaluate many candidate stays at once. The night, CTA and CTD rules are resolved as
+     * one bitset per distinct stay length, then only the arrivals left are checked against
+     * the LOS and advance rules.
+     */
+    public void evaluate(int[] checkInOffsets, int[] nights, ZonedDateTime now, LocalTime checkInTime,
+                         boolean[] out) {
+        long nowEpochDay = now.toLocalDate().toEpochDay();
+        int nowSecond = now.toLocalTime().toSecondOfDay();
+        int checkInSecond = checkInTime.toSecondOfDay();
+
+        long[][] arrivalsByNights = new long[days][];
+        for (int i = 0; i < checkInOffsets.length; i++) {
+            int offset = checkInOffsets[i];
+            int length = nights[i];
+            if (length < 1 || length >= days || offset < 0 || offset >= days) {
+                out[i] = false;
+                continue;
+            }
+
+            long[] arrivals = arrivalsByNights[length];
+            if (arrivals == null) {
+                arrivals = arrivals(length);
+                arrivalsByNights[length] = arrivals;
+            }
+            out[i] = testBit(arrivals, offset)
+                    && allowsArrival(offset, length, nowEpochDay, nowSecond, checkInSecond);
+        }
+    }
+
+    /**
+     * Check-in offsets whose stay of {@code nights} has no closed night, no CTA on arrival,
+     * no CTD on departure and a departure inside the window
+     */
+    public long[] arrivals(int nights) {
+        // blocked[d] = closed on any of d .. d + nights - 1, by doubling the covered span
+        long[] blocked = closed.clone();
+        int span = 1;
+        while (span * 2 <= nights) {
+            orShiftedDown(blocked, blocked, span);
+            span *= 2;
+        }
+        if (span < nights) {
+            orShiftedDown(blocked, blocked, nights - span);
+        }
+        orShiftedDown(blocked, closedToDeparture, nights);
+
+        int lastArrival = days - nights;
+        for (int word = 0; word < blocked.length; word++) {
+            long allowed = ~(blocked[word] | closedToArrival[word]);
+            int base = word << 6;
+            if (base + 64 > lastArrival) {
+                int valid = Math.max(0, lastArrival - base);
+                allowed &= valid == 0 ? 0L : -1L >>> (64 - valid);
+            }
+            blocked[word] = allowed;
+        }
+        return blocked;
+    }
+
+    private boolean allowsArrival(int offset, int nights, long nowEpochDay, int nowSecond, int checkInSecond) {
+        if ((minLos[offset] != NONE && nights < minLos[offset])
+                || (maxLos[offset] != NONE && nights > maxLos[offset])) {
+            return false;
+        }
+
+        long advanceDays = firstEpochDay + offset - nowEpochDay;
+        if ((minAdvanceDays[offset] != NONE && advanceDays < minAdvanceDays[offset])
+                || (maxAdvanceDays[offset] != NONE && advanceDays > maxAdvanceDays[offset])) {
+            return false;
+        }
+
+        if (minAdvanceHours[offset] != NONE || maxAdvanceHours[offset] != NONE) {
+            long advanceHours = (advanceDays * SECONDS_PER_DAY + checkInSecond - nowSecond) / SECONDS_PER_HOUR;
+            if ((minAdvanceHours[offset] != NONE && advanceHours < minAdvanceHours[offset])
+                    || (maxAdvanceHours[offset] != NONE && advanceHours > maxAdvanceHours[offset])) {
+                return false;
+            }
+        }
+
+        // Same-day bookings close at the cutoff time
+        return cutoffSecond[offset] == NONE || advanceDays > 0 || nowSecond < cutoffSecond[offset];
+    }
+
+    private static boolean testBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Whether any bit in [from, to) is set
+     */
+    private static boolean anyBit(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (bits[word] != 0) {
+                return true;
+            }
+        }
+        return (bits[lastWord] & lastMask) != 0;
+    }
+
+    /**
+     * target |= source shifted so that bit d takes bit d + shift. Safe in place, words are
+     * read at or above the one written.
+     */
+    private static void orShiftedDown(long[] target, long[] source, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int word = 0; word + wordShift < source.length; word++) {
+            int from = word + wordShift;
+            long shifted = source[from] >>> bitShift;
+            if (bitShift != 0 && from + 1 < source.length) {
+                shifted |= source[from + 1] << (64 - bitShift);
+            }
+            target[word] |= shifted;
+        }
+    }
+
+    /**
+     * Collects restriction rows in any order, then freezes them
+     */
+    static final class Builder {
+        private final long firstEpochDay;
+        private final int days;
+        private final long[] closed;
+        private final long[] closedToArrival;
+        private final long[] closedToDeparture;
+        private final int[] minLos;
+        private final int[] maxLos;
+        private final int[] minAdvanceDays;
+        private final int[] maxAdvanceDays;
+        private final int[] minAdvanceHours;
+        private final int[] maxAdvanceHours;
+        private final int[] cutoffSecond;
+
+        Builder(LocalDate firstDay, int days) {
+            this.firstEpochDay = firstDay.toEpochDay();
+            this.days = days;
+            int words = (days + 63) >>> 6;
+            this.closed = new long[words];
+            this.closedToArrival = new long[words];
+            this.closedToDeparture = new long[words];
+            this.minLos = unrestricted(days);
+            this.maxLos = unrestricted(days);
+            this.minAdvanceDays = unrestricted(days);
+            this.maxAdvanceDays = unrestricted(days);
+            this.minAdvanceHours = unrestricted(days);
+            this.maxAdvanceHours = unrestricted(days);
+            this.cutoffSecond = unrestricted(days);
+        }
+
+        Builder row(LocalDate day, boolean closed, boolean cta, boolean ctd,
+                    Integer minLos, Integer maxLos,
+                    Integer minAdvanceDays, Integer maxAdvanceDays,
+                    Integer minAdvanceHours, Integer maxAdvanceHours,
+                    LocalTime bookingCutoffTime) {
+            int offset = (int) (day.toEpochDay() - firstEpochDay);
+            if (offset < 0 || offset >= days) {
+                return this;
+            }
+
+            setBit(this.closed, offset, closed);
+            setBit(this.closedToArrival, offset, cta);
+            setBit(this.closedToDeparture, offset, ctd);
+            this.minLos[offset] = orNone(minLos);
+            this.maxLos[offset] = orNone(maxLos);
+            this.minAdvanceDays[offset] = orNone(minAdvanceDays);
+            this.maxAdvanceDays[offset] = orNone(maxAdvanceDays);
+            this.minAdvanceHours[offset] = orNone(minAdvanceHours);
+            this.maxAdvanceHours[offset] = orNone(maxAdvanceHours);
+            this.cutoffSecond[offset] = bookingCutoffTime != null ? bookingCutoffTime.toSecondOfDay() : NONE;
+            return this;
+        }
+
+        RestrictionMatrix build() {
+            return new RestrictionMatrix(this);
+        }
+
+        private static int[] unrestricted(int days) {
+            int[] values = new int[days];
+            Arrays.fill(values, NONE);
+            return values;
+        }
+
+        private static int orNone(Integer value) {
+            return value != null ? value : NONE;
+        }
+
+        private static void setBit(long[] bits, int index, boolean value) {
+            if (value) {
+                bits[index >>> 6] |= 1L << index;
+            } else {
+                bits[index >>> 6] &= ~(1L << index);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.bluething.stayforge.supplyapi.domain.systemconfig;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the {@code system_config} table.
+ * <p>
+ * Typed accessors fall back to their default when a key is missing or its value does not
+ * parse, so a bad edit degrades to the built-in behaviour instead of failing requests.
+ */
+public record SystemConfig(Map<String, String> values,
+                           OffsetDateTime lastUpdatedAt,
+                           OffsetDateTime loadedAt) {
+    public static final String DEFAULT_ALLOTMENT_KEY = "inventory.default_allotment";
+    public static final String MAX_ADVANCE_DAYS_KEY = "inventory.max_advance_days";
+    public static final String DEFAULT_CURRENCY_KEY = "rates.default_currency";
+    public static final String PARTITIONS_AUTO_CREATE_KEY = "partitions.auto_create";
+    public static final String PARTITIONS_RETENTION_MONTHS_KEY = "partitions.retention_months";
+
+    public SystemConfig {
+        values = Map.copyOf(values);
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        return value != null && !value.isBlank() ? value.trim() : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    public int defaultAllotment() {
+        return getInt(DEFAULT_ALLOTMENT_KEY, 10);
+    }
+
+    public int maxAdvanceDays() {
+        return getInt(MAX_ADVANCE_DAYS_KEY, 365);
+    }
+
+    public String defaultCurrency() {
+        return getString(DEFAULT_CURRENCY_KEY, "IDR").toUpperCase(Locale.ROOT);
+    }
+
+    public boolean partitionsAutoCreate() {
+        return getBoolean(PARTITIONS_AUTO_CREATE_KEY, true);
+    }
+
+    public int partitionsRetentionMonths() {
+        return getInt(PARTITIONS_RETENTION_MONTHS_KEY, 24);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.bluething.stayforge.supplyapi.domain.systemconfig;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only actuator view of the active config snapshot
+ */
+@Component
+@Endpoint(id = "systemconfig")
+@RequiredArgsConstructor
+public class SystemConfigEndpoint {
+    private final SystemConfigService systemConfigService;
+
+    @ReadOperation
+    public SystemConfig systemConfig() {
+        return systemConfigService.current();
+    }
+}
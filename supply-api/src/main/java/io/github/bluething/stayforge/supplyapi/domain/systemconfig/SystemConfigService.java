@@ -0,0 +1,108 @@
+package io.github.bluething.stayforge.supplyapi.domain.systemconfig;
+
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChangeHandler;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves {@code system_config} from an immutable snapshot, so reading a setting is a
+ * volatile load.
+ * <p>
+ * The snapshot is loaded on first use. A trigger announces every committed change to the
+ * table on the supply change channel, and the snapshot is reloaded when that arrives. A
+ * slow poll reloads the table and swaps the snapshot when its content differs, which
+ * covers notifications lost while the listener was disconnected. A failed poll keeps the
+ * current snapshot.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SystemConfigService implements SupplyChangeHandler {
+    private final DSLContext dsl;
+
+    private volatile SystemConfig snapshot;
+
+    public SystemConfig current() {
+        SystemConfig current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @Override
+    public void onChanges(SupplyChanges changes) {
+        if (changes.affects(SupplyEntity.SYSTEM_CONFIG)) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${supply.system-config.poll-interval:PT30S}",
+            initialDelayString = "${supply.system-config.poll-interval:PT30S}")
+    public void poll() {
+        try {
+            refreshIfChanged();
+        } catch (DataAccessException e) {
+            log.warn("System config poll failed, keeping the current snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the table and swap the snapshot in when its content differs. The table is a
+     * handful of rows, so comparing them whole is cheaper than trusting timestamps, which
+     * carry the start of a transaction rather than its commit.
+     *
+     * @return true when a new snapshot was swapped in
+     */
+    public synchronized boolean refreshIfChanged() {
+        SystemConfig current = snapshot;
+        SystemConfig loaded = load();
+        if (current != null && current.values().equals(loaded.values())) {
+            return false;
+        }
+        swap(loaded);
+        return true;
+    }
+
+    /**
+     * Load the table and swap the snapshot in
+     */
+    public synchronized SystemConfig refresh() {
+        SystemConfig loaded = load();
+        swap(loaded);
+        return loaded;
+    }
+
+    private SystemConfig load() {
+        Map<String, String> values = new HashMap<>();
+        OffsetDateTime[] lastUpdatedAt = new OffsetDateTime[1];
+        dsl.select(Tables.SYSTEM_CONFIG.CONFIG_KEY, Tables.SYSTEM_CONFIG.CONFIG_VALUE, Tables.SYSTEM_CONFIG.UPDATED_AT)
+                .from(Tables.SYSTEM_CONFIG)
+                .forEach(record -> {
+                    values.put(record.value1(), record.value2());
+                    if (lastUpdatedAt[0] == null || record.value3().isAfter(lastUpdatedAt[0])) {
+                        lastUpdatedAt[0] = record.value3();
+                    }
+                });
+        return new SystemConfig(values, lastUpdatedAt[0], OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    private void swap(SystemConfig next) {
+        SystemConfig previous = snapshot;
+        snapshot = next;
+        if (previous == null) {
+            log.info("Loaded {} system config entries", next.values().size());
+        } else if (!previous.values().equals(next.values())) {
+            log.info("System config changed: {}", next.values());
+        }
+    }
+}
@@ -4,16 +4,27 @@ public enum ErrorCode {
     // Validation errors
     VALIDATION_ERROR("validation-error", "Validation failed"),
     INVALID_REQUEST_FORMAT("invalid-request-format", "Invalid request format"),
+    INVALID_CURSOR("invalid-cursor", "Invalid pagination cursor"),
 
     // Business logic errors
     AREA_NOT_FOUND("area-not-found", "Area not found"),
     HOTEL_NOT_FOUND("hotel-not-found", "Hotel not found"),
+    ROOM_TYPE_NOT_FOUND("room-type-not-found", "Room type not found"),
+    PLAN_NOT_FOUND("plan-not-found", "Plan not found"),
     AREA_HAS_ACTIVE_HOTELS("area-has-active-hotels", "Cannot delete area with active hotels"),
     DUPLICATE_SLUG("duplicate-slug", "Slug already exists"),
+    RESERVATION_NOT_FOUND("reservation-not-found", "Reservation not found"),
+    OFFER_NOT_FOUND("offer-not-found", "Room type and plan combination not found"),
+    STAY_NOT_BOOKABLE("stay-not-bookable", "Stay is restricted or has no rate"),
+    INSUFFICIENT_INVENTORY("insufficient-inventory", "Not enough rooms left for the stay"),
+    HOTEL_MISCONFIGURED("hotel-misconfigured", "Hotel data is invalid"),
 
     // System errors
     INTERNAL_SERVER_ERROR("internal-server-error", "Internal server error"),
-    RATE_LIMIT_EXCEEDED("rate-limit-exceeded", "Rate limit exceeded");
+    RATE_LIMIT_EXCEEDED("rate-limit-exceeded", "Rate limit exceeded"),
+    AUTOCOMPLETE_UNAVAILABLE("autocomplete-unavailable", "Autocomplete index is not loaded yet"),
+    FACETS_UNAVAILABLE("facets-unavailable", "Facet index is not loaded yet"),
+    LOWEST_PRICES_UNAVAILABLE("lowest-prices-unavailable", "Lowest price calendar is not loaded yet");
 
     private final String code;
     private final String title;
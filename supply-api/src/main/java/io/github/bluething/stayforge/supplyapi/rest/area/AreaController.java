@@ -1,5 +1,10 @@
 package io.github.bluething.stayforge.supplyapi.rest.area;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
+import io.github.bluething.stayforge.supplyapi.domain.area.AreaImportService;
+import io.github.bluething.stayforge.supplyapi.domain.area.AreaMatchMode;
 import io.github.bluething.stayforge.supplyapi.domain.area.AreaService;
 import io.github.bluething.stayforge.supplyapi.rest.PaginationRequest;
 import io.github.bluething.stayforge.supplyapi.rest.ValidationGroups;
@@ -11,14 +16,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/areas")
@@ -26,9 +42,12 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Areas", description = "Geographic area management for hotel operators")
 @RequiredArgsConstructor
 class AreaController {
+    private static final int MAX_BATCH_IDS = 100;
 
     private final AreaService areaService;
+    private final AreaImportService areaImportService;
     private final AreaDtoMapper dtoMapper;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Create a new area",
@@ -85,6 +104,69 @@ class AreaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            summary = "Bulk create areas",
+            description = "Creates many areas at once from a JSON array (up to 10000 items) or an NDJSON stream "
+                    + "of create requests. Items are imported in chunks, each chunk in its own transaction, "
+                    + "and the response reports the outcome of every item in request order."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkAreaResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed request body or too many items"
+            )
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkAreaResponse> bulkCreateAreas(
+            @RequestBody
+            @Size(min = 1, max = AreaImportService.MAX_ITEMS, message = "Bulk request must contain between 1 and 10000 items")
+            List<CreateAreaRequest> requests) {
+
+        var results = areaImportService.importAreas(requests.iterator(), dtoMapper::toCommand,
+                ValidationGroups.Create.class);
+        return ResponseEntity.ok(dtoMapper.toBulkResponse(results));
+    }
+
+    @Operation(
+            summary = "Bulk create areas from an NDJSON stream",
+            description = "Creates areas from a stream of create requests, one JSON object per line. Lines are "
+                    + "read and imported in chunks as they arrive, each chunk in its own transaction. At most "
+                    + "10000 items are processed: reading stops after that, or at the first malformed line, "
+                    + "with one INVALID result standing for the rest of the stream."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkAreaResponse.class)
+                    )
+            )
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Create requests, one JSON object per line",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = CreateAreaRequest.class)
+            )
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkAreaResponse> bulkCreateAreasNdjson(InputStream body) throws IOException {
+        try (MappingIterator<CreateAreaRequest> items = objectMapper.readerFor(CreateAreaRequest.class).readValues(body)) {
+            var results = areaImportService.importAreas(items, dtoMapper::toCommand, ValidationGroups.Create.class);
+            return ResponseEntity.ok(dtoMapper.toBulkResponse(results));
+        }
+    }
+
     @Operation(
             summary = "Get area by ID",
             description = "Retrieves a single area by its unique identifier"
@@ -98,6 +180,10 @@ class AreaController {
                             schema = @Schema(implementation = AreaResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Area unchanged since the ETag given in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid area ID"
@@ -110,12 +196,52 @@ class AreaController {
     @GetMapping("/{id}")
     public ResponseEntity<AreaResponse> getArea(
             @Parameter(description = "Area unique identifier", example = "123")
-            @PathVariable("id") @Positive(message = "Area ID must be positive") Long id) {
+            @PathVariable("id") @Positive(message = "Area ID must be positive") Long id,
+            WebRequest webRequest) {
 
         var areaData = areaService.getAreaById(id);
+
+        // Answer If-None-Match before mapping or serializing anything
+        String etag = dtoMapper.toETag(areaData);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
         var response = dtoMapper.toResponse(areaData);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    @Operation(
+            summary = "Get areas by IDs",
+            description = "Retrieves up to 100 areas in one request, in the order their IDs are given. "
+                    + "Cached areas are served from memory and the others are loaded with a single query. "
+                    + "IDs without an active area are listed in notFound instead of failing the request."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Areas retrieved, see notFound for missing IDs",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchAreaResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No IDs, too many IDs or an invalid ID"
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchAreaResponse> getAreas(
+            @Parameter(description = "Comma-separated area IDs (1-100)", example = "123,124")
+            @RequestParam("ids")
+            @Size(min = 1, max = MAX_BATCH_IDS, message = "Between 1 and 100 IDs are required")
+            List<@NotNull(message = "Area ID is required")
+                 @Positive(message = "Area ID must be positive") Long> ids) {
+
+        var areas = areaService.getAreasByIds(ids);
+        return ResponseEntity.ok(dtoMapper.toBatchResponse(ids, areas));
     }
 
     @Operation(
@@ -190,7 +316,8 @@ class AreaController {
 
     @Operation(
             summary = "List areas",
-            description = "Retrieves a paginated list of areas with optional name filtering"
+            description = "Retrieves a paginated list of areas with optional name filtering. "
+                    + "Fuzzy matching ranks areas by trigram similarity of name and slug."
     )
     @ApiResponses({
             @ApiResponse(
@@ -227,9 +354,13 @@ class AreaController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Filtered set unchanged since the ETag given in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid pagination parameters"
+                    description = "Invalid pagination parameters, count mode or match mode"
             )
     })
     @GetMapping
@@ -244,13 +375,45 @@ class AreaController {
             Integer limit,
 
             @Parameter(description = "Filter by area name (case-insensitive partial match)", example = "kuta")
-            @RequestParam(value = "name", required = false) String name) {
+            @RequestParam(value = "name", required = false) String name,
+
+            @Parameter(description = "How to compute the total: exact, none or estimated. Only the first page counts, "
+                    + "later pages reuse the total carried by the cursor", example = "exact")
+            @RequestParam(value = "count", required = false) String count,
+
+            @Parameter(description = "How the name filter matches: contains (substring) or fuzzy "
+                    + "(trigram similarity on name and slug, best matches first)", example = "contains")
+            @RequestParam(value = "match", required = false) String match,
+
+            @Parameter(description = "Minimum trigram similarity for fuzzy matching (0-1)", example = "0.3")
+            @RequestParam(value = "minSimilarity", required = false)
+            @DecimalMin(value = "0.0", message = "Minimum similarity must be at least 0")
+            @DecimalMax(value = "1.0", message = "Minimum similarity cannot exceed 1")
+            Double minSimilarity,
+
+            WebRequest webRequest) {
 
         var pagination = PaginationRequest.of(cursor, limit);
-        var query = dtoMapper.toQuery(pagination, name);
-        var pagedResult = areaService.listAreas(query);
+        var countMode = CountMode.from(count, CountMode.EXACT);
+        var query = dtoMapper.toQuery(pagination, name, countMode, AreaMatchMode.from(match), minSimilarity);
+
+        // The validator costs the same aggregate as an exact first page count, which it then replaces,
+        // so it is computed for those pages and whenever the client sends If-None-Match
+        boolean exactFirstPage = countMode == CountMode.EXACT && (cursor == null || cursor.isBlank());
+        if (!exactFirstPage && webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            var pagedResult = areaService.listAreas(query);
+            return ResponseEntity.ok(dtoMapper.toListResponse(pagedResult));
+        }
+
+        var version = areaService.getListVersion(query);
+        String etag = dtoMapper.toListETag(version, countMode);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        var pagedResult = areaService.listAreas(query, version);
         var response = dtoMapper.toListResponse(pagedResult);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response);
     }
 }
@@ -1,7 +1,12 @@
 package io.github.bluething.stayforge.supplyapi.rest.area;
 
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
 import io.github.bluething.stayforge.supplyapi.domain.PagedResult;
 import io.github.bluething.stayforge.supplyapi.domain.area.AreaData;
+import io.github.bluething.stayforge.supplyapi.domain.area.AreaImportResult;
+import io.github.bluething.stayforge.supplyapi.domain.area.AreaImportStatus;
+import io.github.bluething.stayforge.supplyapi.domain.area.AreaListVersion;
+import io.github.bluething.stayforge.supplyapi.domain.area.AreaMatchMode;
 import io.github.bluething.stayforge.supplyapi.domain.area.AreaQuery;
 import io.github.bluething.stayforge.supplyapi.domain.area.CreateAreaCommand;
 import io.github.bluething.stayforge.supplyapi.domain.area.UpdateAreaCommand;
@@ -9,6 +14,14 @@ import io.github.bluething.stayforge.supplyapi.rest.PaginationMetadata;
 import io.github.bluething.stayforge.supplyapi.rest.PaginationRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 @Component
 class AreaDtoMapper {
     public CreateAreaCommand toCommand(CreateAreaRequest request) {
@@ -30,11 +43,38 @@ class AreaDtoMapper {
                 areaData.slug()
         );
     }
-    public AreaQuery toQuery(PaginationRequest pagination, String nameFilter) {
+    /**
+     * Strong entity tag of a single area, derived from its ID and last update time
+     */
+    public String toETag(AreaData areaData) {
+        return "\"" + areaData.id() + "-" + Long.toHexString(toEpochMicros(areaData.updatedAt())) + "\"";
+    }
+
+    /**
+     * Entity tag of a list page, derived from the validator of the filtered set. Estimated
+     * totals may vary while the set does not, so the tag is weak in that mode.
+     */
+    public String toListETag(AreaListVersion version, CountMode countMode) {
+        String tag = "\"l-" + Long.toHexString(toEpochMicros(version.lastModified())) + "-" + version.count() + "\"";
+        return countMode == CountMode.ESTIMATED ? "W/" + tag : tag;
+    }
+
+    private static long toEpochMicros(OffsetDateTime timestamp) {
+        if (timestamp == null) {
+            return 0L;
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant());
+    }
+
+    public AreaQuery toQuery(PaginationRequest pagination, String nameFilter, CountMode countMode,
+                             AreaMatchMode matchMode, Double minSimilarity) {
         return new AreaQuery(
                 pagination.cursor(),
                 pagination.limit(),
-                nameFilter
+                nameFilter,
+                countMode,
+                matchMode,
+                minSimilarity
         );
     }
     public AreaListResponse toListResponse(PagedResult<AreaData> pagedResult) {
@@ -52,4 +92,36 @@ class AreaDtoMapper {
 
         return new AreaListResponse(areas, paginationMetadata);
     }
+    public BatchAreaResponse toBatchResponse(List<Long> ids, Map<Long, AreaData> found) {
+        List<AreaResponse> data = new ArrayList<>(found.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            AreaData areaData = found.get(id);
+            if (areaData != null) {
+                data.add(toResponse(areaData));
+            } else {
+                notFound.add(id);
+            }
+        }
+
+        return new BatchAreaResponse(data, notFound);
+    }
+    public BulkAreaResponse toBulkResponse(List<AreaImportResult> results) {
+        List<BulkAreaItemResponse> items = new ArrayList<>(results.size());
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            AreaImportResult result = results.get(i);
+            if (result.status() == AreaImportStatus.CREATED) {
+                created++;
+            }
+            items.add(new BulkAreaItemResponse(
+                    i,
+                    result.status().name(),
+                    result.area() != null ? toResponse(result.area()) : null,
+                    result.message()
+            ));
+        }
+
+        return new BulkAreaResponse(created, results.size() - created, items);
+    }
 }
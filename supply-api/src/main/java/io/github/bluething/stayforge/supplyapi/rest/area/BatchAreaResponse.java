@@ -0,0 +1,14 @@
+package io.github.bluething.stayforge.supplyapi.rest.area;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Areas found for a list of IDs, in request order")
+record BatchAreaResponse(
+        @Schema(description = "Found areas in the order their IDs were requested, duplicates once")
+        List<AreaResponse> data,
+
+        @Schema(description = "Requested IDs without an active area", example = "[99999]")
+        List<Long> notFound
+) {}
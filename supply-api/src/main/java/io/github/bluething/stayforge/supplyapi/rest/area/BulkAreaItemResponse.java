@@ -0,0 +1,20 @@
+package io.github.bluething.stayforge.supplyapi.rest.area;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of a single bulk import item")
+record BulkAreaItemResponse(
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "Item outcome", example = "CREATED", allowableValues = {"CREATED", "DUPLICATE", "INVALID"})
+        String status,
+
+        @Schema(description = "Created area, only present when status is CREATED")
+        AreaResponse area,
+
+        @Schema(description = "Why the item was not created", example = "Area with slug 'kuta-bali' already exists")
+        String message
+) {}
@@ -0,0 +1,17 @@
+package io.github.bluething.stayforge.supplyapi.rest.area;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Bulk import summary with per-item results in request order")
+record BulkAreaResponse(
+        @Schema(description = "Number of areas created", example = "998")
+        int created,
+
+        @Schema(description = "Number of items rejected as duplicate or invalid", example = "2")
+        int rejected,
+
+        @Schema(description = "Per-item results")
+        List<BulkAreaItemResponse> results
+) {}
@@ -0,0 +1,46 @@
+package io.github.bluething.stayforge.supplyapi.rest.ari;
+
+import io.github.bluething.stayforge.supplyapi.domain.ari.AriIngestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/ari")
+@Tag(name = "ARI", description = "Availability, rates and inventory updates from channel managers")
+@RequiredArgsConstructor
+class AriController {
+    private final AriIngestService ariIngestService;
+    private final AriDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Push ARI updates in bulk",
+            description = "Accepts NDJSON where each line is an inventory, rate, los or restriction update. " +
+                    "Lines are upserted in chunks; invalid lines and lines for unknown room types or plans are " +
+                    "reported and the rest is applied."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Payload processed, see rejects for lines that were not applied",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = AriIngestResponse.class)
+            )
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<AriIngestResponse> ingest(InputStream body) throws IOException {
+        var result = ariIngestService.ingest(body);
+        return ResponseEntity.ok(dtoMapper.toResponse(result));
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.bluething.stayforge.supplyapi.rest.ari;
+
+import io.github.bluething.stayforge.supplyapi.domain.ari.AriIngestResult;
+import org.springframework.stereotype.Component;
+
+@Component
+class AriDtoMapper {
+    public AriIngestResponse toResponse(AriIngestResult result) {
+        var rejects = result.rejects().stream()
+                .map(reject -> new AriRejectResponse(reject.line(), reject.message()))
+                .toList();
+
+        return new AriIngestResponse(
+                result.received(),
+                result.applied(),
+                result.rejected(),
+                rejects
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.bluething.stayforge.supplyapi.rest.ari;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of an ARI push")
+record AriIngestResponse(
+        @Schema(description = "Non-blank lines received", example = "50000")
+        Long received,
+
+        @Schema(description = "Lines written", example = "49998")
+        Long applied,
+
+        @Schema(description = "Lines rejected", example = "2")
+        Long rejected,
+
+        @Schema(description = "Rejected lines, at most the first 1000")
+        java.util.List<AriRejectResponse> rejects
+) {}
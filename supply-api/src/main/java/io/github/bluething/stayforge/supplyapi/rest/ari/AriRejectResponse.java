@@ -0,0 +1,12 @@
+package io.github.bluething.stayforge.supplyapi.rest.ari;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A line that was not applied")
+record AriRejectResponse(
+        @Schema(description = "Line number in the payload, starting at 1", example = "42")
+        Long line,
+
+        @Schema(description = "Why the line was rejected", example = "Unknown room type")
+        String message
+) {}
@@ -0,0 +1,76 @@
+package io.github.bluething.stayforge.supplyapi.rest.autocomplete;
+
+import io.github.bluething.stayforge.supplyapi.domain.autocomplete.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/autocomplete")
+@Validated
+@Tag(name = "Autocomplete", description = "Typeahead over area and hotel names")
+@RequiredArgsConstructor
+class AutocompleteController {
+    private final AutocompleteService autocompleteService;
+    private final AutocompleteDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Suggest areas and hotels",
+            description = "Returns areas and hotels with a word of their name or slug starting with the query, " +
+                    "ignoring case, accents and punctuation, highest rank first. Served from memory without " +
+                    "a database round trip."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions computed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AutocompleteResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing query or invalid limit",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Index not loaded yet",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping
+    public ResponseEntity<AutocompleteResponse> suggest(
+            @Parameter(description = "Typed text", example = "kuta be", required = true)
+            @RequestParam("q")
+            @NotBlank(message = "Query must not be blank")
+            @Size(max = 100, message = "Query cannot exceed 100 characters")
+            String query,
+
+            @Parameter(description = "Number of suggestions (1-20)", example = "10")
+            @RequestParam(value = "limit", required = false)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 20, message = "Limit cannot exceed 20")
+            Integer limit) {
+
+        int resolvedLimit = limit != null ? limit : AutocompleteService.DEFAULT_LIMIT;
+        var suggestions = autocompleteService.suggest(query, resolvedLimit);
+        return ResponseEntity.ok(dtoMapper.toResponse(query, suggestions));
+    }
+}
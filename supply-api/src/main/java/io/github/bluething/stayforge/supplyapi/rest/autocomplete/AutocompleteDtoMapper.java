@@ -0,0 +1,28 @@
+package io.github.bluething.stayforge.supplyapi.rest.autocomplete;
+
+import io.github.bluething.stayforge.supplyapi.domain.autocomplete.AutocompleteSuggestion;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+class AutocompleteDtoMapper {
+    public AutocompleteSuggestionResponse toResponse(AutocompleteSuggestion suggestion) {
+        return new AutocompleteSuggestionResponse(
+                suggestion.kind().name(),
+                suggestion.id(),
+                suggestion.areaId(),
+                suggestion.name(),
+                suggestion.slug(),
+                suggestion.rank()
+        );
+    }
+    public AutocompleteResponse toResponse(String query, List<AutocompleteSuggestion> suggestions) {
+        return new AutocompleteResponse(
+                query,
+                suggestions.stream()
+                        .map(this::toResponse)
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.bluething.stayforge.supplyapi.rest.autocomplete;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Autocomplete suggestions, highest rank first")
+record AutocompleteResponse(
+        @Schema(description = "Query as received", example = "kuta be")
+        String query,
+
+        @Schema(description = "Matching areas and hotels")
+        List<AutocompleteSuggestionResponse> suggestions
+) {}
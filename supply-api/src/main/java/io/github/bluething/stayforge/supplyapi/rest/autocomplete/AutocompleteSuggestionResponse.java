@@ -0,0 +1,26 @@
+package io.github.bluething.stayforge.supplyapi.rest.autocomplete;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Area or hotel matching the typed prefix")
+record AutocompleteSuggestionResponse(
+        @Schema(description = "What the suggestion points to", example = "HOTEL")
+        String type,
+
+        @Schema(description = "Area or hotel identifier", example = "42")
+        Long id,
+
+        @Schema(description = "Area of a hotel, absent for areas", example = "123")
+        Long areaId,
+
+        @Schema(description = "Display name", example = "Kuta Beach Resort")
+        String name,
+
+        @Schema(description = "URL-friendly identifier", example = "kuta-beach-resort")
+        String slug,
+
+        @Schema(description = "Hotel rank, or the best rank among an area's hotels", example = "0.87500")
+        BigDecimal rank
+) {}
@@ -0,0 +1,88 @@
+package io.github.bluething.stayforge.supplyapi.rest.availability;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/availability")
+@Validated
+@Tag(name = "Availability", description = "Sellable rooms and prices for a stay")
+@RequiredArgsConstructor
+class AvailabilityController {
+    private final AvailabilityService availabilityService;
+    private final AvailabilityDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Search availability",
+            description = "Returns the room type and plan combinations that can be sold for the stay, " +
+                    "after allotment, stop-sell, closed, CTA/CTD, length of stay and advance rules, " +
+                    "with the total price. Plans priced by LOS use the LOS rate, others the sum of nightly rates."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Availability computed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AvailabilityResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid dates, occupancy or scope",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping
+    public ResponseEntity<AvailabilityResponse> searchAvailability(
+            @Parameter(description = "Area to search in", example = "123")
+            @RequestParam(value = "areaId", required = false) Long areaId,
+
+            @Parameter(description = "Hotels to search in, comma separated", example = "42,43")
+            @RequestParam(value = "hotelIds", required = false)
+            @Size(max = 200, message = "At most 200 hotels can be searched at once")
+            List<Long> hotelIds,
+
+            @Parameter(description = "Check-in date", example = "2025-12-20", required = true)
+            @RequestParam("checkIn") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+
+            @Parameter(description = "Check-out date", example = "2025-12-23", required = true)
+            @RequestParam("checkOut") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+
+            @Parameter(description = "Guests per room", example = "2")
+            @RequestParam(value = "guests", required = false)
+            @Min(value = 1, message = "At least one guest is required")
+            @Max(value = 20, message = "Guests cannot exceed 20")
+            Integer guests,
+
+            @Parameter(description = "Number of rooms", example = "1")
+            @RequestParam(value = "rooms", required = false)
+            @Min(value = 1, message = "At least one room is required")
+            @Max(value = 10, message = "Rooms cannot exceed 10")
+            Integer rooms) {
+
+        var query = dtoMapper.toQuery(areaId, hotelIds, checkIn, checkOut, guests, rooms);
+        var result = availabilityService.search(query);
+        return ResponseEntity.ok(dtoMapper.toResponse(result));
+    }
+}
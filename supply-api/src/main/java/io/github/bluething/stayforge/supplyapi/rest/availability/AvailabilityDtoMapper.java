@@ -0,0 +1,52 @@
+package io.github.bluething.stayforge.supplyapi.rest.availability;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.AvailabilityQuery;
+import io.github.bluething.stayforge.supplyapi.domain.availability.AvailabilityResult;
+import io.github.bluething.stayforge.supplyapi.domain.availability.AvailableOffer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+class AvailabilityDtoMapper {
+    public AvailabilityQuery toQuery(Long areaId, List<Long> hotelIds, LocalDate checkIn, LocalDate checkOut,
+                                     Integer guests, Integer rooms) {
+        return new AvailabilityQuery(
+                areaId,
+                hotelIds != null ? hotelIds : List.of(),
+                checkIn,
+                checkOut,
+                guests != null ? guests : 2,
+                rooms != null ? rooms : 1
+        );
+    }
+    public AvailableOfferResponse toResponse(AvailableOffer offer) {
+        return new AvailableOfferResponse(
+                offer.hotelId(),
+                offer.hotelName(),
+                offer.roomTypeId(),
+                offer.roomTypeName(),
+                offer.planId(),
+                offer.planName(),
+                offer.pricing().name(),
+                offer.currency(),
+                offer.totalAmountMinor(),
+                offer.availableRooms()
+        );
+    }
+    public AvailabilityResponse toResponse(AvailabilityResult result) {
+        var offers = result.offers().stream()
+                .map(this::toResponse)
+                .toList();
+
+        return new AvailabilityResponse(
+                result.checkIn(),
+                result.checkOut(),
+                result.nights(),
+                result.guests(),
+                result.rooms(),
+                offers
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.bluething.stayforge.supplyapi.rest.availability;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Availability for a stay, cheapest offers first")
+record AvailabilityResponse(
+        @Schema(description = "Check-in date", example = "2025-12-20")
+        LocalDate checkIn,
+
+        @Schema(description = "Check-out date", example = "2025-12-23")
+        LocalDate checkOut,
+
+        @Schema(description = "Number of nights", example = "3")
+        Integer nights,
+
+        @Schema(description = "Guests per room", example = "2")
+        Integer guests,
+
+        @Schema(description = "Number of rooms", example = "1")
+        Integer rooms,
+
+        @Schema(description = "Sellable offers")
+        java.util.List<AvailableOfferResponse> offers
+) {}
@@ -0,0 +1,36 @@
+package io.github.bluething.stayforge.supplyapi.rest.availability;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sellable room type and plan with the stay price")
+record AvailableOfferResponse(
+        @Schema(description = "Hotel identifier", example = "42")
+        Long hotelId,
+
+        @Schema(description = "Hotel name", example = "Kuta Beach Resort")
+        String hotelName,
+
+        @Schema(description = "Room type identifier", example = "7")
+        Long roomTypeId,
+
+        @Schema(description = "Room type name", example = "Deluxe Double")
+        String roomTypeName,
+
+        @Schema(description = "Plan identifier", example = "11")
+        Long planId,
+
+        @Schema(description = "Plan name", example = "Room with breakfast")
+        String planName,
+
+        @Schema(description = "Pricing model of the plan", example = "NIGHTLY")
+        String pricing,
+
+        @Schema(description = "Currency of the amount", example = "IDR")
+        String currency,
+
+        @Schema(description = "Total for the stay and all rooms, in minor units", example = "2400000")
+        Long totalAmountMinor,
+
+        @Schema(description = "Lowest remaining allotment over the stay", example = "5")
+        Integer availableRooms
+) {}
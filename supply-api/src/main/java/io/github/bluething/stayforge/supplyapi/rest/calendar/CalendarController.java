@@ -0,0 +1,136 @@
+package io.github.bluething.stayforge.supplyapi.rest.calendar;
+
+import io.github.bluething.stayforge.supplyapi.domain.calendar.CalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/calendar")
+@Validated
+@Tag(name = "Calendar", description = "Columnar inventory, rate and restriction calendars")
+@RequiredArgsConstructor
+class CalendarController {
+    private static final int DEFAULT_DAYS = 365;
+
+    private final CalendarService calendarService;
+    private final CalendarJsonWriter jsonWriter;
+
+    @Operation(
+            summary = "Get a room type calendar",
+            description = "Returns one array element per day from the start date: the remaining allotment, " +
+                    "null without an inventory row, and a flags bitmask where 1 is stop-sell."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Calendar found",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Room type not found",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "No start given and the hotel's timezone is invalid",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping(value = "/room-types/{roomTypeId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getRoomTypeCalendar(
+            @Parameter(description = "Room type ID", example = "42", required = true)
+            @PathVariable Long roomTypeId,
+
+            @Parameter(description = "First day, defaults to today in the hotel's timezone", example = "2025-12-01")
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+
+            @Parameter(description = "Number of days", example = "365")
+            @RequestParam(value = "days", required = false)
+            @Min(value = 1, message = "At least one day is required")
+            @Max(value = 366, message = "Days cannot exceed 366")
+            Integer days,
+            HttpServletResponse response) throws IOException {
+
+        var calendar = calendarService.getRoomTypeCalendar(roomTypeId, start, daysOrDefault(days));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        jsonWriter.write(calendar, out);
+        out.flush();
+    }
+
+    @Operation(
+            summary = "Get a plan calendar",
+            description = "Returns one array element per day from the start date. Nightly plans carry one " +
+                    "amounts array per occupancy tier, LOS plans one per length of stay and tier keyed by " +
+                    "check-in date. Restriction flags are a bitmask where 1 is closed, 2 closed to arrival " +
+                    "and 4 closed to departure. Missing values are null."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Calendar found",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Plan not found",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping(value = "/plans/{planId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getPlanCalendar(
+            @Parameter(description = "Plan ID", example = "7", required = true)
+            @PathVariable Long planId,
+
+            @Parameter(description = "First day, defaults to the earliest today among the hotels selling the plan", example = "2025-12-01")
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+
+            @Parameter(description = "Number of days", example = "365")
+            @RequestParam(value = "days", required = false)
+            @Min(value = 1, message = "At least one day is required")
+            @Max(value = 366, message = "Days cannot exceed 366")
+            Integer days,
+            HttpServletResponse response) throws IOException {
+
+        var calendar = calendarService.getPlanCalendar(planId, start, daysOrDefault(days));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        jsonWriter.write(calendar, out);
+        out.flush();
+    }
+
+    private static int daysOrDefault(Integer days) {
+        return days != null ? days : DEFAULT_DAYS;
+    }
+}
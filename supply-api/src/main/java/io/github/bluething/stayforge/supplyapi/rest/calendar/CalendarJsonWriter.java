@@ -0,0 +1,91 @@
+package io.github.bluething.stayforge.supplyapi.rest.calendar;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.stayforge.supplyapi.domain.calendar.CalendarService;
+import io.github.bluething.stayforge.supplyapi.domain.calendar.PlanCalendar;
+import io.github.bluething.stayforge.supplyapi.domain.calendar.RoomTypeCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes calendars straight from their column arrays with a streaming generator.
+ * Days without a value are written as null so every array has one element per day.
+ */
+@Component
+@RequiredArgsConstructor
+class CalendarJsonWriter {
+    private final ObjectMapper objectMapper;
+
+    void write(RoomTypeCalendar calendar, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("roomTypeId", calendar.roomTypeId());
+            generator.writeStringField("start", calendar.start().toString());
+            generator.writeNumberField("days", calendar.days());
+            writeColumn(generator, "allotment", calendar.allotment());
+            generator.writeFieldName("flags");
+            generator.writeArray(calendar.flags(), 0, calendar.days());
+            generator.writeEndObject();
+        }
+    }
+
+    void write(PlanCalendar calendar, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("planId", calendar.planId());
+            generator.writeStringField("pricing", calendar.pricing().name());
+            generator.writeStringField("start", calendar.start().toString());
+            generator.writeNumberField("days", calendar.days());
+
+            generator.writeArrayFieldStart("rates");
+            for (PlanCalendar.RateColumn rate : calendar.rates()) {
+                generator.writeStartObject();
+                generator.writeNumberField("occupancyFrom", rate.occupancyFrom());
+                if (rate.los() != null) {
+                    generator.writeNumberField("los", rate.los());
+                }
+                writeColumn(generator, "amounts", rate.amounts());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+
+            generator.writeFieldName("flags");
+            generator.writeArray(calendar.flags(), 0, calendar.days());
+            writeColumn(generator, "minLos", calendar.minLos());
+            writeColumn(generator, "maxLos", calendar.maxLos());
+            writeColumn(generator, "minAdvanceDays", calendar.minAdvanceDays());
+            writeColumn(generator, "maxAdvanceDays", calendar.maxAdvanceDays());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeColumn(JsonGenerator generator, String name, int[] values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (int value : values) {
+            if (value == CalendarService.NONE) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeColumn(JsonGenerator generator, String name, long[] values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (long value : values) {
+            if (value == CalendarService.NONE) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndArray();
+    }
+}
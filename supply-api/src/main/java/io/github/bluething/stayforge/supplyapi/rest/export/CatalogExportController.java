@@ -0,0 +1,110 @@
+package io.github.bluething.stayforge.supplyapi.rest.export;
+
+import io.github.bluething.stayforge.supplyapi.domain.export.CatalogExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/catalog")
+@Tag(name = "Catalog", description = "Bulk catalog export for downstream indexing")
+@RequiredArgsConstructor
+@Slf4j
+class CatalogExportController {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final CatalogExportService exportService;
+
+    @Operation(
+            summary = "Export the supply catalog",
+            description = "Streams every non-deleted area followed by every non-deleted hotel as NDJSON. " +
+                    "Each line carries a \"type\" field of either \"area\" or \"hotel\". The stream is " +
+                    "gzip content-encoded when the Accept-Encoding header allows it."
+    )
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of catalog entries")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportCatalog(
+            @Parameter(description = "Content codings the client accepts", example = "gzip")
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        // Written on the request thread (virtual) so the export is not bound by the async request timeout
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("catalog.ndjson")
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            // A content coding, so clients decode it and save the NDJSON itself
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        long lines;
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)) {
+                lines = exportService.exportCatalog(out);
+            }
+        } else {
+            OutputStream out = response.getOutputStream();
+            lines = exportService.exportCatalog(out);
+            out.flush();
+        }
+        log.info("Exported {} catalog entries (gzip={})", lines, gzip);
+    }
+
+    /**
+     * Whether gzip is acceptable. An explicit gzip or x-gzip element decides, whatever * says;
+     * without one, * decides. An element with q=0 refuses the coding.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean explicit = null;
+        Boolean wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = !refused(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                explicit = Boolean.TRUE.equals(explicit) || accepted;
+            } else if (coding.equals("*")) {
+                wildcard = Boolean.TRUE.equals(wildcard) || accepted;
+            }
+        }
+        if (explicit != null) {
+            return explicit;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean refused(String[] parts) {
+        boolean refused = false;
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ROOT).replace(" ", "");
+            if (parameter.startsWith("q=")) {
+                refused = parameter.substring(2).matches("0(\\.0{0,3})?");
+            }
+        }
+        return refused;
+    }
+}
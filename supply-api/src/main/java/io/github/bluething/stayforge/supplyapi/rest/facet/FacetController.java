@@ -0,0 +1,97 @@
+package io.github.bluething.stayforge.supplyapi.rest.facet;
+
+import io.github.bluething.stayforge.supplyapi.domain.facet.FacetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/hotels/facets")
+@Validated
+@Tag(name = "Hotels", description = "Hotel search")
+@RequiredArgsConstructor
+class FacetController {
+    private final FacetService facetService;
+    private final FacetDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Count hotels by facet",
+            description = "Returns the number of active hotels matching the filters, and for every area, " +
+                    "city, star rating, hotel amenity, room amenity and plan service the number of those " +
+                    "hotels having it. Values of one area, city or star filter are alternatives, values of an " +
+                    "amenity or service filter are all required. A hotel has a room amenity or service when " +
+                    "any of its active room types offers it. Served from in-memory bitmaps without a " +
+                    "database round trip."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Counts computed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FacetResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter value",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Index not loaded yet",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping
+    public ResponseEntity<FacetResponse> count(
+            @Parameter(description = "Area IDs, any of", example = "1")
+            @RequestParam(value = "areaId", required = false)
+            @Size(max = 50, message = "Cannot filter on more than 50 areas")
+            List<Long> areaIds,
+
+            @Parameter(description = "Cities, any of", example = "Denpasar")
+            @RequestParam(value = "city", required = false)
+            @Size(max = 50, message = "Cannot filter on more than 50 cities")
+            List<String> cities,
+
+            @Parameter(description = "Whole star ratings (0-5), any of", example = "4,5")
+            @RequestParam(value = "stars", required = false)
+            List<@Min(value = 0, message = "Stars must be at least 0")
+                 @Max(value = 5, message = "Stars cannot exceed 5") Integer> stars,
+
+            @Parameter(description = "Hotel amenity types, all of", example = "pool")
+            @RequestParam(value = "amenity", required = false)
+            @Size(max = 20, message = "Cannot filter on more than 20 amenities")
+            List<String> amenities,
+
+            @Parameter(description = "Room amenities, all of", example = "balcony")
+            @RequestParam(value = "roomAmenity", required = false)
+            @Size(max = 20, message = "Cannot filter on more than 20 room amenities")
+            List<String> roomAmenities,
+
+            @Parameter(description = "Plan services, all of", example = "breakfast")
+            @RequestParam(value = "service", required = false)
+            @Size(max = 20, message = "Cannot filter on more than 20 services")
+            List<String> services) {
+
+        var query = dtoMapper.toQuery(areaIds, cities, stars, amenities, roomAmenities, services);
+        return ResponseEntity.ok(dtoMapper.toResponse(facetService.count(query)));
+    }
+}
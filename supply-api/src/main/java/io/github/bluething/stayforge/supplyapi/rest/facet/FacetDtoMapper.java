@@ -0,0 +1,46 @@
+package io.github.bluething.stayforge.supplyapi.rest.facet;
+
+import io.github.bluething.stayforge.supplyapi.domain.facet.FacetCounts;
+import io.github.bluething.stayforge.supplyapi.domain.facet.FacetDimension;
+import io.github.bluething.stayforge.supplyapi.domain.facet.FacetQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+class FacetDtoMapper {
+    public FacetQuery toQuery(List<Long> areaIds, List<String> cities, List<Integer> stars,
+                              List<String> amenities, List<String> roomAmenities, List<String> services) {
+        Map<FacetDimension, Set<String>> filters = new EnumMap<>(FacetDimension.class);
+        put(filters, FacetDimension.AREA, areaIds);
+        put(filters, FacetDimension.CITY, cities);
+        put(filters, FacetDimension.STARS, stars);
+        put(filters, FacetDimension.AMENITY, amenities);
+        put(filters, FacetDimension.ROOM_AMENITY, roomAmenities);
+        put(filters, FacetDimension.SERVICE, services);
+        return new FacetQuery(filters);
+    }
+    public FacetResponse toResponse(FacetCounts counts) {
+        Map<String, List<FacetValueResponse>> facets = new LinkedHashMap<>();
+        counts.counts().forEach((dimension, values) -> facets.put(
+                dimension.fieldName(),
+                values.entrySet().stream()
+                        .map(entry -> new FacetValueResponse(entry.getKey(), entry.getValue()))
+                        .toList()
+        ));
+        return new FacetResponse(counts.total(), facets);
+    }
+
+    private static void put(Map<FacetDimension, Set<String>> filters, FacetDimension dimension, List<?> values) {
+        if (values != null && !values.isEmpty()) {
+            Set<String> strings = new LinkedHashSet<>();
+            values.forEach(value -> strings.add(String.valueOf(value)));
+            filters.put(dimension, strings);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.bluething.stayforge.supplyapi.rest.facet;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Hotels matching the filters and the facet counts of that result")
+record FacetResponse(
+        @Schema(description = "Number of active hotels matching every filter", example = "128")
+        int total,
+
+        @Schema(description = "Values with their hotel counts per facet: area, city, stars, amenity, " +
+                "roomAmenity and service. City, stars and area counts ignore their own filter.")
+        Map<String, List<FacetValueResponse>> facets
+) {}
@@ -0,0 +1,12 @@
+package io.github.bluething.stayforge.supplyapi.rest.facet;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of matching hotels having a facet value")
+record FacetValueResponse(
+        @Schema(description = "Facet value", example = "pool")
+        String value,
+
+        @Schema(description = "Matching hotels with this value", example = "42")
+        int count
+) {}
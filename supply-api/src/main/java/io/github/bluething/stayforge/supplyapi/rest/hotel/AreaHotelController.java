@@ -0,0 +1,82 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import io.github.bluething.stayforge.supplyapi.domain.hotel.HotelSearchService;
+import io.github.bluething.stayforge.supplyapi.rest.PaginationRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/areas/{areaId}/hotels")
+@Validated
+@Tag(name = "Hotels", description = "Hotel search")
+@RequiredArgsConstructor
+class AreaHotelController {
+    private final HotelSearchService hotelSearchService;
+    private final HotelDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "List hotels of an area by rank",
+            description = "Returns the active hotels of an area, highest rank first. Pages are keyed by " +
+                    "rank and id, so the top of the list and deep pages cost the same. The total is not " +
+                    "computed unless count is exact or estimated."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Hotels retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = HotelListResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid pagination parameters or count mode",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Area not found",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping
+    public ResponseEntity<HotelListResponse> listAreaHotels(
+            @Parameter(description = "Area unique identifier", example = "123")
+            @PathVariable("areaId") @Positive(message = "Area ID must be positive") Long areaId,
+
+            @Parameter(description = "Cursor for pagination")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @Parameter(description = "Number of items per page (1-100)", example = "20")
+            @RequestParam(value = "limit", required = false)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 100, message = "Limit cannot exceed 100")
+            Integer limit,
+
+            @Parameter(description = "How to compute the total: none, exact or estimated. Only the first page " +
+                    "counts, later pages reuse the total carried by the cursor", example = "none")
+            @RequestParam(value = "count", required = false) String count) {
+
+        var pagination = PaginationRequest.of(cursor, limit);
+        var query = dtoMapper.toAreaHotelQuery(areaId, pagination, count);
+        var pagedResult = hotelSearchService.listAreaHotels(query);
+        return ResponseEntity.ok(dtoMapper.toHotelListResponse(pagedResult));
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import io.github.bluething.stayforge.supplyapi.domain.CountMode;
+import io.github.bluething.stayforge.supplyapi.domain.PagedResult;
+import io.github.bluething.stayforge.supplyapi.domain.hotel.AreaHotelQuery;
+import io.github.bluething.stayforge.supplyapi.domain.hotel.GeoBox;
+import io.github.bluething.stayforge.supplyapi.domain.hotel.GeoQuery;
+import io.github.bluething.stayforge.supplyapi.domain.hotel.HotelData;
+import io.github.bluething.stayforge.supplyapi.domain.hotel.NearbyHotel;
+import io.github.bluething.stayforge.supplyapi.rest.PaginationMetadata;
+import io.github.bluething.stayforge.supplyapi.rest.PaginationRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+class HotelDtoMapper {
+    public GeoQuery toGeoQuery(PaginationRequest pagination, Double latitude, Double longitude, Double radiusKm,
+                               Double minLatitude, Double minLongitude, Double maxLatitude, Double maxLongitude) {
+        GeoBox box = null;
+        if (minLatitude != null && minLongitude != null && maxLatitude != null && maxLongitude != null) {
+            box = new GeoBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        }
+
+        return new GeoQuery(
+                latitude,
+                longitude,
+                radiusKm,
+                box,
+                pagination.cursor(),
+                pagination.limit()
+        );
+    }
+    public AreaHotelQuery toAreaHotelQuery(Long areaId, PaginationRequest pagination, String count) {
+        return new AreaHotelQuery(
+                areaId,
+                pagination.cursor(),
+                pagination.limit(),
+                CountMode.from(count, CountMode.NONE)
+        );
+    }
+    public HotelResponse toResponse(HotelData hotel) {
+        return new HotelResponse(
+                hotel.id(),
+                hotel.areaId(),
+                hotel.name(),
+                hotel.slug(),
+                hotel.city(),
+                hotel.countryCode(),
+                hotel.starRating(),
+                hotel.rank(),
+                hotel.currency(),
+                hotel.latitude(),
+                hotel.longitude()
+        );
+    }
+    public HotelListResponse toHotelListResponse(PagedResult<HotelData> pagedResult) {
+        var hotels = pagedResult.data().stream()
+                .map(this::toResponse)
+                .toList();
+
+        return new HotelListResponse(hotels, toPaginationMetadata(pagedResult));
+    }
+    public NearbyHotelResponse toResponse(NearbyHotel nearbyHotel) {
+        HotelData hotel = nearbyHotel.hotel();
+        return new NearbyHotelResponse(
+                hotel.id(),
+                hotel.areaId(),
+                hotel.name(),
+                hotel.slug(),
+                hotel.city(),
+                hotel.countryCode(),
+                hotel.starRating(),
+                hotel.currency(),
+                hotel.latitude(),
+                hotel.longitude(),
+                Math.round(nearbyHotel.distanceKm() * 1000.0) / 1000.0
+        );
+    }
+    public NearbyHotelListResponse toListResponse(PagedResult<NearbyHotel> pagedResult) {
+        var hotels = pagedResult.data().stream()
+                .map(this::toResponse)
+                .toList();
+
+        return new NearbyHotelListResponse(hotels, toPaginationMetadata(pagedResult));
+    }
+
+    private static PaginationMetadata toPaginationMetadata(PagedResult<?> pagedResult) {
+        return new PaginationMetadata(
+                pagedResult.cursor(),
+                pagedResult.limit(),
+                pagedResult.total(),
+                pagedResult.hasNext(),
+                pagedResult.nextCursor()
+        );
+    }
+}
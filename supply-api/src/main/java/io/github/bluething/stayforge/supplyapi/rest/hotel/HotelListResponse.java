@@ -0,0 +1,13 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import io.github.bluething.stayforge.supplyapi.rest.PaginationMetadata;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Hotels of an area ordered by rank, highest first")
+record HotelListResponse(
+        @Schema(description = "List of hotels")
+        java.util.List<HotelResponse> data,
+
+        @Schema(description = "Pagination metadata, total is null unless a count was requested")
+        PaginationMetadata pagination
+) {}
@@ -0,0 +1,110 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import io.github.bluething.stayforge.supplyapi.domain.hotel.HotelSearchService;
+import io.github.bluething.stayforge.supplyapi.rest.PaginationRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/hotels")
+@Validated
+@Tag(name = "Hotels", description = "Hotel search")
+@RequiredArgsConstructor
+class HotelSearchController {
+    private final HotelSearchService hotelSearchService;
+    private final HotelDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Search hotels near a location",
+            description = "Returns active hotels within a radius of a center, or inside a bounding box, " +
+                    "nearest first by great-circle distance. Pages are keyed by that same distance, " +
+                    "so the order always agrees with the distanceKm returned."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Hotels retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NearbyHotelListResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing or invalid location, radius or cursor",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<NearbyHotelListResponse> searchNearby(
+            @Parameter(description = "Center latitude in degrees", example = "-8.7180")
+            @RequestParam(value = "lat", required = false)
+            @DecimalMin(value = "-90.0", message = "Latitude must be at least -90")
+            @DecimalMax(value = "90.0", message = "Latitude cannot exceed 90")
+            Double latitude,
+
+            @Parameter(description = "Center longitude in degrees", example = "115.1686")
+            @RequestParam(value = "lon", required = false)
+            @DecimalMin(value = "-180.0", message = "Longitude must be at least -180")
+            @DecimalMax(value = "180.0", message = "Longitude cannot exceed 180")
+            Double longitude,
+
+            @Parameter(description = "Search radius in kilometers, requires lat and lon", example = "5")
+            @RequestParam(value = "radiusKm", required = false) Double radiusKm,
+
+            @Parameter(description = "Bounding box south edge in degrees", example = "-8.80")
+            @RequestParam(value = "minLat", required = false)
+            @DecimalMin(value = "-90.0", message = "Latitude must be at least -90")
+            @DecimalMax(value = "90.0", message = "Latitude cannot exceed 90")
+            Double minLatitude,
+
+            @Parameter(description = "Bounding box west edge in degrees", example = "115.10")
+            @RequestParam(value = "minLon", required = false)
+            @DecimalMin(value = "-180.0", message = "Longitude must be at least -180")
+            @DecimalMax(value = "180.0", message = "Longitude cannot exceed 180")
+            Double minLongitude,
+
+            @Parameter(description = "Bounding box north edge in degrees", example = "-8.60")
+            @RequestParam(value = "maxLat", required = false)
+            @DecimalMin(value = "-90.0", message = "Latitude must be at least -90")
+            @DecimalMax(value = "90.0", message = "Latitude cannot exceed 90")
+            Double maxLatitude,
+
+            @Parameter(description = "Bounding box east edge in degrees", example = "115.25")
+            @RequestParam(value = "maxLon", required = false)
+            @DecimalMin(value = "-180.0", message = "Longitude must be at least -180")
+            @DecimalMax(value = "180.0", message = "Longitude cannot exceed 180")
+            Double maxLongitude,
+
+            @Parameter(description = "Cursor for pagination")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @Parameter(description = "Number of items per page (1-100)", example = "20")
+            @RequestParam(value = "limit", required = false)
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 100, message = "Limit cannot exceed 100")
+            Integer limit) {
+
+        var pagination = PaginationRequest.of(cursor, limit);
+        var query = dtoMapper.toGeoQuery(pagination, latitude, longitude, radiusKm,
+                minLatitude, minLongitude, maxLatitude, maxLongitude);
+        var pagedResult = hotelSearchService.searchNearby(query);
+        return ResponseEntity.ok(dtoMapper.toListResponse(pagedResult));
+    }
+}
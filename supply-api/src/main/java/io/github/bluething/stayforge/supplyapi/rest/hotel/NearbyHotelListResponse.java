@@ -0,0 +1,13 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import io.github.bluething.stayforge.supplyapi.rest.PaginationMetadata;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Hotels ordered by distance, nearest first")
+record NearbyHotelListResponse(
+        @Schema(description = "List of hotels")
+        java.util.List<NearbyHotelResponse> data,
+
+        @Schema(description = "Pagination metadata, total is not computed")
+        PaginationMetadata pagination
+) {}
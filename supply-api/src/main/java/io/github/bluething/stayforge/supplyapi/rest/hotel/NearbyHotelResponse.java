@@ -0,0 +1,41 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Hotel near the searched location")
+record NearbyHotelResponse(
+        @Schema(description = "Unique hotel identifier", example = "42")
+        Long id,
+
+        @Schema(description = "Area the hotel belongs to", example = "123")
+        Long areaId,
+
+        @Schema(description = "Hotel name", example = "Kuta Beach Resort")
+        String name,
+
+        @Schema(description = "URL-friendly identifier", example = "kuta-beach-resort")
+        String slug,
+
+        @Schema(description = "City", example = "Badung")
+        String city,
+
+        @Schema(description = "ISO 3166-1 alpha-2 country code", example = "ID")
+        String countryCode,
+
+        @Schema(description = "Star rating (0-5)", example = "4.5")
+        BigDecimal starRating,
+
+        @Schema(description = "Base currency", example = "IDR")
+        String currency,
+
+        @Schema(description = "Latitude in degrees", example = "-8.7180")
+        Double latitude,
+
+        @Schema(description = "Longitude in degrees", example = "115.1686")
+        Double longitude,
+
+        @Schema(description = "Great-circle distance from the search center in kilometers", example = "1.37")
+        Double distanceKm
+) {}
@@ -0,0 +1,150 @@
+package io.github.bluething.stayforge.supplyapi.rest.lowestprice;
+
+import io.github.bluething.stayforge.supplyapi.domain.lowestprice.LowestPriceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1")
+@Validated
+@Tag(name = "Lowest prices", description = "Lowest price calendars for landing pages and maps")
+@RequiredArgsConstructor
+class LowestPriceController {
+    private static final int DEFAULT_DAYS = 30;
+
+    private final LowestPriceService lowestPriceService;
+    private final LowestPriceDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Get a hotel's lowest price calendar",
+            description = "Returns the lowest one-night price per room for each check-in day, over the hotel's " +
+                    "active room types and plans sold in its currency that have inventory and pass the " +
+                    "restrictions. Served from memory without a database round trip. Days outside the " +
+                    "maintained window are null."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Calendar found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LowestPriceResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range or guests",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Hotel not found or inactive",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Calendar not loaded yet",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping("/hotels/{hotelId}/lowest-prices")
+    public ResponseEntity<LowestPriceResponse> getHotelLowestPrices(
+            @Parameter(description = "Hotel ID", example = "1", required = true)
+            @PathVariable Long hotelId,
+
+            @Parameter(description = "First check-in day, defaults to today in the hotel's timezone", example = "2025-12-01")
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+
+            @Parameter(description = "Number of days", example = "30")
+            @RequestParam(value = "days", required = false)
+            @Min(value = 1, message = "At least one day is required")
+            @Max(value = LowestPriceService.MAX_DAYS, message = "Days cannot exceed 366")
+            Integer days,
+
+            @Parameter(description = "Number of guests", example = "2")
+            @RequestParam(value = "guests", defaultValue = "1") int guests) {
+
+        var prices = lowestPriceService.hotelPrices(hotelId, start, daysOrDefault(days), guests);
+        return ResponseEntity.ok(dtoMapper.toResponse(prices));
+    }
+
+    @Operation(
+            summary = "Get an area's lowest price calendar",
+            description = "Returns the lowest one-night price per room for each check-in day over the area's " +
+                    "active hotels selling in the given currency. Served from memory without a database " +
+                    "round trip. Days outside the maintained window are null."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Calendar found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LowestPriceResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range, guests or currency",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Area not found",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Calendar not loaded yet",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @GetMapping("/areas/{areaId}/lowest-prices")
+    public ResponseEntity<LowestPriceResponse> getAreaLowestPrices(
+            @Parameter(description = "Area ID", example = "1", required = true)
+            @PathVariable Long areaId,
+
+            @Parameter(description = "First check-in day, defaults to the earliest today among the area's hotels", example = "2025-12-01")
+            @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+
+            @Parameter(description = "Number of days", example = "30")
+            @RequestParam(value = "days", required = false)
+            @Min(value = 1, message = "At least one day is required")
+            @Max(value = LowestPriceService.MAX_DAYS, message = "Days cannot exceed 366")
+            Integer days,
+
+            @Parameter(description = "Number of guests", example = "2")
+            @RequestParam(value = "guests", defaultValue = "1") int guests,
+
+            @Parameter(description = "ISO 4217 currency, defaults to the system default currency", example = "IDR")
+            @RequestParam(value = "currency", required = false)
+            @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+            String currency) {
+
+        var prices = lowestPriceService.areaPrices(areaId, start, daysOrDefault(days), guests, currency);
+        return ResponseEntity.ok(dtoMapper.toResponse(prices));
+    }
+
+    private static int daysOrDefault(Integer days) {
+        return days != null ? days : DEFAULT_DAYS;
+    }
+}
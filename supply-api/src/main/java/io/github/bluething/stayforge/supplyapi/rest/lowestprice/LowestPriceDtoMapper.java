@@ -0,0 +1,19 @@
+package io.github.bluething.stayforge.supplyapi.rest.lowestprice;
+
+import io.github.bluething.stayforge.supplyapi.domain.lowestprice.LowestPriceService;
+import io.github.bluething.stayforge.supplyapi.domain.lowestprice.LowestPrices;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+class LowestPriceDtoMapper {
+    public LowestPriceResponse toResponse(LowestPrices prices) {
+        List<Long> amounts = new ArrayList<>(prices.amounts().length);
+        for (long amount : prices.amounts()) {
+            amounts.add(amount == LowestPriceService.NO_PRICE ? null : amount);
+        }
+        return new LowestPriceResponse(prices.currency(), prices.guests(), prices.start(), prices.days(), amounts);
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.bluething.stayforge.supplyapi.rest.lowestprice;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Lowest one-night price per check-in day")
+record LowestPriceResponse(
+        @Schema(description = "ISO 4217 currency of the amounts", example = "IDR")
+        String currency,
+
+        @Schema(description = "Number of guests priced", example = "2")
+        int guests,
+
+        @Schema(description = "Check-in day of the first amount", example = "2025-12-01")
+        LocalDate start,
+
+        @Schema(description = "Number of days", example = "30")
+        int days,
+
+        @Schema(description = "Lowest price per room in minor units, one per day from start, " +
+                "null when nothing is sellable that day")
+        List<Long> amounts
+) {}
@@ -0,0 +1,53 @@
+package io.github.bluething.stayforge.supplyapi.rest.reservation;
+
+import io.github.bluething.stayforge.supplyapi.rest.ValidationGroups;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+@Schema(description = "Request to book one room of a room type under a plan")
+record CreateReservationRequest(
+        @Schema(description = "Room type to book", example = "7", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Room type is required", groups = ValidationGroups.Create.class)
+        @Positive(message = "Room type ID must be positive", groups = ValidationGroups.Create.class)
+        Long roomTypeId,
+
+        @Schema(description = "Plan to book under", example = "11", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Plan is required", groups = ValidationGroups.Create.class)
+        @Positive(message = "Plan ID must be positive", groups = ValidationGroups.Create.class)
+        Long planId,
+
+        @Schema(description = "Check-in date", example = "2025-12-20", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Check-in date is required", groups = ValidationGroups.Create.class)
+        LocalDate checkIn,
+
+        @Schema(description = "Check-out date", example = "2025-12-23", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Check-out date is required", groups = ValidationGroups.Create.class)
+        LocalDate checkOut,
+
+        @Schema(description = "Guests in the room", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Guests is required", groups = ValidationGroups.Create.class)
+        @Min(value = 1, message = "At least one guest is required", groups = ValidationGroups.Create.class)
+        @Max(value = 20, message = "Guests cannot exceed 20", groups = ValidationGroups.Create.class)
+        Integer guests,
+
+        @Schema(description = "Lead guest name", example = "Made Wirawan", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotBlank(message = "Guest name is required", groups = ValidationGroups.Create.class)
+        @Size(max = 200, message = "Guest name cannot exceed 200 characters", groups = ValidationGroups.Create.class)
+        String guestName,
+
+        @Schema(description = "Lead guest email", example = "made@example.com")
+        @Email(message = "Guest email must be valid", groups = ValidationGroups.Create.class)
+        String guestEmail,
+
+        @Schema(description = "Lead guest phone", example = "+62 812 3456 7890")
+        @Size(max = 50, message = "Guest phone cannot exceed 50 characters", groups = ValidationGroups.Create.class)
+        String guestPhone
+) {}
@@ -0,0 +1,101 @@
+package io.github.bluething.stayforge.supplyapi.rest.reservation;
+
+import io.github.bluething.stayforge.supplyapi.domain.reservation.ReservationService;
+import io.github.bluething.stayforge.supplyapi.rest.ValidationGroups;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/reservations")
+@Validated
+@Tag(name = "Reservations", description = "Bookings against room type inventory")
+@RequiredArgsConstructor
+class ReservationController {
+    private final ReservationService reservationService;
+    private final ReservationDtoMapper dtoMapper;
+
+    @Operation(
+            summary = "Create a reservation",
+            description = "Books one room for the stay. Every night is taken from the room type inventory " +
+                    "at once; if any night has no room left nothing is taken. The price comes from the plan " +
+                    "rates for the guests, and the plan restrictions must allow the stay."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Reservation created",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReservationResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid dates, occupancy or guest details",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Room type and plan cannot be booked together for the guests",
+                    content = @Content(mediaType = "application/problem+json")
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "No room left on a night, or the stay is restricted or has no rate",
+                    content = @Content(mediaType = "application/problem+json")
+            )
+    })
+    @PostMapping
+    public ResponseEntity<ReservationResponse> createReservation(
+            @Validated(ValidationGroups.Create.class) @RequestBody CreateReservationRequest request) {
+
+        var command = dtoMapper.toCommand(request);
+        var reservationData = reservationService.createReservation(command);
+        var response = dtoMapper.toResponse(reservationData);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(
+            summary = "Get reservation by ID",
+            description = "Retrieves a single reservation by its unique identifier"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reservation found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReservationResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Reservation not found"
+            )
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationResponse> getReservation(
+            @Parameter(description = "Reservation unique identifier", example = "1001")
+            @PathVariable("id") @Positive(message = "Reservation ID must be positive") Long id) {
+
+        var reservationData = reservationService.getReservation(id);
+        return ResponseEntity.ok(dtoMapper.toResponse(reservationData));
+    }
+}
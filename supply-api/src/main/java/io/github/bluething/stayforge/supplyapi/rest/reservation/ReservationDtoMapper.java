@@ -0,0 +1,39 @@
+package io.github.bluething.stayforge.supplyapi.rest.reservation;
+
+import io.github.bluething.stayforge.supplyapi.domain.reservation.CreateReservationCommand;
+import io.github.bluething.stayforge.supplyapi.domain.reservation.ReservationData;
+import org.springframework.stereotype.Component;
+
+@Component
+class ReservationDtoMapper {
+    public CreateReservationCommand toCommand(CreateReservationRequest request) {
+        return new CreateReservationCommand(
+                request.roomTypeId(),
+                request.planId(),
+                request.checkIn(),
+                request.checkOut(),
+                request.guests(),
+                request.guestName(),
+                request.guestEmail(),
+                request.guestPhone()
+        );
+    }
+    public ReservationResponse toResponse(ReservationData reservationData) {
+        return new ReservationResponse(
+                reservationData.id(),
+                reservationData.hotelId(),
+                reservationData.roomTypeId(),
+                reservationData.planId(),
+                reservationData.checkIn(),
+                reservationData.checkOut(),
+                reservationData.guests(),
+                reservationData.status(),
+                reservationData.totalAmountMinor(),
+                reservationData.currency(),
+                reservationData.guestName(),
+                reservationData.guestEmail(),
+                reservationData.guestPhone(),
+                reservationData.createdAt()
+        );
+    }
+}
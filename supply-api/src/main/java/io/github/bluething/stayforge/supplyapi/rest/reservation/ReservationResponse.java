@@ -0,0 +1,51 @@
+package io.github.bluething.stayforge.supplyapi.rest.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Schema(description = "Reservation details")
+record ReservationResponse(
+        @Schema(description = "Unique reservation identifier", example = "1001")
+        Long id,
+
+        @Schema(description = "Hotel identifier", example = "42")
+        Long hotelId,
+
+        @Schema(description = "Room type identifier", example = "7")
+        Long roomTypeId,
+
+        @Schema(description = "Plan identifier", example = "11")
+        Long planId,
+
+        @Schema(description = "Check-in date", example = "2025-12-20")
+        LocalDate checkIn,
+
+        @Schema(description = "Check-out date", example = "2025-12-23")
+        LocalDate checkOut,
+
+        @Schema(description = "Guests in the room", example = "2")
+        Integer guests,
+
+        @Schema(description = "Reservation status", example = "CONFIRMED")
+        String status,
+
+        @Schema(description = "Total for the stay, in minor units", example = "2400000")
+        Long totalAmountMinor,
+
+        @Schema(description = "Currency of the amount", example = "IDR")
+        String currency,
+
+        @Schema(description = "Lead guest name", example = "Made Wirawan")
+        String guestName,
+
+        @Schema(description = "Lead guest email", example = "made@example.com")
+        String guestEmail,
+
+        @Schema(description = "Lead guest phone", example = "+62 812 3456 7890")
+        String guestPhone,
+
+        @Schema(description = "Creation time", example = "2025-11-02T08:15:30Z")
+        OffsetDateTime createdAt
+) {}
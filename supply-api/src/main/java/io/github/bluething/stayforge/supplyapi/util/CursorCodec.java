@@ -0,0 +1,273 @@
+package io.github.bluething.stayforge.supplyapi.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Compact signed binary cursor format.
+ * <pre>
+ * version(1) scope(8) count(1) { tag(1) length(1) value(length) }* hmac(16)
+ * </pre>
+ * Keys are written in sort-key order and read back by position. The scope is a truncated
+ * SHA-256 of the filter and sort the cursor was issued for, so a cursor replayed against
+ * another query is rejected instead of seeking into a result set it was never part of.
+ * The trailing HMAC-SHA256 (truncated to 16 bytes) covers everything before it, so a
+ * tampered or forged cursor is rejected instead of being silently reinterpreted.
+ * The result is Base64url without padding.
+ */
+public final class CursorCodec {
+    static final byte VERSION = 2;
+    static final int SCOPE_LENGTH = 8;
+    static final int HEADER_LENGTH = 2 + SCOPE_LENGTH;
+    static final int MAC_LENGTH = 16;
+    static final int MAX_KEYS = 16;
+    static final int MAX_STRING_BYTES = 255;
+
+    static final byte TAG_NULL = 'N';
+    static final byte TAG_LONG = 'L';
+    static final byte TAG_DOUBLE = 'D';
+    static final byte TAG_FLOAT = 'F';
+    static final byte TAG_STRING = 'S';
+    static final byte TAG_DECIMAL = 'B';
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ConcurrentLinkedQueue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    public CursorCodec(byte[] secret) {
+        if (secret == null || secret.length < 16) {
+            throw new IllegalArgumentException("Cursor secret must be at least 16 bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        macs.offer(newMac()); // Fail fast on a broken JCE setup
+    }
+
+    /**
+     * Encode sort keys for the query described by scope.
+     * Supported types: Long, Integer, Double, Float, String, BigDecimal and null.
+     */
+    public String encode(String scope, Object... values) {
+        if (values.length == 0 || values.length > MAX_KEYS) {
+            throw new IllegalArgumentException("Cursor must have between 1 and " + MAX_KEYS + " keys");
+        }
+
+        byte[][] strings = null;
+        int size = HEADER_LENGTH;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof String s) {
+                if (strings == null) {
+                    strings = new byte[values.length][];
+                }
+                strings[i] = s.getBytes(StandardCharsets.UTF_8);
+                if (strings[i].length > MAX_STRING_BYTES) {
+                    throw new IllegalArgumentException("Cursor string key exceeds " + MAX_STRING_BYTES + " bytes");
+                }
+                size += 2 + strings[i].length;
+            } else {
+                size += 2 + fixedLength(value);
+            }
+        }
+
+        byte[] out = new byte[size + MAC_LENGTH];
+        out[0] = VERSION;
+        System.arraycopy(scopeHash(scope), 0, out, 1, SCOPE_LENGTH);
+        out[1 + SCOPE_LENGTH] = (byte) values.length;
+        int pos = HEADER_LENGTH;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                out[pos++] = TAG_NULL;
+                out[pos++] = 0;
+            } else if (value instanceof Long || value instanceof Integer) {
+                out[pos++] = TAG_LONG;
+                out[pos++] = 8;
+                pos = putLong(out, pos, ((Number) value).longValue());
+            } else if (value instanceof Double d) {
+                out[pos++] = TAG_DOUBLE;
+                out[pos++] = 8;
+                pos = putLong(out, pos, Double.doubleToRawLongBits(d));
+            } else if (value instanceof Float f) {
+                out[pos++] = TAG_FLOAT;
+                out[pos++] = 4;
+                pos = putInt(out, pos, Float.floatToRawIntBits(f));
+            } else if (value instanceof BigDecimal decimal) {
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                out[pos++] = TAG_DECIMAL;
+                out[pos++] = (byte) (4 + unscaled.length);
+                pos = putInt(out, pos, decimal.scale());
+                System.arraycopy(unscaled, 0, out, pos, unscaled.length);
+                pos += unscaled.length;
+            } else {
+                byte[] bytes = strings[i];
+                out[pos++] = TAG_STRING;
+                out[pos++] = (byte) bytes.length;
+                System.arraycopy(bytes, 0, out, pos, bytes.length);
+                pos += bytes.length;
+            }
+        }
+
+        sign(out, size, out, size);
+        return ENCODER.encodeToString(out);
+    }
+
+    /**
+     * Decode and verify a cursor issued for the query described by scope
+     *
+     * @throws IllegalArgumentException when the cursor is malformed, its signature does not match
+     *                                  or it was issued for another query
+     */
+    public CursorData decode(String cursor, String scope) {
+        byte[] in;
+        try {
+            in = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor is not valid Base64url", e);
+        }
+
+        int size = in.length - MAC_LENGTH;
+        if (size < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Cursor is truncated");
+        }
+
+        byte[] expected = new byte[MAC_LENGTH];
+        sign(in, size, expected, 0);
+        int diff = 0;
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            diff |= expected[i] ^ in[size + i];
+        }
+        if (diff != 0) {
+            throw new IllegalArgumentException("Cursor signature mismatch");
+        }
+
+        if (in[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported cursor version " + in[0]);
+        }
+
+        byte[] expectedScope = scopeHash(scope);
+        for (int i = 0; i < SCOPE_LENGTH; i++) {
+            if (in[1 + i] != expectedScope[i]) {
+                throw new IllegalArgumentException("Cursor was issued for a different query");
+            }
+        }
+
+        int count = in[1 + SCOPE_LENGTH] & 0xFF;
+        if (count == 0 || count > MAX_KEYS) {
+            throw new IllegalArgumentException("Invalid cursor key count " + count);
+        }
+
+        int[] offsets = new int[count];
+        int pos = HEADER_LENGTH;
+        for (int i = 0; i < count; i++) {
+            if (pos + 2 > size) {
+                throw new IllegalArgumentException("Cursor is truncated");
+            }
+            offsets[i] = pos;
+            pos += 2 + (in[pos + 1] & 0xFF);
+        }
+        if (pos != size) {
+            throw new IllegalArgumentException("Cursor length mismatch");
+        }
+
+        return new CursorData(in, offsets);
+    }
+
+    private void sign(byte[] data, int length, byte[] out, int outOffset) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            mac.update(data, 0, length);
+            byte[] digest = mac.doFinal();
+            System.arraycopy(digest, 0, out, outOffset, MAC_LENGTH);
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private static byte[] scopeHash(String scope) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(scope.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static int fixedLength(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Double) {
+            return 8;
+        }
+        if (value instanceof Float) {
+            return 4;
+        }
+        if (value instanceof BigDecimal decimal) {
+            int length = 4 + decimal.unscaledValue().bitLength() / 8 + 1;
+            if (length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("Cursor decimal key is too large");
+            }
+            return length;
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type " + value.getClass().getName());
+    }
+
+    private static int putLong(byte[] out, int pos, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out[pos++] = (byte) (value >>> shift);
+        }
+        return pos;
+    }
+
+    private static int putInt(byte[] out, int pos, int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out[pos++] = (byte) (value >>> shift);
+        }
+        return pos;
+    }
+
+    static long getLong(byte[] in, int pos) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (in[pos + i] & 0xFF);
+        }
+        return value;
+    }
+
+    static int getInt(byte[] in, int pos) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (in[pos + i] & 0xFF);
+        }
+        return value;
+    }
+
+    static BigDecimal getDecimal(byte[] in, int pos, int length) {
+        int scale = getInt(in, pos);
+        byte[] unscaled = new byte[length - 4];
+        System.arraycopy(in, pos + 4, unscaled, 0, unscaled.length);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -1,4 +1,89 @@
 package io.github.bluething.stayforge.supplyapi.util;
 
-public record CursorData(Long id) {
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decoded cursor keys, read by position in the order they were encoded.
+ * Values are parsed lazily from the verified cursor bytes, a key of an unexpected
+ * type or position rejects the cursor as invalid.
+ */
+public final class CursorData {
+    private final byte[] bytes;
+    private final int[] offsets;
+
+    CursorData(byte[] bytes, int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public boolean isNull(int index) {
+        return tag(index) == CursorCodec.TAG_NULL;
+    }
+
+    public Long getLong(int index) {
+        if (expect(index, CursorCodec.TAG_LONG)) {
+            return null;
+        }
+        return CursorCodec.getLong(bytes, offsets[index] + 2);
+    }
+
+    public Double getDouble(int index) {
+        if (expect(index, CursorCodec.TAG_DOUBLE)) {
+            return null;
+        }
+        return Double.longBitsToDouble(CursorCodec.getLong(bytes, offsets[index] + 2));
+    }
+
+    public Float getFloat(int index) {
+        if (expect(index, CursorCodec.TAG_FLOAT)) {
+            return null;
+        }
+        return Float.intBitsToFloat(CursorCodec.getInt(bytes, offsets[index] + 2));
+    }
+
+    public String getString(int index) {
+        if (expect(index, CursorCodec.TAG_STRING)) {
+            return null;
+        }
+        return new String(bytes, offsets[index] + 2, length(index), StandardCharsets.UTF_8);
+    }
+
+    public BigDecimal getDecimal(int index) {
+        if (expect(index, CursorCodec.TAG_DECIMAL)) {
+            return null;
+        }
+        return CursorCodec.getDecimal(bytes, offsets[index] + 2, length(index));
+    }
+
+    /**
+     * @return true when the key is null, rejects the cursor when the key holds a different type
+     */
+    private boolean expect(int index, byte tag) {
+        byte actual = tag(index);
+        if (actual == CursorCodec.TAG_NULL) {
+            return true;
+        }
+        if (actual != tag) {
+            throw CursorPaginationUtils.invalidCursor(new IllegalArgumentException(
+                    "Cursor key " + index + " has type " + (char) actual + ", expected " + (char) tag));
+        }
+        return false;
+    }
+
+    private byte tag(int index) {
+        if (index < 0 || index >= offsets.length) {
+            throw CursorPaginationUtils.invalidCursor(new IllegalArgumentException(
+                    "Cursor has no key at position " + index));
+        }
+        return bytes[offsets[index]];
+    }
+
+    private int length(int index) {
+        return bytes[offsets[index] + 1] & 0xFF;
+    }
 }
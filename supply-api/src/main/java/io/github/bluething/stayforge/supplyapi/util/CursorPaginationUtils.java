@@ -1,48 +1,68 @@
 package io.github.bluething.stayforge.supplyapi.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class CursorPaginationUtils {
-    private final ObjectMapper objectMapper;
+    private final CursorCodec codec;
+
+    public CursorPaginationUtils(@Value("${supply.pagination.cursor-secret:}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Cursors then only verify on this instance and until it restarts
+            log.warn("supply.pagination.cursor-secret is not set, using a random per-process cursor key");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            this.codec = new CursorCodec(random);
+        } else {
+            this.codec = new CursorCodec(secret.getBytes(StandardCharsets.UTF_8));
+        }
+    }
 
     /**
-     * Encode cursor from ID
+     * Encode cursor from the sort keys of the last item, in sort order.
+     * Extra values such as the total computed on the first page may follow the keys.
+     * The scope names the filter and sort of the query, the cursor only decodes for the same scope.
      */
-    public String encodeCursor(Long id) {
-        if (id == null) {
+    public String encodeCursor(String scope, Object... keys) {
+        if (keys.length == 0 || keys[0] == null) {
             return null;
         }
-
-        try {
-            CursorData cursorData = new CursorData(id);
-            String json = objectMapper.writeValueAsString(cursorData);
-            return Base64.getUrlEncoder().encodeToString(json.getBytes());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to encode cursor", e);
-        }
+        return codec.encode(scope, keys);
     }
 
     /**
-     * Decode cursor to ID
+     * Decode cursor to its keys, empty when no cursor was given
+     *
+     * @throws BusinessException when the cursor is malformed, was tampered with or belongs to another query
      */
-    public Optional<Long> decodeCursor(String cursor) {
+    public Optional<CursorData> decodeCursor(String cursor, String scope) {
         if (cursor == null || cursor.trim().isEmpty()) {
             return Optional.empty();
         }
 
         try {
-            byte[] decoded = Base64.getUrlDecoder().decode(cursor);
-            CursorData cursorData = objectMapper.readValue(decoded, CursorData.class);
-            return Optional.of(cursorData.id());
-        } catch (Exception e) {
-            return Optional.empty(); // Invalid cursor, start from beginning
+            return Optional.of(codec.decode(cursor.trim(), scope));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(e);
         }
     }
+
+    static BusinessException invalidCursor(IllegalArgumentException cause) {
+        return new BusinessException(
+                ErrorCode.INVALID_CURSOR,
+                HttpStatus.BAD_REQUEST,
+                "Invalid pagination cursor",
+                cause
+        );
+    }
 }
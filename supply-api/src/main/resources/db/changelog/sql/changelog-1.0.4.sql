@@ -0,0 +1,12 @@
+-- Trigram indexes for area name search
+--liquibase formatted sql
+
+--changeset habib.machpud:add-index-area-name-trgm
+--comment: Serve ILIKE '%x%' and similarity (%) searches on area name from a trigram index
+CREATE INDEX IF NOT EXISTS idx_area_name_trgm ON area USING gin (name gin_trgm_ops) WHERE deleted_at IS NULL;
+--rollback DROP INDEX IF EXISTS idx_area_name_trgm;
+
+--changeset habib.machpud:add-index-area-slug-trgm
+--comment: Serve similarity (%) searches on area slug from a trigram index
+CREATE INDEX IF NOT EXISTS idx_area_slug_trgm ON area USING gin (slug gin_trgm_ops) WHERE deleted_at IS NULL;
+--rollback DROP INDEX IF EXISTS idx_area_slug_trgm;
@@ -0,0 +1,13 @@
+-- Area change tracking for HTTP validators
+--liquibase formatted sql
+
+--changeset habib.machpud:add-trigger-area-updated_at splitStatements:false
+--comment: Keep area.updated_at current like hotel, room_type and plan
+CREATE TRIGGER update_area_updated_at BEFORE UPDATE ON area
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+--rollback DROP TRIGGER IF EXISTS update_area_updated_at ON area;
+
+--changeset habib.machpud:add-index-area-updated_at
+--comment: Serve max(updated_at) of active areas for list ETags
+CREATE INDEX IF NOT EXISTS idx_area_updated_at ON area(updated_at) WHERE deleted_at IS NULL;
+--rollback DROP INDEX IF EXISTS idx_area_updated_at;
@@ -0,0 +1,32 @@
+-- Change notifications for cross-node cache invalidation
+--liquibase formatted sql
+
+--changeset habib.machpud:add-function-notify_supply_change splitStatements:false
+--comment: Publish '<entity>:<id>' on the supply_changes channel when a catalog row changes
+CREATE OR REPLACE FUNCTION notify_supply_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('supply_changes', TG_ARGV[0] || ':' || OLD.id);
+    ELSE
+        PERFORM pg_notify('supply_changes', TG_ARGV[0] || ':' || NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+--rollback DROP FUNCTION IF EXISTS notify_supply_change();
+
+--changeset habib.machpud:add-trigger-notify-catalog-changes
+--comment: Identical payloads within a transaction are delivered once, so bulk updates stay cheap
+CREATE TRIGGER notify_area_change AFTER INSERT OR UPDATE OR DELETE ON area
+    FOR EACH ROW EXECUTE FUNCTION notify_supply_change('area');
+CREATE TRIGGER notify_hotel_change AFTER INSERT OR UPDATE OR DELETE ON hotel
+    FOR EACH ROW EXECUTE FUNCTION notify_supply_change('hotel');
+CREATE TRIGGER notify_room_type_change AFTER INSERT OR UPDATE OR DELETE ON room_type
+    FOR EACH ROW EXECUTE FUNCTION notify_supply_change('room_type');
+CREATE TRIGGER notify_plan_change AFTER INSERT OR UPDATE OR DELETE ON plan
+    FOR EACH ROW EXECUTE FUNCTION notify_supply_change('plan');
+--rollback DROP TRIGGER IF EXISTS notify_area_change ON area;
+--rollback DROP TRIGGER IF EXISTS notify_hotel_change ON hotel;
+--rollback DROP TRIGGER IF EXISTS notify_room_type_change ON room_type;
+--rollback DROP TRIGGER IF EXISTS notify_plan_change ON plan;
@@ -0,0 +1,8 @@
+-- Rank ordered hotel listing per area
+--liquibase formatted sql
+
+--changeset habib.machpud:add-index-hotel-area-rank
+--comment: Matches ORDER BY rank DESC, id within an area so keyset pages read only the rows they return
+CREATE INDEX idx_hotel_area_rank ON hotel(area_id, rank DESC, id)
+    WHERE active = TRUE AND deleted_at IS NULL;
+--rollback DROP INDEX IF EXISTS idx_hotel_area_rank;
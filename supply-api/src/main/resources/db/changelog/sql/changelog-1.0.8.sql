@@ -0,0 +1,26 @@
+-- Change notifications for catalog child tables
+--liquibase formatted sql
+
+--changeset habib.machpud:add-function-notify_supply_parent_change splitStatements:false
+--comment: Publish '<entity>:<id>' for the parent row named by a column, so child rows reuse the parent's entity
+CREATE OR REPLACE FUNCTION notify_supply_parent_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('supply_changes', TG_ARGV[0] || ':' || (to_jsonb(OLD) ->> TG_ARGV[1]));
+    ELSE
+        PERFORM pg_notify('supply_changes', TG_ARGV[0] || ':' || (to_jsonb(NEW) ->> TG_ARGV[1]));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+--rollback DROP FUNCTION IF EXISTS notify_supply_parent_change();
+
+--changeset habib.machpud:add-trigger-notify-catalog-child-changes
+--comment: Hotel amenities change their hotel, plan links change their room type
+CREATE TRIGGER notify_hotel_amenity_change AFTER INSERT OR UPDATE OR DELETE ON hotel_amenity
+    FOR EACH ROW EXECUTE FUNCTION notify_supply_parent_change('hotel', 'hotel_id');
+CREATE TRIGGER notify_plan_room_type_change AFTER INSERT OR UPDATE OR DELETE ON plan_room_type
+    FOR EACH ROW EXECUTE FUNCTION notify_supply_parent_change('room_type', 'room_type_id');
+--rollback DROP TRIGGER IF EXISTS notify_hotel_amenity_change ON hotel_amenity;
+--rollback DROP TRIGGER IF EXISTS notify_plan_room_type_change ON plan_room_type;
@@ -0,0 +1,8 @@
+-- Change tracking for system_config
+--liquibase formatted sql
+
+--changeset habib.machpud:add-trigger-system_config-updated_at
+--comment: The config snapshot polls max(updated_at), so updates have to move it
+CREATE TRIGGER update_system_config_updated_at BEFORE UPDATE ON system_config
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+--rollback DROP TRIGGER IF EXISTS update_system_config_updated_at ON system_config;
@@ -0,0 +1,19 @@
+-- Change notifications for system_config
+--liquibase formatted sql
+
+--changeset habib.machpud:add-function-notify_supply_table_change splitStatements:false
+--comment: Publish '<entity>:*' once per statement, for tables reloaded whole rather than by ID
+CREATE OR REPLACE FUNCTION notify_supply_table_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('supply_changes', TG_ARGV[0] || ':*');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+--rollback DROP FUNCTION IF EXISTS notify_supply_table_change();
+
+--changeset habib.machpud:add-trigger-notify-system_config-changes
+--comment: Delivered on commit, so a reload never misses a transaction that was still open
+CREATE TRIGGER notify_system_config_change AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON system_config
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_supply_table_change('system_config');
+--rollback DROP TRIGGER IF EXISTS notify_system_config_change ON system_config;
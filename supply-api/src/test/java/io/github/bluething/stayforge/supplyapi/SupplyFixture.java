@@ -0,0 +1,98 @@
+package io.github.bluething.stayforge.supplyapi;
+
+import org.jooq.DSLContext;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Inserts the catalog and ARI rows integration tests build on.
+ * <p>
+ * Names and slugs get a random suffix, so tests that commit can share a database. Tests that
+ * name rows themselves must make the names unique, slugs are derived from them. ARI rows go
+ * into the monthly partitions PartitionManager creates on startup, so their dates must fall
+ * between last month and the end of the booking window.
+ */
+public class SupplyFixture {
+    public static final String TIMEZONE = "Asia/Makassar";
+
+    private final DSLContext dsl;
+
+    public SupplyFixture(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public Long area() {
+        return area("Area " + suffix());
+    }
+
+    public Long area(String name) {
+        return dsl.fetchValue("INSERT INTO area (name, slug) VALUES (?, ?) RETURNING id",
+                Long.class, name, slug(name));
+    }
+
+    public Long hotel(Long areaId) {
+        return hotel(areaId, "Hotel " + suffix());
+    }
+
+    public Long hotel(Long areaId, String name) {
+        return dsl.fetchValue("INSERT INTO hotel (area_id, name, slug, timezone) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, areaId, name, slug(name), TIMEZONE);
+    }
+
+    public void amenity(Long hotelId, String type, String name) {
+        dsl.execute("INSERT INTO hotel_amenity (hotel_id, amenity_type, amenity_name) VALUES (?, ?, ?)",
+                hotelId, type, name);
+    }
+
+    public Long roomType(Long hotelId, int capacityMax, String... amenities) {
+        return dsl.fetchValue("""
+                        INSERT INTO room_type (hotel_id, name, capacity_max, amenities)
+                        VALUES (?, 'Deluxe', ?, ?::text[]) RETURNING id
+                        """,
+                Long.class, hotelId, capacityMax, textArray(amenities));
+    }
+
+    public Long plan(String pricing, String... includedServices) {
+        return dsl.fetchValue("""
+                        INSERT INTO plan (name, pricing, included_services)
+                        VALUES (?, ?, ?::text[]) RETURNING id
+                        """,
+                Long.class, "Plan " + suffix(), pricing, textArray(includedServices));
+    }
+
+    public void link(Long planId, Long roomTypeId) {
+        link(planId, roomTypeId, 0);
+    }
+
+    public void link(Long planId, Long roomTypeId, int extraGuestFeeMinor) {
+        dsl.execute("INSERT INTO plan_room_type (plan_id, room_type_id, extra_guest_fee_minor) VALUES (?, ?, ?)",
+                planId, roomTypeId, extraGuestFeeMinor);
+    }
+
+    public void inventory(Long roomTypeId, LocalDate dt, int allotment) {
+        dsl.execute("INSERT INTO room_type_inventory (room_type_id, dt, allotment) VALUES (?, ?, ?)",
+                roomTypeId, dt, allotment);
+    }
+
+    public void nightlyRate(Long planId, LocalDate dt, long amountMinor) {
+        dsl.execute("INSERT INTO rate_nightly (plan_id, dt, occupancy_from, amount_minor) VALUES (?, ?, 1, ?)",
+                planId, dt, amountMinor);
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    /**
+     * Postgres array literal, null when empty so the column stays NULL as it would without the value
+     */
+    private static String textArray(String... values) {
+        return values.length == 0 ? null : "{" + String.join(",", values) + "}";
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
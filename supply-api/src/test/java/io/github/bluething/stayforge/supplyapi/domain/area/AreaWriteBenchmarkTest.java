@@ -0,0 +1,104 @@
+package io.github.bluething.stayforge.supplyapi.domain.area;
+
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.Tables;
+import io.github.bluething.stayforge.supplyapi.persistence.jooq.tables.records.AreaRecord;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the single-statement write path of AreaService with the previous
+ * check-then-write sequence. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+class AreaWriteBenchmarkTest {
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private AreaService areaService;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareCreateAndUpdateLatency() {
+        double legacyCreate = measure("legacy-create", i -> transactionTemplate.executeWithoutResult(status -> {
+            boolean exists = dsl.fetchExists(dsl.selectFrom(Tables.AREA)
+                    .where(Tables.AREA.SLUG.eq("legacy-" + i))
+                    .and(Tables.AREA.DELETED_AT.isNull()));
+            assertThat(exists).isFalse();
+
+            AreaRecord record = dsl.newRecord(Tables.AREA);
+            record.setName("Legacy " + i);
+            record.setSlug("legacy-" + i);
+            record.store();
+        }));
+        double singleCreate = measure("single-create",
+                i -> areaService.createArea(new CreateAreaCommand("Single " + i, "single-" + i)));
+
+        long legacyId = areaService.createArea(new CreateAreaCommand("Legacy Target", "legacy-target")).id();
+        long singleId = areaService.createArea(new CreateAreaCommand("Single Target", "single-target")).id();
+
+        double legacyUpdate = measure("legacy-update", i -> transactionTemplate.executeWithoutResult(status -> {
+            AreaRecord record = dsl.selectFrom(Tables.AREA)
+                    .where(Tables.AREA.ID.eq(legacyId))
+                    .and(Tables.AREA.DELETED_AT.isNull())
+                    .fetchOne();
+            boolean exists = dsl.fetchExists(dsl.selectFrom(Tables.AREA)
+                    .where(Tables.AREA.SLUG.eq("legacy-target-" + i))
+                    .and(Tables.AREA.DELETED_AT.isNull())
+                    .and(Tables.AREA.ID.ne(legacyId)));
+            assertThat(exists).isFalse();
+
+            record.setName("Legacy Target " + i);
+            record.setSlug("legacy-target-" + i);
+            record.store();
+        }));
+        double singleUpdate = measure("single-update",
+                i -> areaService.updateArea(singleId, new UpdateAreaCommand("Single Target " + i, "single-target-" + i)));
+
+        System.out.printf("create: legacy %.1f us/op, single statement %.1f us/op%n", legacyCreate, singleCreate);
+        System.out.printf("update: legacy %.1f us/op, single statement %.1f us/op%n", legacyUpdate, singleUpdate);
+    }
+
+    /**
+     * Mean latency in microseconds, after a warmup that uses its own key range
+     */
+    private static double measure(String name, IntConsumer operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.accept(-1 - i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        System.out.printf("%s: %.1f us/op over %d ops%n", name, micros, ITERATIONS);
+        return micros;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.bluething.stayforge.supplyapi.domain.autocomplete;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("AutocompleteIndex prefix search")
+class AutocompleteIndexTest {
+
+    private static final AutocompleteIndex INDEX = AutocompleteIndex.build(List.of(
+            area(1, "Kuta", "kuta-bali", "0.90000"),
+            hotel(10, 1, "Kuta Beach Resort", "kuta-beach-resort", "0.90000"),
+            hotel(11, 1, "Legian Beach Inn", "legian-beach-inn", "0.70000"),
+            hotel(12, 1, "Café Kutamara", "cafe-kutamara", "0.50000"),
+            hotel(13, 1, "Seminyak Suites", "seminyak-suites", "0.95000")
+    ));
+
+    @Test
+    @DisplayName("Should match any word start, highest rank first and areas before hotels on a tie")
+    void shouldMatchWordStartsByRank() {
+        List<AutocompleteSuggestion> suggestions = INDEX.search("kuta", 10, Set.of());
+
+        assertThat(suggestions)
+                .extracting(AutocompleteSuggestion::kind, AutocompleteSuggestion::id)
+                .containsExactly(
+                        tuple(AutocompleteKind.AREA, 1L),
+                        tuple(AutocompleteKind.HOTEL, 10L),
+                        tuple(AutocompleteKind.HOTEL, 12L));
+        assertThat(INDEX.search("beach", 10, Set.of()))
+                .extracting(AutocompleteSuggestion::id)
+                .containsExactly(10L, 11L);
+    }
+
+    @Test
+    @DisplayName("Should ignore case, accents and punctuation and match words of the slug")
+    void shouldNormalizeQueryAndText() {
+        assertThat(INDEX.search(AutocompleteIndex.normalize("CAFÉ  kut"), 10, Set.of()))
+                .extracting(AutocompleteSuggestion::id)
+                .containsExactly(12L);
+        assertThat(INDEX.search(AutocompleteIndex.normalize("bali"), 10, Set.of()))
+                .extracting(AutocompleteSuggestion::id)
+                .containsExactly(1L);
+        assertThat(INDEX.search("eminyak", 10, Set.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit and skip excluded entries")
+    void shouldHonourLimitAndExclusions() {
+        assertThat(INDEX.search("kuta", 1, Set.of()))
+                .extracting(AutocompleteSuggestion::id)
+                .containsExactly(1L);
+
+        Set<Long> excluded = Set.of(AutocompleteIndex.key(AutocompleteKind.AREA, 1));
+        assertThat(INDEX.search("kuta", 2, excluded))
+                .extracting(AutocompleteSuggestion::id)
+                .containsExactly(10L, 12L);
+    }
+
+    @Test
+    @DisplayName("Should return each entry once when several of its words match")
+    void shouldNotRepeatEntries() {
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                hotel(20, 1, "Bali Bay Bali", "bali-bay-bali", "0.10000")));
+
+        assertThat(index.search("ba", 10, Set.of())).hasSize(1);
+    }
+
+    private static AutocompleteSuggestion area(long id, String name, String slug, String rank) {
+        return new AutocompleteSuggestion(AutocompleteKind.AREA, id, null, name, slug, new BigDecimal(rank));
+    }
+
+    private static AutocompleteSuggestion hotel(long id, long areaId, String name, String slug, String rank) {
+        return new AutocompleteSuggestion(AutocompleteKind.HOTEL, id, areaId, name, slug, new BigDecimal(rank));
+    }
+}
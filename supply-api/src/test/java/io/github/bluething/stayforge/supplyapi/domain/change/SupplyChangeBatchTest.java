@@ -0,0 +1,49 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SupplyChangeBatch notification payloads")
+class SupplyChangeBatchTest {
+
+    private final SupplyChangeBatch batch = new SupplyChangeBatch();
+
+    @Test
+    @DisplayName("Should merge single and listed IDs per entity")
+    void shouldMergeIds() {
+        assertThat(batch.add("area:12")).isTrue();
+        assertThat(batch.add("area:12")).isTrue();
+        assertThat(batch.add("inventory:3,4,5")).isTrue();
+
+        SupplyChanges changes = batch.drain();
+        assertThat(changes.ids(SupplyEntity.AREA)).containsExactly(12L);
+        assertThat(changes.ids(SupplyEntity.INVENTORY)).containsExactlyInAnyOrder(3L, 4L, 5L);
+        assertThat(changes.affects(SupplyEntity.HOTEL)).isFalse();
+        assertThat(batch.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should mark an entity as changed as a whole on a wildcard or too many IDs")
+    void shouldMarkWholeEntity() {
+        batch.add("rate:7");
+        batch.add("rate:*");
+        for (long id = 1; id <= SupplyChangeBatch.MAX_IDS + 1; id++) {
+            batch.add(SupplyEntity.HOTEL, id);
+        }
+
+        SupplyChanges changes = batch.drain();
+        assertThat(changes.all(SupplyEntity.RATE)).isTrue();
+        assertThat(changes.ids(SupplyEntity.RATE)).isEmpty();
+        assertThat(changes.all(SupplyEntity.HOTEL)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ignore payloads it does not understand")
+    void shouldIgnoreUnknownPayloads() {
+        assertThat(batch.add("no separator")).isFalse();
+        assertThat(batch.add("booking:1")).isFalse();
+        assertThat(batch.add("area:x")).isFalse();
+    }
+}
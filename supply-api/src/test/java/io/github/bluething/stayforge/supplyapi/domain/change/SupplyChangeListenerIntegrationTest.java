@@ -0,0 +1,117 @@
+package io.github.bluething.stayforge.supplyapi.domain.change;
+
+import io.github.bluething.stayforge.supplyapi.domain.systemconfig.SystemConfigService;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Notifications are only delivered on commit, so nothing here runs in a test transaction
+ */
+@SpringBootTest
+@Testcontainers
+class SupplyChangeListenerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private SupplyChangePublisher publisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SupplyChangeListener listener;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private SystemConfigService systemConfigService;
+
+    @BeforeEach
+    void setUp() {
+        await().atMost(Duration.ofSeconds(10)).until(listener::isListening);
+        handler.received.clear();
+    }
+
+    @Test
+    void shouldDeliverCatalogTriggerNotifications() {
+        Long areaId = dsl.fetchValue("INSERT INTO area (name, slug) VALUES ('Canggu', 'canggu') RETURNING id", Long.class);
+        dsl.execute("UPDATE area SET name = 'Canggu Beach' WHERE id = ?", areaId);
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> handler.received.stream().anyMatch(changes -> changes.ids(SupplyEntity.AREA).contains(areaId)));
+    }
+
+    @Test
+    void shouldDeliverPublishedChangesOnCommitOnly() {
+        transactionTemplate.executeWithoutResult(status -> publisher.publish(SupplyEntity.INVENTORY, List.of(41L, 42L)));
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.publish(SupplyEntity.RATE, List.of(99L));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> publisher.publishAll(SupplyEntity.RESTRICTION));
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> handler.received.stream().anyMatch(changes -> changes.all(SupplyEntity.RESTRICTION)));
+        assertThat(handler.received.stream().flatMap(changes -> changes.ids(SupplyEntity.INVENTORY).stream()))
+                .contains(41L, 42L);
+        assertThat(handler.received.stream().noneMatch(changes -> changes.affects(SupplyEntity.RATE))).isTrue();
+    }
+
+    @Test
+    void shouldReloadSystemConfig_WhenTableChanges() {
+        try {
+            dsl.execute("UPDATE system_config SET config_value = '400' WHERE config_key = 'inventory.max_advance_days'");
+
+            await().atMost(Duration.ofSeconds(10))
+                    .until(() -> handler.received.stream().anyMatch(changes -> changes.all(SupplyEntity.SYSTEM_CONFIG)));
+            await().atMost(Duration.ofSeconds(10))
+                    .until(() -> systemConfigService.current().maxAdvanceDays() == 400);
+        } finally {
+            dsl.execute("UPDATE system_config SET config_value = '365' WHERE config_key = 'inventory.max_advance_days'");
+        }
+    }
+
+    @TestConfiguration
+    static class Handlers {
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements SupplyChangeHandler {
+        final List<SupplyChanges> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onChanges(SupplyChanges changes) {
+            received.add(changes);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.bluething.stayforge.supplyapi.domain.facet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DisplayName("FacetIndex filtering and counting")
+class FacetIndexTest {
+
+    private static final FacetIndex INDEX = FacetIndex.build(List.of(
+            hotel(1, "Denpasar", "4", Set.of("pool", "spa"), Set.of("balcony")),
+            hotel(2, "Denpasar", "3", Set.of("pool"), Set.of("tv")),
+            hotel(3, "Ubud", "5", Set.of("pool", "spa"), Set.of("balcony", "tv")),
+            hotel(4, "Ubud", "2", Set.of(), Set.of())
+    ));
+
+    @Test
+    @DisplayName("Should count every value over all hotels without filters")
+    void shouldCountWithoutFilters() {
+        FacetCounts counts = INDEX.count(query(Map.of()));
+
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.counts().get(FacetDimension.CITY))
+                .containsExactly(entry("Denpasar", 2), entry("Ubud", 2));
+        assertThat(counts.counts().get(FacetDimension.AMENITY))
+                .containsExactly(entry("pool", 3), entry("spa", 2));
+    }
+
+    @Test
+    @DisplayName("Should match any selected city and keep counts of the other cities")
+    void shouldTreatDisjunctiveValuesAsAlternatives() {
+        FacetCounts counts = INDEX.count(query(Map.of(
+                FacetDimension.CITY, Set.of("Ubud"),
+                FacetDimension.STARS, Set.of("4", "5"))));
+
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.counts().get(FacetDimension.CITY))
+                .containsExactly(entry("Denpasar", 1), entry("Ubud", 1));
+        assertThat(counts.counts().get(FacetDimension.STARS))
+                .containsExactly(entry("2", 1), entry("5", 1));
+    }
+
+    @Test
+    @DisplayName("Should require every selected amenity")
+    void shouldTreatConjunctiveValuesAsRequired() {
+        FacetCounts counts = INDEX.count(query(Map.of(
+                FacetDimension.AMENITY, Set.of("pool", "spa"),
+                FacetDimension.ROOM_AMENITY, Set.of("tv"))));
+
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.counts().get(FacetDimension.CITY)).containsExactly(entry("Ubud", 1));
+        assertThat(counts.counts().get(FacetDimension.AMENITY))
+                .containsExactly(entry("pool", 1), entry("spa", 1));
+    }
+
+    @Test
+    @DisplayName("Should match nothing when a selected value is unknown")
+    void shouldMatchNothing_WhenValueUnknown() {
+        FacetCounts counts = INDEX.count(query(Map.of(FacetDimension.AMENITY, Set.of("pool", "sauna"))));
+
+        assertThat(counts.total()).isZero();
+        assertThat(counts.counts().get(FacetDimension.CITY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace and drop hotels without touching the original index")
+    void shouldApplyChangesCopyOnWrite() {
+        FacetIndex next = INDEX.apply(
+                List.of(2L, 4L),
+                List.of(hotel(2, "Ubud", "3", Set.of("gym"), Set.of())));
+
+        FacetCounts counts = next.count(query(Map.of()));
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.counts().get(FacetDimension.CITY))
+                .containsExactly(entry("Denpasar", 1), entry("Ubud", 2));
+        assertThat(counts.counts().get(FacetDimension.AMENITY))
+                .containsExactly(entry("gym", 1), entry("pool", 2), entry("spa", 2));
+        assertThat(counts.counts().get(FacetDimension.STARS)).doesNotContainKey("2");
+
+        assertThat(INDEX.count(query(Map.of())).counts().get(FacetDimension.AMENITY))
+                .containsExactly(entry("pool", 3), entry("spa", 2));
+    }
+
+    private static FacetQuery query(Map<FacetDimension, Set<String>> filters) {
+        return new FacetQuery(filters);
+    }
+
+    private static HotelFacets hotel(long id, String city, String stars, Set<String> amenities,
+                                     Set<String> roomAmenities) {
+        Map<FacetDimension, Set<String>> values = new EnumMap<>(FacetDimension.class);
+        values.put(FacetDimension.CITY, Set.of(city));
+        values.put(FacetDimension.STARS, Set.of(stars));
+        values.put(FacetDimension.AMENITY, amenities);
+        values.put(FacetDimension.ROOM_AMENITY, roomAmenities);
+        return new HotelFacets(id, values);
+    }
+}
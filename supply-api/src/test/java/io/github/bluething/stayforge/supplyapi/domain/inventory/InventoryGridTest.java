@@ -0,0 +1,85 @@
+package io.github.bluething.stayforge.supplyapi.domain.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InventoryGrid off-heap allotment store")
+class InventoryGridTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private final InventoryGrid grid = new InventoryGrid(FIRST_DAY, 200, 4);
+
+    @Test
+    @DisplayName("Should return the lowest allotment over the stay")
+    void shouldReturnLowestAllotment() {
+        for (int day = 0; day < 5; day++) {
+            grid.set(7L, FIRST_DAY.plusDays(day), 10 - day, false);
+        }
+
+        assertThat(grid.minAllotment(7L, FIRST_DAY, FIRST_DAY.plusDays(3))).isEqualTo(8);
+        assertThat(grid.minAllotment(7L, FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(5))).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should not sell a stay with a missing night or an unknown room type")
+    void shouldNotSellMissingNight() {
+        grid.set(7L, FIRST_DAY, 3, false);
+        grid.set(7L, FIRST_DAY.plusDays(2), 3, false);
+
+        assertThat(grid.minAllotment(7L, FIRST_DAY, FIRST_DAY.plusDays(3))).isEqualTo(InventoryGrid.NO_ROW);
+        assertThat(grid.minAllotment(99L, FIRST_DAY, FIRST_DAY.plusDays(1))).isEqualTo(InventoryGrid.NO_ROW);
+    }
+
+    @Test
+    @DisplayName("Should not sell a stay with a stop-sold night across bitset words")
+    void shouldNotSellStopSoldNight() {
+        LocalDate checkIn = FIRST_DAY.plusDays(60);
+        for (int day = 0; day < 10; day++) {
+            grid.set(7L, checkIn.plusDays(day), 5, day == 6);
+        }
+
+        assertThat(grid.minAllotment(7L, checkIn, checkIn.plusDays(6))).isEqualTo(5);
+        assertThat(grid.minAllotment(7L, checkIn, checkIn.plusDays(7))).isEqualTo(InventoryGrid.NO_ROW);
+
+        grid.set(7L, checkIn.plusDays(6), 5, false);
+        assertThat(grid.minAllotment(7L, checkIn, checkIn.plusDays(10))).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep stop-sell when only the allotment changes")
+    void shouldKeepStopSellOnAllotmentUpdate() {
+        grid.set(7L, FIRST_DAY, 5, true);
+        grid.setAllotment(7L, FIRST_DAY, 4);
+
+        assertThat(grid.allotment(7L, FIRST_DAY)).isEqualTo(4);
+        assertThat(grid.stopSell(7L, FIRST_DAY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow past one segment of room types")
+    void shouldGrowAcrossSegments() {
+        int roomTypes = InventoryGrid.SEGMENT_SLOTS + 10;
+        for (long roomTypeId = 1; roomTypeId <= roomTypes; roomTypeId++) {
+            grid.set(roomTypeId, FIRST_DAY, (int) roomTypeId, false);
+        }
+
+        assertThat(grid.roomTypeCount()).isEqualTo(roomTypes);
+        assertThat(grid.minAllotment(1L, FIRST_DAY, FIRST_DAY.plusDays(1))).isEqualTo(1);
+        assertThat(grid.minAllotment(roomTypes, FIRST_DAY, FIRST_DAY.plusDays(1))).isEqualTo(roomTypes);
+    }
+
+    @Test
+    @DisplayName("Should reject dates outside the window")
+    void shouldRejectDatesOutsideWindow() {
+        assertThat(grid.covers(FIRST_DAY, FIRST_DAY.plusDays(200))).isTrue();
+        assertThat(grid.covers(FIRST_DAY, FIRST_DAY.plusDays(201))).isFalse();
+        assertThatThrownBy(() -> grid.set(7L, FIRST_DAY.minusDays(1), 1, false))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
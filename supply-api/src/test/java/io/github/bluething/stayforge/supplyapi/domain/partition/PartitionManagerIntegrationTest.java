@@ -0,0 +1,71 @@
+package io.github.bluething.stayforge.supplyapi.domain.partition;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+class PartitionManagerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private PartitionManager partitionManager;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Test
+    void shouldCreateMonthlyPartitionsAhead_OnStartup() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        String suffix = current.plusMonths(12).format(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        PartitionStatus status = partitionManager.status();
+
+        for (PartitionedTable table : PartitionedTable.values()) {
+            assertThat(status.partitions().get(table.tableName()))
+                    .extracting(PartitionInfo::name)
+                    .contains(table.tableName() + "_p" + suffix);
+        }
+        // Indexes were built before attaching and adopted by the parent's partitioned indexes
+        assertThat(dsl.fetchValue("SELECT count(*) FROM pg_index WHERE indrelid = ?::regclass AND indisvalid",
+                Integer.class, "room_type_inventory_p" + suffix)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDropPartitions_PastRetention() {
+        dsl.execute("CREATE TABLE rate_nightly_p200001 PARTITION OF rate_nightly "
+                + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+
+        PartitionRunReport report = partitionManager.maintain();
+
+        assertThat(report.skipped()).isFalse();
+        assertThat(report.dropped()).contains("rate_nightly_p200001");
+        assertThat(dsl.fetchValue("SELECT to_regclass('rate_nightly_p200001') IS NULL", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void shouldBeIdempotent_WhenRunAgain() {
+        PartitionRunReport report = partitionManager.maintain();
+
+        assertThat(report.created()).isEmpty();
+        assertThat(report.errors()).isEmpty();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.bluething.stayforge.supplyapi.domain.pricing;
+
+import io.github.bluething.stayforge.supplyapi.domain.availability.PlanPricing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateMatrix stay pricing")
+class RateMatrixTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    @DisplayName("Should sum the highest tier not above the guests per night and charge extra guests")
+    void shouldPriceNightlyStayWithTiers() {
+        RateMatrix.Builder builder = new RateMatrix.Builder(1L, PlanPricing.NIGHTLY, FIRST_DAY, 10);
+        for (int day = 0; day < 10; day++) {
+            builder.nightly(FIRST_DAY.plusDays(day), 1, 10_000);
+        }
+        builder.nightly(FIRST_DAY.plusDays(1), 2, 15_000);
+        RateMatrix matrix = builder.build();
+
+        StayPricer single = matrix.forGuests(1);
+        assertThat(single.price(0, 3, 2_000)).isEqualTo(30_000);
+
+        // Night 1 uses the two guest tier, nights 0 and 2 charge the second guest as extra
+        StayPricer couple = matrix.forGuests(2);
+        assertThat(couple.price(0, 3, 2_000)).isEqualTo(10_000 + 15_000 + 10_000 + 2 * 2_000);
+        assertThat(couple.price(FIRST_DAY.plusDays(1), 1, 2_000)).isEqualTo(15_000);
+    }
+
+    @Test
+    @DisplayName("Should not price a stay with a missing night or outside the window")
+    void shouldNotPriceMissingNight() {
+        RateMatrix.Builder builder = new RateMatrix.Builder(1L, PlanPricing.NIGHTLY, FIRST_DAY, 5);
+        builder.nightly(FIRST_DAY, 1, 10_000);
+        builder.nightly(FIRST_DAY.plusDays(2), 1, 10_000);
+        StayPricer pricer = builder.build().forGuests(1);
+
+        assertThat(pricer.price(0, 1, 0)).isEqualTo(10_000);
+        assertThat(pricer.price(0, 3, 0)).isEqualTo(RateMatrix.NO_RATE);
+        assertThat(pricer.price(4, 2, 0)).isEqualTo(RateMatrix.NO_RATE);
+        assertThat(pricer.price(-1, 1, 0)).isEqualTo(RateMatrix.NO_RATE);
+    }
+
+    @Test
+    @DisplayName("Should not price guests below the lowest tier")
+    void shouldNotPriceBelowLowestTier() {
+        RateMatrix.Builder builder = new RateMatrix.Builder(1L, PlanPricing.NIGHTLY, FIRST_DAY, 2);
+        builder.nightly(FIRST_DAY, 2, 10_000);
+
+        assertThat(builder.build().forGuests(1).price(0, 1, 0)).isEqualTo(RateMatrix.NO_RATE);
+    }
+
+    @Test
+    @DisplayName("Should price LOS stays by check-in and length")
+    void shouldPriceLosStay() {
+        RateMatrix.Builder builder = new RateMatrix.Builder(2L, PlanPricing.LOS, FIRST_DAY, 3);
+        builder.los(FIRST_DAY, 2, 1, 18_000);
+        builder.los(FIRST_DAY.plusDays(1), 3, 1, 25_000);
+        builder.los(FIRST_DAY.plusDays(1), 3, 2, 30_000);
+        RateMatrix matrix = builder.build();
+
+        assertThat(matrix.forGuests(1).price(0, 2, 1_000)).isEqualTo(18_000);
+        assertThat(matrix.forGuests(2).price(0, 2, 1_000)).isEqualTo(18_000 + 2 * 1_000);
+        assertThat(matrix.forGuests(3).price(1, 3, 1_000)).isEqualTo(30_000 + 3 * 1_000);
+        assertThat(matrix.forGuests(1).price(0, 3, 1_000)).isEqualTo(RateMatrix.NO_RATE);
+    }
+
+    @Test
+    @DisplayName("Should price many candidate stays in one pass")
+    void shouldPriceCandidateBatch() {
+        RateMatrix.Builder builder = new RateMatrix.Builder(1L, PlanPricing.NIGHTLY, FIRST_DAY, 30);
+        for (int day = 0; day < 30; day++) {
+            builder.nightly(FIRST_DAY.plusDays(day), 1, 1_000L * (day + 1));
+        }
+        StayPricer pricer = builder.build().forGuests(1);
+
+        int[] checkIns = {0, 5, 27, 29};
+        int[] nights = {2, 3, 3, 2};
+        long[] prices = new long[checkIns.length];
+        pricer.price(checkIns, nights, 0, prices);
+
+        assertThat(prices).containsExactly(3_000, 21_000, 87_000, RateMatrix.NO_RATE);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.bluething.stayforge.supplyapi.domain.reservation;
+
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flash sale on one room type: many virtual threads book overlapping stays at once.
+ * Checks that no night is oversold and reports bookings per second. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+class ReservationLoadBenchmarkTest {
+    private static final int ROOMS = 200;
+    private static final int NIGHTS = 7;
+    private static final int ATTEMPTS = 2_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Test
+    void shouldNotOverbookUnderConcurrentBookings() throws Exception {
+        LocalDate firstNight = LocalDate.now().plusDays(30);
+        SupplyFixture supply = new SupplyFixture(dsl);
+        Long roomTypeId = supply.roomType(supply.hotel(supply.area()), 2);
+        Long planId = supply.plan("NIGHTLY");
+        supply.link(planId, roomTypeId);
+        for (int night = 0; night < NIGHTS; night++) {
+            LocalDate dt = firstNight.plusDays(night);
+            supply.inventory(roomTypeId, dt, ROOMS);
+            supply.nightlyRate(planId, dt, 500000);
+        }
+
+        // Stays of 1 to 4 nights starting anywhere in the week, so they overlap in every combination
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        int[] takenPerNight = new int[NIGHTS];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(ATTEMPTS);
+
+        long startedAt;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                int length = 1 + i % 4;
+                int offset = (i / 4) % (NIGHTS - length + 1);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        reservationService.createReservation(new CreateReservationCommand(
+                                roomTypeId, planId, firstNight.plusDays(offset), firstNight.plusDays(offset + length),
+                                1, "Guest", null, null));
+                        booked.incrementAndGet();
+                        synchronized (takenPerNight) {
+                            for (int night = offset; night < offset + length; night++) {
+                                takenPerNight[night]++;
+                            }
+                        }
+                    } catch (BusinessException e) {
+                        assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INSUFFICIENT_INVENTORY);
+                        soldOut.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        List<Integer> allotments = dsl.fetch("SELECT allotment FROM room_type_inventory WHERE room_type_id = ? ORDER BY dt",
+                roomTypeId).getValues(0, Integer.class);
+        for (int night = 0; night < NIGHTS; night++) {
+            assertThat(takenPerNight[night]).isLessThanOrEqualTo(ROOMS);
+            assertThat(allotments.get(night)).isEqualTo(ROOMS - takenPerNight[night]);
+        }
+        assertThat(dsl.fetchValue("SELECT count(*) FROM reservation WHERE room_type_id = ?", Long.class, roomTypeId))
+                .isEqualTo(booked.get());
+        assertThat(booked.get() + soldOut.get()).isEqualTo(ATTEMPTS);
+
+        System.out.printf("%d attempts, %d booked, %d sold out in %.2f s: %.0f attempts/s, %.0f bookings/s%n",
+                ATTEMPTS, booked.get(), soldOut.get(), seconds, ATTEMPTS / seconds, booked.get() / seconds);
+        System.out.printf("remaining allotment per night: %s%n", allotments);
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.bluething.stayforge.supplyapi.domain.restriction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled restriction bitsets with the row by row check for every check-in
+ * of a quarter and every length up to two weeks. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestrictionEvaluatorBenchmarkTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalTime CHECK_IN_TIME = LocalTime.of(14, 0);
+    private static final int DAYS = 120;
+    private static final int CHECK_INS = 90;
+    private static final int MAX_NIGHTS = 14;
+
+    private final ZonedDateTime now = FIRST_DAY.minusDays(3).atTime(9, 0).atZone(ZoneOffset.UTC);
+    private final Map<LocalDate, Row> rows = new HashMap<>();
+    private RestrictionMatrix matrix;
+    private int[] checkIns;
+    private int[] nights;
+    private boolean[] allowed;
+
+    @Test
+    void compareWithRowByRowCheck() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RestrictionEvaluatorBenchmarkTest.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        RestrictionMatrix.Builder builder = new RestrictionMatrix.Builder(FIRST_DAY, DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            Row row = new Row(
+                    random.nextInt(20) == 0,
+                    random.nextInt(10) == 0,
+                    random.nextInt(10) == 0,
+                    random.nextInt(5) == 0 ? 2 : null,
+                    random.nextInt(5) == 0 ? 7 : null,
+                    random.nextInt(5) == 0 ? 1 : null,
+                    null,
+                    null,
+                    random.nextInt(5) == 0 ? 2_000 : null,
+                    null);
+            LocalDate date = FIRST_DAY.plusDays(day);
+            rows.put(date, row);
+            builder.row(date, row.closed(), row.cta(), row.ctd(), row.minLos(), row.maxLos(),
+                    row.minAdvanceDays(), row.maxAdvanceDays(), row.minAdvanceHours(), row.maxAdvanceHours(),
+                    row.bookingCutoffTime());
+        }
+        matrix = builder.build();
+
+        checkIns = new int[CHECK_INS * MAX_NIGHTS];
+        nights = new int[CHECK_INS * MAX_NIGHTS];
+        allowed = new boolean[CHECK_INS * MAX_NIGHTS];
+        for (int i = 0; i < checkIns.length; i++) {
+            checkIns[i] = i / MAX_NIGHTS;
+            nights[i] = 1 + i % MAX_NIGHTS;
+        }
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        matrix.evaluate(checkIns, nights, now, CHECK_IN_TIME, allowed);
+        blackhole.consume(allowed);
+    }
+
+    @Benchmark
+    public void rowByRow(Blackhole blackhole) {
+        for (int i = 0; i < checkIns.length; i++) {
+            LocalDate checkIn = FIRST_DAY.plusDays(checkIns[i]);
+            allowed[i] = allowsRowByRow(checkIn, nights[i]);
+        }
+        blackhole.consume(allowed);
+    }
+
+    private boolean allowsRowByRow(LocalDate checkIn, int nights) {
+        LocalDate checkOut = checkIn.plusDays(nights);
+        for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+            Row row = rows.get(date);
+            if (row != null && row.closed()) {
+                return false;
+            }
+        }
+        Row departure = rows.get(checkOut);
+        if (departure != null && departure.ctd()) {
+            return false;
+        }
+
+        Row arrival = rows.get(checkIn);
+        if (arrival == null) {
+            return true;
+        }
+        if (arrival.cta()
+                || (arrival.minLos() != null && nights < arrival.minLos())
+                || (arrival.maxLos() != null && nights > arrival.maxLos())) {
+            return false;
+        }
+
+        long advanceDays = ChronoUnit.DAYS.between(now.toLocalDate(), checkIn);
+        if ((arrival.minAdvanceDays() != null && advanceDays < arrival.minAdvanceDays())
+                || (arrival.maxAdvanceDays() != null && advanceDays > arrival.maxAdvanceDays())) {
+            return false;
+        }
+
+        long advanceHours = Duration.between(now.toLocalDateTime(), checkIn.atTime(CHECK_IN_TIME)).toHours();
+        if ((arrival.minAdvanceHours() != null && advanceHours < arrival.minAdvanceHours())
+                || (arrival.maxAdvanceHours() != null && advanceHours > arrival.maxAdvanceHours())) {
+            return false;
+        }
+        return arrival.bookingCutoffTime() == null || advanceDays > 0
+                || now.toLocalTime().isBefore(arrival.bookingCutoffTime());
+    }
+
+    private record Row(boolean closed,
+                       boolean cta,
+                       boolean ctd,
+                       Integer minLos,
+                       Integer maxLos,
+                       Integer minAdvanceDays,
+                       Integer maxAdvanceDays,
+                       Integer minAdvanceHours,
+                       Integer maxAdvanceHours,
+                       LocalTime bookingCutoffTime) {
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.bluething.stayforge.supplyapi.domain.restriction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RestrictionMatrix stay evaluation")
+class RestrictionMatrixTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalTime CHECK_IN_TIME = LocalTime.of(14, 0);
+    private static final ZonedDateTime NOW = FIRST_DAY.minusDays(10).atTime(9, 0).atZone(ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should reject a closed night, CTA on arrival and CTD on departure")
+    void shouldApplyNightAndArrivalRules() {
+        RestrictionMatrix matrix = new RestrictionMatrix.Builder(FIRST_DAY, 100)
+                .row(FIRST_DAY.plusDays(70), true, false, false, null, null, null, null, null, null, null)
+                .row(FIRST_DAY.plusDays(10), false, true, false, null, null, null, null, null, null, null)
+                .row(FIRST_DAY.plusDays(20), false, false, true, null, null, null, null, null, null, null)
+                .build();
+
+        // Closed night past the first bitset word, departing on it is fine
+        assertThat(matrix.allows(60, 10, NOW, CHECK_IN_TIME)).isTrue();
+        assertThat(matrix.allows(60, 11, NOW, CHECK_IN_TIME)).isFalse();
+        assertThat(matrix.allows(50, 30, NOW, CHECK_IN_TIME)).isFalse();
+        assertThat(matrix.allows(71, 5, NOW, CHECK_IN_TIME)).isTrue();
+
+        assertThat(matrix.allows(10, 2, NOW, CHECK_IN_TIME)).isFalse();
+        assertThat(matrix.allows(9, 2, NOW, CHECK_IN_TIME)).isTrue();
+        assertThat(matrix.allows(18, 2, NOW, CHECK_IN_TIME)).isFalse();
+        assertThat(matrix.allows(18, 3, NOW, CHECK_IN_TIME)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should apply the LOS and advance rules of the arrival date")
+    void shouldApplyArrivalDateRules() {
+        RestrictionMatrix matrix = new RestrictionMatrix.Builder(FIRST_DAY, 30)
+                .row(FIRST_DAY, false, false, false, 2, 4, null, null, null, null, null)
+                .row(FIRST_DAY.plusDays(1), false, false, false, null, null, 12, null, null, null, null)
+                .row(FIRST_DAY.plusDays(2), false, false, false, null, null, null, null, null, 250, null)
+                .build();
+
+        assertThat(matrix.allows(FIRST_DAY, 1, NOW, CHECK_IN_TIME)).isFalse();
+        assertThat(matrix.allows(FIRST_DAY, 3, NOW, CHECK_IN_TIME)).isTrue();
+        assertThat(matrix.allows(FIRST_DAY, 5, NOW, CHECK_IN_TIME)).isFalse();
+        // 11 days ahead
+        assertThat(matrix.allows(1, 1, NOW, CHECK_IN_TIME)).isFalse();
+        // 12 days ahead at 14:00 is 293 hours away
+        assertThat(matrix.allows(2, 1, NOW, CHECK_IN_TIME)).isFalse();
+        assertThat(matrix.allows(2, 1, NOW.plusHours(50), CHECK_IN_TIME)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should close same-day bookings at the cutoff time")
+    void shouldApplyCutoffTime() {
+        RestrictionMatrix matrix = new RestrictionMatrix.Builder(FIRST_DAY, 5)
+                .row(FIRST_DAY, false, false, false, null, null, null, null, null, null, LocalTime.of(18, 0))
+                .build();
+
+        ZonedDateTime morning = FIRST_DAY.atTime(10, 0).atZone(ZoneOffset.UTC);
+        assertThat(matrix.allows(0, 1, morning, CHECK_IN_TIME)).isTrue();
+        assertThat(matrix.allows(0, 1, morning.plusHours(9), CHECK_IN_TIME)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not allow a stay whose departure leaves the window")
+    void shouldRejectStayLeavingWindow() {
+        RestrictionMatrix matrix = new RestrictionMatrix.Builder(FIRST_DAY, 3).build();
+
+        assertThat(matrix.allows(0, 2, NOW, CHECK_IN_TIME)).isTrue();
+        assertThat(matrix.allows(1, 2, NOW, CHECK_IN_TIME)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evaluate a batch of stays the same as one by one")
+    void shouldMatchSingleEvaluationInBatch() {
+        Random random = new Random(42);
+        RestrictionMatrix.Builder builder = new RestrictionMatrix.Builder(FIRST_DAY, 200);
+        for (int day = 0; day < 200; day++) {
+            builder.row(FIRST_DAY.plusDays(day),
+                    random.nextInt(10) == 0,
+                    random.nextInt(8) == 0,
+                    random.nextInt(8) == 0,
+                    random.nextInt(4) == 0 ? 1 + random.nextInt(3) : null,
+                    random.nextInt(4) == 0 ? 3 + random.nextInt(10) : null,
+                    null, null, null, null, null);
+        }
+        RestrictionMatrix matrix = builder.build();
+
+        int count = 200 * 20;
+        int[] checkIns = new int[count];
+        int[] nights = new int[count];
+        for (int i = 0; i < count; i++) {
+            checkIns[i] = i / 20;
+            nights[i] = 1 + i % 20;
+        }
+        boolean[] allowed = new boolean[count];
+        matrix.evaluate(checkIns, nights, NOW, CHECK_IN_TIME, allowed);
+
+        for (int i = 0; i < count; i++) {
+            assertThat(allowed[i])
+                    .as("check-in %d for %d nights", checkIns[i], nights[i])
+                    .isEqualTo(matrix.allows(checkIns[i], nights[i], NOW, CHECK_IN_TIME));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.bluething.stayforge.supplyapi.domain.systemconfig;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Change notifications are off so each swap here comes from an explicit poll or refresh
+ */
+@SpringBootTest(properties = {"supply.system-config.poll-interval=PT1H", "supply.changes.enabled=false"})
+@Testcontainers
+class SystemConfigServiceIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private SystemConfigService systemConfigService;
+
+    @Autowired
+    private SystemConfigEndpoint systemConfigEndpoint;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @AfterEach
+    void restoreSeed() {
+        dsl.execute("UPDATE system_config SET config_value = '365' WHERE config_key = 'inventory.max_advance_days'");
+        dsl.execute("DELETE FROM system_config WHERE config_key = 'test.flag'");
+        systemConfigService.refresh();
+    }
+
+    @Test
+    void shouldServeSeededValues() {
+        SystemConfig config = systemConfigService.current();
+
+        assertThat(config.defaultAllotment()).isEqualTo(10);
+        assertThat(config.maxAdvanceDays()).isEqualTo(365);
+        assertThat(config.defaultCurrency()).isEqualTo("IDR");
+        assertThat(config.partitionsAutoCreate()).isTrue();
+        assertThat(config.partitionsRetentionMonths()).isEqualTo(24);
+        assertThat(config.getInt("missing.key", 7)).isEqualTo(7);
+    }
+
+    @Test
+    void shouldSwapSnapshot_WhenRowUpdated() {
+        SystemConfig before = systemConfigService.current();
+        assertThat(systemConfigService.refreshIfChanged()).isFalse();
+
+        dsl.execute("UPDATE system_config SET config_value = '400' WHERE config_key = 'inventory.max_advance_days'");
+
+        assertThat(systemConfigService.current()).isSameAs(before);
+        assertThat(systemConfigService.refreshIfChanged()).isTrue();
+        assertThat(systemConfigService.current().maxAdvanceDays()).isEqualTo(400);
+        assertThat(before.maxAdvanceDays()).isEqualTo(365);
+    }
+
+    @Test
+    void shouldSwapSnapshot_WhenRowInsertedOrDeleted() {
+        dsl.execute("INSERT INTO system_config (config_key, config_value) VALUES ('test.flag', 'false')");
+        assertThat(systemConfigService.refreshIfChanged()).isTrue();
+        assertThat(systemConfigService.current().getBoolean("test.flag", true)).isFalse();
+
+        dsl.execute("DELETE FROM system_config WHERE config_key = 'test.flag'");
+        assertThat(systemConfigService.refreshIfChanged()).isTrue();
+        assertThat(systemConfigService.current().values()).doesNotContainKey("test.flag");
+    }
+
+    @Test
+    void shouldSwapSnapshot_WhenRowCommittedWithOlderTimestamp() {
+        systemConfigService.current();
+
+        // A transaction that started before the last poll commits a timestamp older than it
+        dsl.transaction(configuration -> {
+            DSLContext tx = configuration.dsl();
+            tx.execute("DELETE FROM system_config WHERE config_key = 'inventory.max_advance_days'");
+            tx.execute("INSERT INTO system_config (config_key, config_value, updated_at) "
+                    + "VALUES ('inventory.max_advance_days', '400', TIMESTAMPTZ '2000-01-01 00:00:00+00')");
+        });
+
+        assertThat(systemConfigService.refreshIfChanged()).isTrue();
+        assertThat(systemConfigService.current().maxAdvanceDays()).isEqualTo(400);
+    }
+
+    @Test
+    void shouldFallBackToDefault_WhenValueDoesNotParse() {
+        dsl.execute("UPDATE system_config SET config_value = 'a year' WHERE config_key = 'inventory.max_advance_days'");
+
+        SystemConfig config = systemConfigService.refresh();
+
+        assertThat(config.values()).containsEntry("inventory.max_advance_days", "a year");
+        assertThat(config.maxAdvanceDays()).isEqualTo(365);
+        assertThat(systemConfigEndpoint.systemConfig()).isSameAs(config);
+    }
+}
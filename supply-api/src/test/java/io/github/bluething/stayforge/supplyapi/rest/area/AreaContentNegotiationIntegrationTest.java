@@ -0,0 +1,111 @@
+package io.github.bluething.stayforge.supplyapi.rest.area;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+class AreaContentNegotiationIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldCreateAndListAreas_WhenSmile() throws Exception {
+        byte[] request = smileMapper.writeValueAsBytes(new CreateAreaRequest("Nusa Dua", "nusa-dua"));
+
+        byte[] created = mockMvc.perform(post("/api/v1/areas")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(smileMapper.readTree(created).get("slug").asText()).isEqualTo("nusa-dua");
+
+        byte[] list = mockMvc.perform(get("/api/v1/areas")
+                        .param("name", "nusa")
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode body = smileMapper.readTree(list);
+        assertThat(body.get("data")).hasSize(1);
+        assertThat(body.get("data").get(0).get("name").asText()).isEqualTo("Nusa Dua");
+    }
+
+    @Test
+    void shouldReturnArea_WhenCbor() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Jimbaran", "jimbaran"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        byte[] area = mockMvc.perform(get("/api/v1/areas/{id}", id).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readTree(area).get("slug").asText()).isEqualTo("jimbaran");
+    }
+
+    @Test
+    void shouldEncodeProblemDetail_WhenCbor() throws Exception {
+        byte[] problem = mockMvc.perform(get("/api/v1/areas/{id}", 999999).accept(CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode body = cborMapper.readTree(problem);
+        assertThat(body.get("type").asText()).isEqualTo("https://api.stayforge.com/problems/area-not-found");
+        assertThat(body.get("status").asInt()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldDefaultToJson_WhenAnyMediaTypeAccepted() throws Exception {
+        mockMvc.perform(get("/api/v1/areas").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
@@ -13,6 +13,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
@@ -89,6 +91,60 @@ class AreaControllerIntegrationTest {
                 .andExpect(jsonPath("$.title", is("Slug already exists")));
     }
 
+    @Test
+    void shouldReportPerItemResults_WhenBulkCreate() throws Exception {
+        // Given - one valid item, one duplicate within the batch and one invalid slug
+        List<CreateAreaRequest> requests = List.of(
+                new CreateAreaRequest("Candidasa", "candidasa"),
+                new CreateAreaRequest("Candidasa Beach", "candidasa"),
+                new CreateAreaRequest("Tulamben", "NOT A SLUG")
+        );
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/areas/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].area.slug", is("candidasa")))
+                .andExpect(jsonPath("$.results[1].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$.results[2].status", is("INVALID")));
+    }
+
+    @Test
+    void shouldImportNdjsonStream_WhenBulkCreate() throws Exception {
+        // Given
+        String ndjson = """
+                {"name": "Pemuteran", "slug": "pemuteran"}
+                {"name": "Sidemen", "slug": "sidemen"}
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/areas/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.results", hasSize(2)));
+    }
+
+    @Test
+    void shouldStopReadingNdjsonStream_WhenTooManyItems() throws Exception {
+        // Given - invalid items are rejected without touching the database, which keeps this cheap
+        String ndjson = "{\"name\": \"Invalid\", \"slug\": \"NOT A SLUG\"}\n".repeat(10_005);
+
+        // When & Then - one result per processed item and one for the rest of the stream
+        mockMvc.perform(post("/api/v1/areas/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(10_001)))
+                .andExpect(jsonPath("$.results[10000].status", is("INVALID")))
+                .andExpect(jsonPath("$.results[10000].message", startsWith("Too many items")));
+    }
+
     @Test
     void shouldGetArea_WhenValidId() throws Exception {
         // Given - create area first
@@ -112,6 +168,68 @@ class AreaControllerIntegrationTest {
                 .andExpect(jsonPath("$.slug", is("seminyak-bali")));
     }
 
+    @Test
+    void shouldReturnNotModified_WhenAreaETagMatches() throws Exception {
+        // Given
+        String createResponse = mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Uluwatu", "uluwatu-bali"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        AreaResponse createdArea = objectMapper.readValue(createResponse, AreaResponse.class);
+
+        String etag = mockMvc.perform(get("/api/v1/areas/{id}", createdArea.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/areas/{id}", createdArea.id())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnNotModified_WhenListETagMatches() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Balangan", "balangan"))))
+                .andExpect(status().isCreated());
+
+        String etag = mockMvc.perform(get("/api/v1/areas")
+                        .param("name", "balangan"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // When & Then - unchanged set
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("name", "balangan")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // When & Then - the set changes, so does the validator
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Balangan Cliff", "balangan-cliff"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("name", "balangan")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)));
+    }
+
     @Test
     void shouldReturnNotFound_WhenInvalidId() throws Exception {
         // When & Then
@@ -121,6 +239,61 @@ class AreaControllerIntegrationTest {
                 .andExpect(jsonPath("$.title", is("Area not found")));
     }
 
+    @Test
+    void shouldGetAreasInRequestOrder_WhenBatchGet() throws Exception {
+        // Given - one area read once so it is cached, one only in the database
+        AreaResponse ubud = createArea("Ubud", "ubud-bali");
+        AreaResponse sanur = createArea("Sanur", "sanur-bali");
+        mockMvc.perform(get("/api/v1/areas/{id}", sanur.id()))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("ids", sanur.id() + ",99999," + ubud.id() + "," + sanur.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].slug", is("sanur-bali")))
+                .andExpect(jsonPath("$.data[1].slug", is("ubud-bali")))
+                .andExpect(jsonPath("$.notFound", contains(99999)));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenBatchGetHasInvalidId() throws Exception {
+        mockMvc.perform(get("/api/v1/areas").param("ids", "1,-2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/validation-error")));
+    }
+
+    @Test
+    void shouldServeUpdatedArea_WhenCachedAreaIsUpdated() throws Exception {
+        // Given - create area and read it once so it is cached
+        String createResponse = mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Legian", "legian-bali"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        AreaResponse createdArea = objectMapper.readValue(createResponse, AreaResponse.class);
+
+        mockMvc.perform(get("/api/v1/areas/{id}", createdArea.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Legian")));
+
+        // When - update evicts the cached entry
+        mockMvc.perform(put("/api/v1/areas/{id}", createdArea.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateAreaRequest("Legian Beach", "legian-beach"))))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/v1/areas/{id}", createdArea.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Legian Beach")))
+                .andExpect(jsonPath("$.slug", is("legian-beach")));
+    }
+
     @Test
     void shouldListAreas_WithPagination() throws Exception {
         // Given - create multiple areas
@@ -165,6 +338,106 @@ class AreaControllerIntegrationTest {
                 .andExpect(jsonPath("$.data[0].name", containsStringIgnoringCase("kuta")));
     }
 
+    @Test
+    void shouldRankAreas_WhenFuzzyMatch() throws Exception {
+        // Given - a misspelled search term
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Nusa Dua", "nusa-dua"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Nusa Penida", "nusa-penida"))))
+                .andExpect(status().isCreated());
+
+        // When & Then - the closest match comes first
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("name", "nusa dau")
+                        .param("match", "fuzzy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.data[0].name", is("Nusa Dua")));
+    }
+
+    @Test
+    void shouldSkipTotal_WhenCountModeNone() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest("Sanur", "sanur-bali"))))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.pagination.total", nullValue()));
+    }
+
+    @Test
+    void shouldCarryTotalInCursor_WhenPagingForward() throws Exception {
+        // Given - create three areas and page through them two at a time
+        for (String name : List.of("Amed", "Lovina", "Munduk")) {
+            mockMvc.perform(post("/api/v1/areas")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateAreaRequest(name, name.toLowerCase()))))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/v1/areas")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pagination.hasNext", is(true)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var pagination = objectMapper.readTree(firstPage).get("pagination");
+
+        // When & Then - the second page reports the same total without counting again
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("limit", "2")
+                        .param("cursor", pagination.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pagination.total", is(pagination.get("total").asInt())));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCursorReplayedWithOtherFilter() throws Exception {
+        // Given - a cursor issued for the unfiltered list
+        for (String name : List.of("Amed", "Lovina", "Munduk")) {
+            mockMvc.perform(post("/api/v1/areas")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateAreaRequest(name, name.toLowerCase()))))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/v1/areas")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // When & Then - its keys and total mean nothing for a filtered list
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("limit", "2")
+                        .param("name", "lovina")
+                        .param("cursor", objectMapper.readTree(firstPage).at("/pagination/nextCursor").asText()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/invalid-cursor")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenUnknownCountMode() throws Exception {
+        mockMvc.perform(get("/api/v1/areas")
+                        .param("count", "sometimes"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/validation-error")));
+    }
+
     @Test
     void shouldDeleteArea_WhenValidId() throws Exception {
         // Given - create area
@@ -187,4 +460,15 @@ class AreaControllerIntegrationTest {
         mockMvc.perform(get("/api/v1/areas/{id}", createdArea.id()))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    private AreaResponse createArea(String name, String slug) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAreaRequest(name, slug))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, AreaResponse.class);
+    }
+}
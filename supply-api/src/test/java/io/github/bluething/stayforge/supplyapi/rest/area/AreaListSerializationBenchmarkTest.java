@@ -0,0 +1,94 @@
+package io.github.bluething.stayforge.supplyapi.rest.area;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.bluething.stayforge.supplyapi.rest.PaginationMetadata;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing and reading a full page of areas as JSON, Smile and CBOR, and prints
+ * the payload size of each format. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AreaListSerializationBenchmarkTest {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private AreaListResponse page;
+    private byte[] encoded;
+
+    @Test
+    void compareFormats() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AreaListSerializationBenchmarkTest.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+
+        List<AreaResponse> areas = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            areas.add(new AreaResponse(100_000L + i, "Kuta Selatan " + i, "kuta-selatan-" + i));
+        }
+        page = new AreaListResponse(areas, new PaginationMetadata(
+                "eyJpZCI6MTAwMDAwfQ==", PAGE_SIZE, 12_345L, true, "eyJpZCI6MTAwMDk5fQ=="));
+        encoded = mapper.writeValueAsBytes(page);
+    }
+
+    @TearDown(Level.Trial)
+    public void printPayloadSize() {
+        System.out.printf("%n%s payload for %d areas: %d bytes%n", format, PAGE_SIZE, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public AreaListResponse read() throws IOException {
+        return mapper.readValue(encoded, AreaListResponse.class);
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.bluething.stayforge.supplyapi.rest.ari;
+
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Chunks commit on the writer thread, outside any test transaction, so each test works on its own rows
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+class AriControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    private Long roomTypeId;
+    private Long planId;
+
+    @BeforeEach
+    void setUp() {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        roomTypeId = supply.roomType(supply.hotel(supply.area()), 2);
+        planId = supply.plan("NIGHTLY");
+    }
+
+    @Test
+    void shouldUpsertRowsAndReportRejects() throws Exception {
+        String ndjson = """
+                {"type":"inventory","roomTypeId":%1$d,"date":"%3$s","allotment":4}
+                {"type":"inventory","roomTypeId":%1$d,"date":"%3$s","allotment":6,"stopSell":true}
+                {"type":"rate","planId":%2$d,"date":"%3$s","amountMinor":750000}
+                {"type":"restriction","planId":%2$d,"date":"%3$s","cta":true,"minLos":2}
+                {"type":"inventory","roomTypeId":999999999,"date":"%3$s","allotment":1}
+                {"type":"rate","planId":%2$d,"date":"%3$s","amountMinor":-1}
+                not json
+                """.formatted(roomTypeId, planId, DAY);
+
+        mockMvc.perform(post("/api/v1/ari/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(7)))
+                .andExpect(jsonPath("$.applied", is(4)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andExpect(jsonPath("$.rejects[*].line", contains(5, 6, 7)))
+                .andExpect(jsonPath("$.rejects[0].message", is("Unknown room type")));
+
+        // The later line for the same key wins
+        assertThat(dsl.fetchValue("SELECT allotment FROM room_type_inventory WHERE room_type_id = ? AND dt = ?",
+                Integer.class, roomTypeId, DAY)).isEqualTo(6);
+        assertThat(dsl.fetchValue("SELECT amount_minor FROM rate_nightly WHERE plan_id = ? AND dt = ?",
+                Long.class, planId, DAY)).isEqualTo(750000L);
+        assertThat(dsl.fetchValue("SELECT min_los FROM plan_restriction WHERE plan_id = ? AND dt = ?",
+                Integer.class, planId, DAY)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUpdateExistingRows_WhenPushedAgain() throws Exception {
+        String first = """
+                {"type":"los","planId":%d,"checkIn":"%s","los":3,"amountMinor":2000000}
+                """.formatted(planId, DAY);
+        String second = """
+                {"type":"los","planId":%d,"checkIn":"%s","los":3,"amountMinor":1800000}
+                """.formatted(planId, DAY);
+
+        mockMvc.perform(post("/api/v1/ari/bulk").contentType(MediaType.APPLICATION_NDJSON).content(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied", is(1)));
+        mockMvc.perform(post("/api/v1/ari/bulk").contentType(MediaType.APPLICATION_NDJSON).content(second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied", is(1)));
+
+        assertThat(dsl.fetchValue("SELECT amount_minor FROM rate_los WHERE plan_id = ? AND checkin_dt = ? AND los = 3",
+                Long.class, planId, DAY)).isEqualTo(1800000L);
+    }
+
+    @Test
+    void shouldReplaceAdvanceHoursAndCutoff_WhenRestrictionPushedAgain() throws Exception {
+        String first = """
+                {"type":"restriction","planId":%d,"date":"%s","minAdvanceHours":6,"maxAdvanceHours":720,"bookingCutoffTime":"18:00"}
+                """.formatted(planId, DAY);
+        String second = """
+                {"type":"restriction","planId":%d,"date":"%s","cta":true}
+                """.formatted(planId, DAY);
+
+        mockMvc.perform(post("/api/v1/ari/bulk").contentType(MediaType.APPLICATION_NDJSON).content(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied", is(1)));
+        assertThat(dsl.fetchValue("SELECT min_advance_hours FROM plan_restriction WHERE plan_id = ? AND dt = ?",
+                Integer.class, planId, DAY)).isEqualTo(6);
+        assertThat(dsl.fetchValue("SELECT max_advance_hours FROM plan_restriction WHERE plan_id = ? AND dt = ?",
+                Integer.class, planId, DAY)).isEqualTo(720);
+        assertThat(dsl.fetchValue("SELECT booking_cutoff_time::text FROM plan_restriction WHERE plan_id = ? AND dt = ?",
+                String.class, planId, DAY)).isEqualTo("18:00:00");
+
+        // A restriction line carries the full rule set for the day, so omitted fields are cleared
+        mockMvc.perform(post("/api/v1/ari/bulk").contentType(MediaType.APPLICATION_NDJSON).content(second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied", is(1)));
+        assertThat(dsl.fetchOne("SELECT min_advance_hours, max_advance_hours, booking_cutoff_time "
+                + "FROM plan_restriction WHERE plan_id = ? AND dt = ?", planId, DAY).intoList())
+                .containsOnlyNulls();
+    }
+
+    @Test
+    void shouldRejectLine_WhenAdvanceHoursNegative() throws Exception {
+        String ndjson = """
+                {"type":"restriction","planId":%d,"date":"%s","minAdvanceHours":-1}
+                """.formatted(planId, DAY);
+
+        mockMvc.perform(post("/api/v1/ari/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied", is(0)))
+                .andExpect(jsonPath("$.rejects[0].message", is("Advance hours cannot be negative")));
+    }
+
+    @Test
+    void shouldRejectLine_WhenLineIsJsonNull() throws Exception {
+        String ndjson = """
+                null
+                {"type":"inventory","roomTypeId":%d,"date":"%s","allotment":3}
+                """.formatted(roomTypeId, DAY);
+
+        mockMvc.perform(post("/api/v1/ari/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.applied", is(1)))
+                .andExpect(jsonPath("$.rejects[0].line", is(1)))
+                .andExpect(jsonPath("$.rejects[0].message", is("Line must be a JSON object")));
+    }
+}
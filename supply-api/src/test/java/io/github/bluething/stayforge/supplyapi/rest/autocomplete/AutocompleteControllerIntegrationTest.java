@@ -0,0 +1,129 @@
+package io.github.bluething.stayforge.supplyapi.rest.autocomplete;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import io.github.bluething.stayforge.supplyapi.domain.autocomplete.AutocompleteService;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The index only sees committed rows, so each test commits its own uniquely named rows
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+class AutocompleteControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    private String suffix;
+    private Long areaId;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        SupplyFixture supply = new SupplyFixture(dsl);
+        areaId = supply.area("Zq" + suffix + " Bay");
+        rank(supply.hotel(areaId, "Zq" + suffix + " Grand"), "0.80000");
+        rank(supply.hotel(areaId, "Zq" + suffix + " Hostel"), "0.30000");
+        autocompleteService.reload();
+    }
+
+    @Test
+    void shouldSuggestAreaAndHotelsByRank() throws Exception {
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", "ZQ" + suffix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", hasSize(3)))
+                .andExpect(jsonPath("$.suggestions[0].type", is("AREA")))
+                .andExpect(jsonPath("$.suggestions[0].id", is(areaId.intValue())))
+                .andExpect(jsonPath("$.suggestions[0].rank", is(0.8)))
+                .andExpect(jsonPath("$.suggestions[1].name", is("Zq" + suffix + " Grand")))
+                .andExpect(jsonPath("$.suggestions[2].name", is("Zq" + suffix + " Hostel")));
+
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", "zq" + suffix + " ho"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", hasSize(1)))
+                .andExpect(jsonPath("$.suggestions[0].type", is("HOTEL")))
+                .andExpect(jsonPath("$.suggestions[0].areaId", is(areaId.intValue())));
+    }
+
+    @Test
+    void shouldReflectAreaWrites_WhenCommitted() throws Exception {
+        String created = mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "name", "Yx" + suffix + " Cove", "slug", "yx" + suffix + "-cove"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long createdId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", "yx" + suffix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", contains((int) createdId)));
+
+        mockMvc.perform(put("/api/v1/areas/{id}", createdId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "name", "Wv" + suffix + " Cove", "slug", "wv" + suffix + "-cove"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", "yx" + suffix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", empty()));
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", "wv" + suffix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", hasSize(1)));
+
+        mockMvc.perform(delete("/api/v1/areas/{id}", createdId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", "wv" + suffix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", empty()));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenQueryBlank() throws Exception {
+        mockMvc.perform(get("/api/v1/autocomplete").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void rank(Long hotelId, String rank) {
+        dsl.execute("UPDATE hotel SET rank = ? WHERE id = ?", new BigDecimal(rank), hotelId);
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.bluething.stayforge.supplyapi.rest.availability;
+
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "supply.inventory-grid.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+class AvailabilityControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    private Long hotelId;
+    private Long nightlyPlanId;
+    private Long losPlanId;
+
+    @BeforeEach
+    void setUp() {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        hotelId = supply.hotel(supply.area());
+        Long roomTypeId = supply.roomType(hotelId, 3);
+        nightlyPlanId = supply.plan("NIGHTLY");
+        losPlanId = supply.plan("LOS");
+        supply.link(nightlyPlanId, roomTypeId, 50000);
+        supply.link(losPlanId, roomTypeId);
+
+        for (int night = 0; night < 3; night++) {
+            LocalDate dt = CHECK_IN.plusDays(night);
+            supply.inventory(roomTypeId, dt, 5 - night);
+            supply.nightlyRate(nightlyPlanId, dt, 800000);
+        }
+        dsl.execute("INSERT INTO rate_los (plan_id, checkin_dt, los, occupancy_from, amount_minor) VALUES (?, ?, 3, 1, 2000000)",
+                losPlanId, CHECK_IN);
+    }
+
+    @Test
+    void shouldPriceNightlyAndLosPlans_WhenSellable() throws Exception {
+        mockMvc.perform(get("/api/v1/availability")
+                        .param("hotelIds", String.valueOf(hotelId))
+                        .param("checkIn", CHECK_IN.toString())
+                        .param("checkOut", CHECK_IN.plusDays(3).toString())
+                        .param("guests", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights", is(3)))
+                .andExpect(jsonPath("$.offers", hasSize(2)))
+                .andExpect(jsonPath("$.offers[0].pricing", is("LOS")))
+                .andExpect(jsonPath("$.offers[0].totalAmountMinor", is(2000000)))
+                .andExpect(jsonPath("$.offers[0].availableRooms", is(3)))
+                // 3 x 800000 plus one extra guest above tier 1 at 50000 per night
+                .andExpect(jsonPath("$.offers[1].pricing", is("NIGHTLY")))
+                .andExpect(jsonPath("$.offers[1].totalAmountMinor", is(2550000)));
+    }
+
+    @Test
+    void shouldExcludePlan_WhenClosedToArrival() throws Exception {
+        dsl.execute("INSERT INTO plan_restriction (plan_id, dt, cta) VALUES (?, ?, TRUE)", losPlanId, CHECK_IN);
+
+        mockMvc.perform(get("/api/v1/availability")
+                        .param("hotelIds", String.valueOf(hotelId))
+                        .param("checkIn", CHECK_IN.toString())
+                        .param("checkOut", CHECK_IN.plusDays(3).toString())
+                        .param("guests", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers", hasSize(1)))
+                .andExpect(jsonPath("$.offers[0].planId", is(nightlyPlanId.intValue())));
+    }
+
+    @Test
+    void shouldSkipHotel_WhenTimezoneInvalid() throws Exception {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        Long brokenHotelId = supply.hotel(supply.area());
+        dsl.execute("UPDATE hotel SET timezone = 'Mars/Olympus' WHERE id = ?", brokenHotelId);
+        Long brokenRoomTypeId = supply.roomType(brokenHotelId, 2);
+        supply.link(nightlyPlanId, brokenRoomTypeId);
+        for (int night = 0; night < 3; night++) {
+            supply.inventory(brokenRoomTypeId, CHECK_IN.plusDays(night), 5);
+        }
+
+        mockMvc.perform(get("/api/v1/availability")
+                        .param("hotelIds", hotelId + "," + brokenHotelId)
+                        .param("checkIn", CHECK_IN.toString())
+                        .param("checkOut", CHECK_IN.plusDays(3).toString())
+                        .param("guests", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers", hasSize(2)))
+                .andExpect(jsonPath("$.offers[*].hotelId", everyItem(is(hotelId.intValue()))));
+    }
+
+    @Test
+    void shouldReturnNoOffers_WhenNightHasNoInventory() throws Exception {
+        mockMvc.perform(get("/api/v1/availability")
+                        .param("hotelIds", String.valueOf(hotelId))
+                        .param("checkIn", CHECK_IN.toString())
+                        .param("checkOut", CHECK_IN.plusDays(4).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offers", empty()));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCheckOutNotAfterCheckIn() throws Exception {
+        mockMvc.perform(get("/api/v1/availability")
+                        .param("hotelIds", String.valueOf(hotelId))
+                        .param("checkIn", CHECK_IN.toString())
+                        .param("checkOut", CHECK_IN.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCheckInIsInThePast() throws Exception {
+        LocalDate checkIn = LocalDate.now().minusDays(2);
+
+        mockMvc.perform(get("/api/v1/availability")
+                        .param("hotelIds", String.valueOf(hotelId))
+                        .param("checkIn", checkIn.toString())
+                        .param("checkOut", checkIn.plusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/validation-error")));
+    }
+}
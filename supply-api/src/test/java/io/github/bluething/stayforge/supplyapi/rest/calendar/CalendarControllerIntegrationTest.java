@@ -0,0 +1,174 @@
+package io.github.bluething.stayforge.supplyapi.rest.calendar;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "supply.inventory-grid.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+class CalendarControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    // Within the managed partitions even with a full year of days after it
+    private static final LocalDate START = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long roomTypeId;
+    private Long nightlyPlanId;
+    private Long losPlanId;
+
+    @BeforeEach
+    void setUp() {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        roomTypeId = supply.roomType(supply.hotel(supply.area()), 2);
+        nightlyPlanId = supply.plan("NIGHTLY");
+        losPlanId = supply.plan("LOS");
+    }
+
+    @Test
+    void shouldReturnAllotmentColumns_WithNullForMissingDays() throws Exception {
+        dsl.execute("INSERT INTO room_type_inventory (room_type_id, dt, allotment) VALUES (?, ?, 4)", roomTypeId, START);
+        dsl.execute("INSERT INTO room_type_inventory (room_type_id, dt, allotment, stop_sell) VALUES (?, ?, 2, TRUE)",
+                roomTypeId, START.plusDays(2));
+
+        mockMvc.perform(get("/api/v1/calendar/room-types/{id}", roomTypeId)
+                        .param("start", START.toString())
+                        .param("days", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roomTypeId", is(roomTypeId.intValue())))
+                .andExpect(jsonPath("$.start", is(START.toString())))
+                .andExpect(jsonPath("$.days", is(3)))
+                .andExpect(jsonPath("$.allotment", contains(4, null, 2)))
+                .andExpect(jsonPath("$.flags", contains(0, 0, 1)));
+    }
+
+    @Test
+    void shouldReturnRateColumnPerTier_ForNightlyPlan() throws Exception {
+        dsl.execute("INSERT INTO rate_nightly (plan_id, dt, occupancy_from, amount_minor) "
+                + "VALUES (?, ?, 1, 800000), (?, ?, 1, 900000), (?, ?, 2, 950000)",
+                nightlyPlanId, START, nightlyPlanId, START.plusDays(1), nightlyPlanId, START.plusDays(1));
+        dsl.execute("INSERT INTO plan_restriction (plan_id, dt, closed, ctd, min_los) VALUES (?, ?, TRUE, TRUE, 2)",
+                nightlyPlanId, START.plusDays(1));
+
+        mockMvc.perform(get("/api/v1/calendar/plans/{id}", nightlyPlanId)
+                        .param("start", START.toString())
+                        .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pricing", is("NIGHTLY")))
+                .andExpect(jsonPath("$.rates", hasSize(2)))
+                .andExpect(jsonPath("$.rates[0].occupancyFrom", is(1)))
+                .andExpect(jsonPath("$.rates[0].los").doesNotExist())
+                .andExpect(jsonPath("$.rates[0].amounts", contains(800000, 900000)))
+                .andExpect(jsonPath("$.rates[1].occupancyFrom", is(2)))
+                .andExpect(jsonPath("$.rates[1].amounts", contains(null, 950000)))
+                .andExpect(jsonPath("$.flags", contains(0, 5)))
+                .andExpect(jsonPath("$.minLos", contains(null, 2)))
+                .andExpect(jsonPath("$.maxLos", contains(null, null)));
+    }
+
+    @Test
+    void shouldReturnRateColumnPerLengthOfStay_ForLosPlan() throws Exception {
+        dsl.execute("INSERT INTO rate_los (plan_id, checkin_dt, los, occupancy_from, amount_minor) "
+                + "VALUES (?, ?, 3, 1, 2000000), (?, ?, 2, 1, 1500000)",
+                losPlanId, START, losPlanId, START.plusDays(1));
+
+        mockMvc.perform(get("/api/v1/calendar/plans/{id}", losPlanId)
+                        .param("start", START.toString())
+                        .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pricing", is("LOS")))
+                .andExpect(jsonPath("$.rates", hasSize(2)))
+                .andExpect(jsonPath("$.rates[0].los", is(2)))
+                .andExpect(jsonPath("$.rates[0].amounts", contains(null, 1500000)))
+                .andExpect(jsonPath("$.rates[1].los", is(3)))
+                .andExpect(jsonPath("$.rates[1].amounts", contains(2000000, null)));
+    }
+
+    @Test
+    void shouldBeMuchSmallerThanRowPerDayPayload() throws Exception {
+        int days = 365;
+        dsl.execute("INSERT INTO room_type_inventory (room_type_id, dt, allotment) "
+                + "SELECT ?, d::date, 5 FROM generate_series(?::date, ?::date, interval '1 day') d",
+                roomTypeId, START, START.plusDays(days - 1));
+
+        byte[] columnar = mockMvc.perform(get("/api/v1/calendar/room-types/{id}", roomTypeId)
+                        .param("start", START.toString())
+                        .param("days", String.valueOf(days)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Map<String, Object>> rows = dsl.fetch("SELECT room_type_id AS \"roomTypeId\", dt, allotment, "
+                        + "stop_sell AS \"stopSell\" FROM room_type_inventory WHERE room_type_id = ? ORDER BY dt",
+                roomTypeId).intoMaps();
+        byte[] rowPerDay = objectMapper.writeValueAsBytes(rows);
+
+        assertThat(columnar.length * 10).isLessThan(rowPerDay.length);
+    }
+
+    @Test
+    void shouldStartOnHotelToday_WhenNoStartGiven() throws Exception {
+        mockMvc.perform(get("/api/v1/calendar/room-types/{id}", roomTypeId)
+                        .param("days", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start", is(LocalDate.now(ZoneId.of(SupplyFixture.TIMEZONE)).toString())));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenRoomTypeMissing() throws Exception {
+        mockMvc.perform(get("/api/v1/calendar/room-types/{id}", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/room-type-not-found")));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenPlanMissing() throws Exception {
+        mockMvc.perform(get("/api/v1/calendar/plans/{id}", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/plan-not-found")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenDaysTooLarge() throws Exception {
+        mockMvc.perform(get("/api/v1/calendar/plans/{id}", nightlyPlanId)
+                        .param("days", "367"))
+                .andExpect(status().isBadRequest());
+    }
+}
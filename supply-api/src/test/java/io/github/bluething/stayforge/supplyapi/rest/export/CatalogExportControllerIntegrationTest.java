@@ -0,0 +1,105 @@
+package io.github.bluething.stayforge.supplyapi.rest.export;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+class CatalogExportControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExportAreasAsNdjson() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Amed", "slug": "amed"}
+                                """))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/catalog/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("{\"type\":\"area\"")))
+                .andExpect(content().string(containsString("\"slug\":\"amed\"")));
+    }
+
+    @Test
+    void shouldGzipExport_WhenAcceptEncodingAllowsIt() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Tulamben", "slug": "tulamben"}
+                                """))
+                .andExpect(status().isCreated());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/catalog/export").header("Accept-Encoding", "br;q=0.9, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("Content-Disposition", containsString("\"catalog.ndjson\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(ndjson.contains("\"slug\":\"tulamben\""));
+            assertTrue(ndjson.endsWith("\n"));
+        }
+    }
+
+    @Test
+    void shouldNotGzipExport_WhenGzipRefused() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/export").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")));
+    }
+
+    @Test
+    void shouldNotGzipExport_WhenGzipRefusedExplicitlyDespiteWildcard() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/export").header("Accept-Encoding", "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void shouldGzipExport_WhenOnlyWildcardAccepted() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/export").header("Accept-Encoding", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.bluething.stayforge.supplyapi.rest.facet;
+
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.domain.facet.FacetService;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The index only sees committed rows, so each test commits its own area and scopes every
+ * request to it
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+class FacetControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private FacetService facetService;
+
+    private String areaId;
+    private Long grandId;
+    private Long hostelId;
+
+    @BeforeEach
+    void setUp() {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        Long area = supply.area();
+        areaId = String.valueOf(area);
+
+        grandId = hotel(supply, area, "Denpasar", "4.5");
+        Long villaId = hotel(supply, area, "Ubud", "5.0");
+        hostelId = hotel(supply, area, "Denpasar", "2.0");
+
+        supply.amenity(grandId, "POOL", "Pool");
+        supply.amenity(villaId, "POOL", "Pool");
+        supply.amenity(villaId, "SPA", "Spa");
+
+        Long grandRoom = supply.roomType(grandId, 2, "balcony", "tv");
+        supply.roomType(villaId, 2, "balcony");
+        supply.roomType(hostelId, 2, "tv");
+
+        supply.link(supply.plan("NIGHTLY", "breakfast"), grandRoom);
+
+        facetService.reload();
+    }
+
+    @Test
+    void shouldCountFacetsOfArea() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/facets").param("areaId", areaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.facets.city[?(@.value == 'Denpasar')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.city[?(@.value == 'Ubud')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.stars[*].value", contains("2", "4", "5")))
+                .andExpect(jsonPath("$.facets.amenity[?(@.value == 'pool')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.roomAmenity[?(@.value == 'balcony')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.service[?(@.value == 'breakfast')].count", contains(1)));
+    }
+
+    @Test
+    void shouldKeepAlternativeCounts_WhenDisjunctiveFilterSelected() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/facets")
+                        .param("areaId", areaId)
+                        .param("city", "Denpasar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.facets.city[?(@.value == 'Ubud')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.amenity[?(@.value == 'pool')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.amenity[?(@.value == 'spa')]", empty()));
+    }
+
+    @Test
+    void shouldRequireEveryAmenity_WhenConjunctiveFilterSelected() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/facets")
+                        .param("areaId", areaId)
+                        .param("amenity", "POOL", "spa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.facets.city[*].value", contains("Ubud")));
+
+        mockMvc.perform(get("/api/v1/hotels/facets")
+                        .param("areaId", areaId)
+                        .param("stars", "4", "5")
+                        .param("roomAmenity", "balcony")
+                        .param("service", "breakfast"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)));
+    }
+
+    @Test
+    void shouldApplyHotelChanges_WhenNotified() throws Exception {
+        dsl.execute("UPDATE hotel SET star_rating = 3.0 WHERE id = ?", grandId);
+        dsl.execute("UPDATE hotel SET active = FALSE WHERE id = ?", hostelId);
+        facetService.onChanges(new SupplyChanges(
+                Map.of(SupplyEntity.HOTEL, Set.of(grandId, hostelId)), Set.of()));
+
+        mockMvc.perform(get("/api/v1/hotels/facets").param("areaId", areaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.facets.stars[*].value", contains("3", "5")))
+                .andExpect(jsonPath("$.facets.roomAmenity[?(@.value == 'tv')].count", contains(1)));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenStarsOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/facets").param("stars", "6"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long hotel(SupplyFixture supply, Long area, String city, String starRating) {
+        Long hotelId = supply.hotel(area);
+        dsl.execute("UPDATE hotel SET city = ?, star_rating = ? WHERE id = ?", city, new BigDecimal(starRating), hotelId);
+        return hotelId;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+class AreaHotelControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DSLContext dsl;
+
+    private Long areaId;
+
+    @BeforeEach
+    void setUp() {
+        areaId = dsl.fetchValue("INSERT INTO area (name, slug) VALUES ('Badung', 'badung') RETURNING id", Long.class);
+        insertHotel(areaId, "Kuta Beach Hotel", "kuta-beach-hotel", "0.50000", true);
+        insertHotel(areaId, "Legian Inn", "legian-inn", "0.90000", true);
+        insertHotel(areaId, "Seminyak Villas", "seminyak-villas", "0.50000", true);
+        insertHotel(areaId, "Canggu Hostel", "canggu-hostel", "0.20000", true);
+        insertHotel(areaId, "Closed Resort", "closed-resort", "0.99000", false);
+    }
+
+    @Test
+    void shouldListActiveHotelsByRank_WithoutTotal() throws Exception {
+        mockMvc.perform(get("/api/v1/areas/{areaId}/hotels", areaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[*].slug",
+                        contains("legian-inn", "kuta-beach-hotel", "seminyak-villas", "canggu-hostel")))
+                .andExpect(jsonPath("$.pagination.hasNext", is(false)))
+                .andExpect(jsonPath("$.pagination.total").doesNotExist());
+    }
+
+    @Test
+    void shouldPageAcrossRankTies_WhenCursorGiven() throws Exception {
+        String response = mockMvc.perform(get("/api/v1/areas/{areaId}/hotels", areaId)
+                        .param("limit", "2")
+                        .param("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].slug", contains("legian-inn", "kuta-beach-hotel")))
+                .andExpect(jsonPath("$.pagination.total", is(4)))
+                .andExpect(jsonPath("$.pagination.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode firstPage = objectMapper.readTree(response);
+        mockMvc.perform(get("/api/v1/areas/{areaId}/hotels", areaId)
+                        .param("limit", "2")
+                        .param("cursor", firstPage.at("/pagination/nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].slug", contains("seminyak-villas", "canggu-hostel")))
+                .andExpect(jsonPath("$.pagination.total", is(4)))
+                .andExpect(jsonPath("$.pagination.hasNext", is(false)));
+    }
+
+    @Test
+    void shouldReturnEmptyPage_WhenAreaHasNoHotels() throws Exception {
+        Long emptyAreaId = dsl.fetchValue("INSERT INTO area (name, slug) VALUES ('Bangli', 'bangli') RETURNING id", Long.class);
+
+        mockMvc.perform(get("/api/v1/areas/{areaId}/hotels", emptyAreaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", empty()));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenAreaMissing() throws Exception {
+        mockMvc.perform(get("/api/v1/areas/{areaId}/hotels", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/area-not-found")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCountModeInvalid() throws Exception {
+        mockMvc.perform(get("/api/v1/areas/{areaId}/hotels", areaId)
+                        .param("count", "approximate"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void insertHotel(Long areaId, String name, String slug, String rank, boolean active) {
+        dsl.execute("INSERT INTO hotel (area_id, name, slug, timezone, rank, active) VALUES (?, ?, ?, 'Asia/Makassar', ?, ?)",
+                areaId, name, slug, new BigDecimal(rank), active);
+    }
+}
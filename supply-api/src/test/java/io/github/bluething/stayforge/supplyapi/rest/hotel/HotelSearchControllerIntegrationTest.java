@@ -0,0 +1,156 @@
+package io.github.bluething.stayforge.supplyapi.rest.hotel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+class HotelSearchControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @BeforeEach
+    void setUp() {
+        Long areaId = dsl.fetchValue("INSERT INTO area (name, slug) VALUES ('Badung', 'badung') RETURNING id", Long.class);
+        insertHotel(areaId, "Kuta Beach Hotel", "kuta-beach-hotel", -8.7180, 115.1686);
+        insertHotel(areaId, "Legian Inn", "legian-inn", -8.7045, 115.1675);
+        insertHotel(areaId, "Seminyak Villas", "seminyak-villas", -8.6900, 115.1580);
+        insertHotel(areaId, "Ubud Retreat", "ubud-retreat", -8.5069, 115.2625);
+    }
+
+    @Test
+    void shouldReturnNearestHotelsFirst_WhenRadiusSearch() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("lat", "-8.7180")
+                        .param("lon", "115.1686")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].slug", is("kuta-beach-hotel")))
+                .andExpect(jsonPath("$.data[1].slug", is("legian-inn")))
+                .andExpect(jsonPath("$.data[2].slug", is("seminyak-villas")))
+                .andExpect(jsonPath("$.pagination.total").doesNotExist());
+    }
+
+    @Test
+    void shouldPageByDistance_WhenCursorGiven() throws Exception {
+        String response = mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("minLat", "-8.80")
+                        .param("minLon", "115.10")
+                        .param("maxLat", "-8.40")
+                        .param("maxLon", "115.30")
+                        .param("lat", "-8.7180")
+                        .param("lon", "115.1686")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.pagination.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode firstPage = objectMapper.readTree(response);
+        mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("minLat", "-8.80")
+                        .param("minLon", "115.10")
+                        .param("maxLat", "-8.40")
+                        .param("maxLon", "115.30")
+                        .param("lat", "-8.7180")
+                        .param("lon", "115.1686")
+                        .param("limit", "2")
+                        .param("cursor", firstPage.at("/pagination/nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].slug", is("seminyak-villas")))
+                .andExpect(jsonPath("$.data[1].slug", is("ubud-retreat")))
+                .andExpect(jsonPath("$.pagination.hasNext", is(false)));
+    }
+
+    @Test
+    void shouldOrderByReturnedDistance_AtHighLatitude() throws Exception {
+        Long areaId = dsl.fetchValue("INSERT INTO area (name, slug) VALUES ('Oslo', 'oslo') RETURNING id", Long.class);
+        // Half a degree east is about 28 km at 60N, 0.4 degree north about 44 km, the reverse of their planar order
+        insertHotel(areaId, "North Lodge", "north-lodge", 60.4, 10.0);
+        insertHotel(areaId, "East Lodge", "east-lodge", 60.0, 10.5);
+
+        mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("lat", "60.0")
+                        .param("lon", "10.0")
+                        .param("radiusKm", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].slug", is("east-lodge")))
+                .andExpect(jsonPath("$.data[1].slug", is("north-lodge")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenNoLocationGiven() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenBoxInvertedWithRadius() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("lat", "-8.7180")
+                        .param("lon", "115.1686")
+                        .param("radiusKm", "5")
+                        .param("minLat", "-8.40")
+                        .param("minLon", "115.10")
+                        .param("maxLat", "-8.80")
+                        .param("maxLon", "115.30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnEmptyPage_WhenBoxOutsideRadius() throws Exception {
+        // Ubud's box is about 25 km from a 5 km circle around Kuta
+        mockMvc.perform(get("/api/v1/hotels/nearby")
+                        .param("lat", "-8.7180")
+                        .param("lon", "115.1686")
+                        .param("radiusKm", "5")
+                        .param("minLat", "-8.52")
+                        .param("minLon", "115.25")
+                        .param("maxLat", "-8.49")
+                        .param("maxLon", "115.28"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", empty()))
+                .andExpect(jsonPath("$.pagination.hasNext", is(false)));
+    }
+
+    private void insertHotel(Long areaId, String name, String slug, double latitude, double longitude) {
+        dsl.execute("INSERT INTO hotel (area_id, name, slug, timezone, location) VALUES (?, ?, ?, 'Asia/Makassar', point(?, ?))",
+                areaId, name, slug, longitude, latitude);
+    }
+}
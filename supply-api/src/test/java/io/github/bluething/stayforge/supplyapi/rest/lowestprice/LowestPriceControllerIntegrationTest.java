@@ -0,0 +1,184 @@
+package io.github.bluething.stayforge.supplyapi.rest.lowestprice;
+
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyChanges;
+import io.github.bluething.stayforge.supplyapi.domain.change.SupplyEntity;
+import io.github.bluething.stayforge.supplyapi.domain.lowestprice.LowestPriceService;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The calendar only sees committed rows, so each test commits its own area and hotels
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+class LowestPriceControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private static final LocalDate START = LocalDate.now(ZoneOffset.UTC).plusDays(5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private LowestPriceService lowestPriceService;
+
+    private Long areaId;
+    private Long resortId;
+    private Long resortPlanId;
+
+    @BeforeEach
+    void setUp() {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        areaId = supply.area();
+
+        resortId = supply.hotel(areaId);
+        Long resortRoom = supply.roomType(resortId, 2);
+        resortPlanId = supply.plan("NIGHTLY");
+        supply.link(resortPlanId, resortRoom);
+        supply.inventory(resortRoom, START, 3);
+        supply.nightlyRate(resortPlanId, START, 800000);
+        supply.nightlyRate(resortPlanId, START.plusDays(1), 850000);
+
+        Long innId = supply.hotel(areaId);
+        Long innRoom = supply.roomType(innId, 2);
+        Long innPlanId = supply.plan("NIGHTLY");
+        supply.link(innPlanId, innRoom);
+        supply.inventory(innRoom, START, 1);
+        supply.inventory(innRoom, START.plusDays(1), 1);
+        supply.nightlyRate(innPlanId, START, 700000);
+        supply.nightlyRate(innPlanId, START.plusDays(1), 900000);
+
+        lowestPriceService.reload();
+    }
+
+    @Test
+    void shouldReturnHotelPrices_WithNullWhenNotSellable() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/{id}/lowest-prices", resortId)
+                        .param("start", START.toString())
+                        .param("days", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency", is("IDR")))
+                .andExpect(jsonPath("$.guests", is(1)))
+                .andExpect(jsonPath("$.start", is(START.toString())))
+                .andExpect(jsonPath("$.amounts", contains(800000, null, null)));
+    }
+
+    @Test
+    void shouldReturnLowestPriceAcrossAreaHotels() throws Exception {
+        mockMvc.perform(get("/api/v1/areas/{id}/lowest-prices", areaId)
+                        .param("start", START.toString())
+                        .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency", is("IDR")))
+                .andExpect(jsonPath("$.amounts", contains(700000, 900000)));
+
+        mockMvc.perform(get("/api/v1/areas/{id}/lowest-prices", areaId)
+                        .param("start", START.toString())
+                        .param("days", "2")
+                        .param("currency", "usd"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency", is("USD")))
+                .andExpect(jsonPath("$.amounts", contains(nullValue(), nullValue())));
+    }
+
+    @Test
+    void shouldReturnNull_WhenGuestsExceedCapacity() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/{id}/lowest-prices", resortId)
+                        .param("start", START.toString())
+                        .param("days", "1")
+                        .param("guests", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amounts", contains(nullValue())));
+    }
+
+    @Test
+    void shouldRecomputeHotelAndArea_WhenRateChanged() throws Exception {
+        dsl.execute("UPDATE rate_nightly SET amount_minor = 600000 WHERE plan_id = ? AND dt = ?",
+                resortPlanId, START);
+        lowestPriceService.onChanges(new SupplyChanges(
+                Map.of(SupplyEntity.RATE, Set.of(resortPlanId)), Set.of()));
+
+        mockMvc.perform(get("/api/v1/areas/{id}/lowest-prices", areaId)
+                        .param("start", START.toString())
+                        .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amounts", contains(600000, 900000)));
+    }
+
+    @Test
+    void shouldSkipHotel_WhenTimezoneInvalid() throws Exception {
+        Long brokenId = new SupplyFixture(dsl).hotel(areaId);
+        dsl.execute("UPDATE hotel SET timezone = 'Mars/Olympus' WHERE id = ?", brokenId);
+        lowestPriceService.reload();
+
+        mockMvc.perform(get("/api/v1/areas/{id}/lowest-prices", areaId)
+                        .param("start", START.toString())
+                        .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amounts", contains(700000, 900000)));
+    }
+
+    @Test
+    void shouldStartOnLocalToday_WhenNoStartGiven() throws Exception {
+        Long samoaId = new SupplyFixture(dsl).hotel(areaId);
+        dsl.execute("UPDATE hotel SET timezone = 'Pacific/Pago_Pago' WHERE id = ?", samoaId);
+        lowestPriceService.reload();
+
+        mockMvc.perform(get("/api/v1/hotels/{id}/lowest-prices", resortId)
+                        .param("days", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start", is(LocalDate.now(ZoneId.of(SupplyFixture.TIMEZONE)).toString())));
+
+        // The area starts on the earliest today among its hotels, here the one at UTC-11
+        mockMvc.perform(get("/api/v1/areas/{id}/lowest-prices", areaId)
+                        .param("days", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start", is(LocalDate.now(ZoneId.of("Pacific/Pago_Pago")).toString())));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenHotelOrAreaMissing() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/{id}/lowest-prices", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/hotel-not-found")));
+        mockMvc.perform(get("/api/v1/areas/{id}/lowest-prices", 999999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/area-not-found")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenDaysOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/{id}/lowest-prices", resortId).param("days", "400"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.bluething.stayforge.supplyapi.rest.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.stayforge.supplyapi.SupplyFixture;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Bookings commit on their own transaction so a failed one can be checked for rollback,
+ * each test therefore works on its own rows
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Testcontainers
+class ReservationControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(20);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long roomTypeId;
+    private Long planId;
+
+    @BeforeEach
+    void setUp() {
+        SupplyFixture supply = new SupplyFixture(dsl);
+        roomTypeId = supply.roomType(supply.hotel(supply.area()), 3);
+        planId = supply.plan("NIGHTLY");
+        supply.link(planId, roomTypeId, 100000);
+
+        for (int night = 0; night < 3; night++) {
+            LocalDate dt = CHECK_IN.plusDays(night);
+            supply.inventory(roomTypeId, dt, night == 2 ? 1 : 5);
+            supply.nightlyRate(planId, dt, 700000);
+        }
+    }
+
+    @Test
+    void shouldCreateReservationAndTakeEveryNight() throws Exception {
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(3, 2)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", notNullValue()))
+                .andExpect(jsonPath("$.status", is("CONFIRMED")))
+                // 3 x 700000 plus one extra guest at 100000 per night
+                .andExpect(jsonPath("$.totalAmountMinor", is(2400000)))
+                .andExpect(jsonPath("$.currency", is("IDR")));
+
+        assertThat(allotments()).containsExactly(4, 4, 0);
+    }
+
+    @Test
+    void shouldTakeNothing_WhenOneNightIsSoldOut() throws Exception {
+        dsl.execute("UPDATE room_type_inventory SET allotment = 0 WHERE room_type_id = ? AND dt = ?",
+                roomTypeId, CHECK_IN.plusDays(2));
+
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(3, 1)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/insufficient-inventory")));
+
+        assertThat(allotments()).containsExactly(5, 5, 0);
+        assertThat(dsl.fetchValue("SELECT count(*) FROM reservation WHERE room_type_id = ?", Long.class, roomTypeId))
+                .isZero();
+    }
+
+    @Test
+    void shouldReturnConflict_WhenStayIsRestricted() throws Exception {
+        dsl.execute("INSERT INTO plan_restriction (plan_id, dt, min_los) VALUES (?, ?, 3)", planId, CHECK_IN);
+
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(2, 1)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/stay-not-bookable")));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenPlanIsNotOnRoomType() throws Exception {
+        Long otherPlanId = dsl.fetchValue("INSERT INTO plan (name) VALUES ('Other') RETURNING id", Long.class);
+
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateReservationRequest(roomTypeId, otherPlanId,
+                                CHECK_IN, CHECK_IN.plusDays(1), 1, "Ketut", null, null))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenGuestNameIsMissing() throws Exception {
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateReservationRequest(roomTypeId, planId,
+                                CHECK_IN, CHECK_IN.plusDays(1), 1, null, null, null))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCheckInIsInThePast() throws Exception {
+        LocalDate checkIn = LocalDate.now().minusDays(2);
+
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateReservationRequest(roomTypeId, planId,
+                                checkIn, checkIn.plusDays(1), 1, "Ketut", null, null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/validation-error")));
+
+        assertThat(dsl.fetchValue("SELECT count(*) FROM reservation WHERE room_type_id = ?", Long.class, roomTypeId))
+                .isZero();
+    }
+
+    @Test
+    void shouldReturnConflict_WhenHotelTimezoneInvalid() throws Exception {
+        dsl.execute("UPDATE hotel SET timezone = 'Mars/Olympus' WHERE id = (SELECT hotel_id FROM room_type WHERE id = ?)",
+                roomTypeId);
+
+        mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(1, 1)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type", is("https://api.stayforge.com/problems/hotel-misconfigured")));
+
+        assertThat(allotments()).containsExactly(5, 5, 1);
+    }
+
+    @Test
+    void shouldGetCreatedReservation() throws Exception {
+        String createResponse = mockMvc.perform(post("/api/v1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request(1, 1)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        ReservationResponse created = objectMapper.readValue(createResponse, ReservationResponse.class);
+
+        mockMvc.perform(get("/api/v1/reservations/{id}", created.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roomTypeId", is(roomTypeId.intValue())))
+                .andExpect(jsonPath("$.guestName", is("Ketut")));
+
+        mockMvc.perform(get("/api/v1/reservations/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private String request(int nights, int guests) throws Exception {
+        return objectMapper.writeValueAsString(new CreateReservationRequest(roomTypeId, planId,
+                CHECK_IN, CHECK_IN.plusDays(nights), guests, "Ketut", null, null));
+    }
+
+    private List<Integer> allotments() {
+        return dsl.fetch("SELECT allotment FROM room_type_inventory WHERE room_type_id = ? ORDER BY dt", roomTypeId)
+                .getValues(0, Integer.class);
+    }
+}
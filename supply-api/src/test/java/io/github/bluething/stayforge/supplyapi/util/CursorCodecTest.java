@@ -0,0 +1,93 @@
+package io.github.bluething.stayforge.supplyapi.util;
+
+import io.github.bluething.stayforge.supplyapi.error.BusinessException;
+import io.github.bluething.stayforge.supplyapi.error.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CursorCodec binary cursor format")
+class CursorCodecTest {
+
+    private static final String SCOPE = "areas:id:kuta";
+
+    private final CursorCodec codec = new CursorCodec("test-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName("Should round trip composite keys of every supported type")
+    void shouldRoundTripCompositeKeys() {
+        String cursor = codec.encode(SCOPE, 0.75f, 123L, null, "kuta-bali", new BigDecimal("0.98765"), 2.5d);
+
+        CursorData data = codec.decode(cursor, SCOPE);
+
+        assertThat(data.size()).isEqualTo(6);
+        assertThat(data.getFloat(0)).isEqualTo(0.75f);
+        assertThat(data.getLong(1)).isEqualTo(123L);
+        assertThat(data.isNull(2)).isTrue();
+        assertThat(data.getLong(2)).isNull();
+        assertThat(data.getString(3)).isEqualTo("kuta-bali");
+        assertThat(data.getDecimal(4)).isEqualByComparingTo("0.98765");
+        assertThat(data.getDouble(5)).isEqualTo(2.5d);
+    }
+
+    @Test
+    @DisplayName("Should produce URL-safe cursors without padding")
+    void shouldProduceUrlSafeCursor() {
+        String cursor = codec.encode(SCOPE, Long.MAX_VALUE, 150L);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor whose payload was modified")
+    void shouldRejectTamperedCursor() {
+        char[] chars = codec.encode(SCOPE, 123L, 150L).toCharArray();
+        chars[4] = chars[4] == 'A' ? 'B' : 'A';
+
+        assertThatThrownBy(() -> codec.decode(new String(chars), SCOPE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("signature");
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor signed with another key")
+    void shouldRejectForeignCursor() {
+        CursorCodec other = new CursorCodec("another-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> codec.decode(other.encode(SCOPE, 123L), SCOPE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for another query")
+    void shouldRejectCursorFromOtherQuery() {
+        String cursor = codec.encode(SCOPE, 123L, 150L);
+
+        assertThatThrownBy(() -> codec.decode(cursor, "areas:id:ubud"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different query");
+    }
+
+    @Test
+    @DisplayName("Should reject legacy JSON cursors")
+    void shouldRejectLegacyJsonCursor() {
+        assertThatThrownBy(() -> codec.decode("eyJpZCI6MTIzfQ==", SCOPE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject reading a key as the wrong type")
+    void shouldRejectWrongKeyType() {
+        CursorData data = codec.decode(codec.encode(SCOPE, 123L, 150L), SCOPE);
+
+        assertThatThrownBy(() -> data.getFloat(0))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_CURSOR);
+    }
+}